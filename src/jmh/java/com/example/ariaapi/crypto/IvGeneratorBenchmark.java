@@ -0,0 +1,84 @@
+package com.example.ariaapi.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * IV 생성 전략별 벤치마크. 스레드 수를 늘렸을 때 처리량이 함께 늘어나는지(락 경합이 없는지) 비교합니다.
+ */
+@State(Scope.Benchmark)
+public class IvGeneratorBenchmark {
+
+    @Param({"SHARED_DRBG", "STRIPED_DRBG", "THREAD_LOCAL_DRBG", "COUNTER"})
+    private IvStrategy strategy;
+
+    private IvGenerator generator;
+    private Path counterDir;
+
+    @Setup
+    public void setUp() throws IOException {
+        generator = switch (strategy) {
+            case SHARED_DRBG -> RandomIvGenerator.shared();
+            case STRIPED_DRBG -> RandomIvGenerator.striped();
+            case THREAD_LOCAL_DRBG -> RandomIvGenerator.perThread();
+            case COUNTER -> {
+                counterDir = Files.createTempDirectory("iv-counter");
+                // 측정 중 예약 파일 기록(fsync)이 거의 일어나지 않도록 큰 구간을 사용
+                yield new CounterIvGenerator(1, counterDir.resolve("bench.ctr"), 1L << 32);
+            }
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (generator instanceof CounterIvGenerator counter) {
+            counter.close(); // 예약 파일 락을 풀어야 .lock 파일을 지울 수 있습니다.
+        }
+        if (counterDir != null) {
+            // bench.ctr, bench.ctr.lock, 남아 있을 수 있는 bench.ctr.tmp를 모두 지웁니다.
+            try (Stream<Path> files = Files.walk(counterDir)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            counterDir = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IvBuffer {
+        final byte[] iv = new byte[AriaGcmCipherContext.GCM_IV_LENGTH];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] nextIv(IvBuffer buffer) {
+        generator.nextIv(buffer.iv);
+        return buffer.iv;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] nextIv4Threads(IvBuffer buffer) {
+        generator.nextIv(buffer.iv);
+        return buffer.iv;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] nextIvAllCores(IvBuffer buffer) {
+        generator.nextIv(buffer.iv);
+        return buffer.iv;
+    }
+}
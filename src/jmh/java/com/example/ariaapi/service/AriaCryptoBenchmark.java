@@ -0,0 +1,74 @@
+package com.example.ariaapi.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+
+/**
+ * AriaCryptoService 암복호화 벤치마크.
+ * 평문 크기별로 단일 스레드와 전체 코어(Threads.MAX) 동시 호출 성능을 측정합니다.
+ */
+@State(Scope.Benchmark)
+public class AriaCryptoBenchmark {
+
+    // 16: 이름/전화번호 수준, 256: 주소 수준, 4096: 대용량 필드
+    @Param({"16", "256", "4096"})
+    private int payloadSize;
+
+    private AriaCryptoService ariaCryptoService;
+    private String plainText;
+    private byte[] envelope;
+    private String legacyCipherText;
+
+    @Setup
+    public void setUp() throws Exception {
+        SecureRandom random = new SecureRandom();
+        byte[] keyBytes = new byte[24];
+        random.nextBytes(keyBytes);
+        ariaCryptoService = AriaCryptoService.withKey(new SecretKeySpec(keyBytes, "ARIA"), 1);
+
+        StringBuilder sb = new StringBuilder(payloadSize);
+        for (int i = 0; i < payloadSize; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        plainText = sb.toString();
+        envelope = ariaCryptoService.encryptToEnvelope(plainText);
+        legacyCipherText = ariaCryptoService.encrypt(plainText);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] encrypt() throws Exception {
+        return ariaCryptoService.encryptToEnvelope(plainText);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decrypt() throws Exception {
+        return ariaCryptoService.decryptEnvelope(envelope);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decryptLegacyFormat() throws Exception {
+        return ariaCryptoService.decrypt(legacyCipherText);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] encryptAllCores() throws Exception {
+        return ariaCryptoService.encryptToEnvelope(plainText);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String decryptAllCores() throws Exception {
+        return ariaCryptoService.decryptEnvelope(envelope);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ariaapi.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 실행 모델 벤치마크: Tomcat 플랫폼 스레드 풀 vs 가상 스레드.
+ * <p>
+ * 단건 조회 요청 하나를 "DB 조회 왕복 → 3개 필드 복호화 → 감사로그 INSERT 왕복"으로 모사하고,
+ * concurrency개의 요청을 동시에 넣어 모두 끝날 때까지를 한 번의 호출로 측정합니다.
+ * DB 왕복은 Thread.sleep으로 모사하므로 플랫폼 스레드 모드는 platformThreads개(Tomcat 기본 최대 200)의 스레드가
+ * 대기하는 동안 나머지 요청이 줄을 서고, 가상 스레드 모드는 대기 중인 요청이 캐리어 스레드를 내려놓습니다.
+ * </p>
+ * <p>
+ * requests 보조 지표가 초당 처리 요청 수이며, 반복(iteration)마다 요청별 응답 시간 p50/p99를 출력합니다.
+ * virtual 모드는 Java 21 이상에서만 실행됩니다: ./gradlew jmh -PjavaVersion=21 -Pjmh.includes=RequestExecutionBenchmark
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RequestExecutionBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"1000", "5000"})
+    private int concurrency;
+
+    // Tomcat server.tomcat.threads.max 기본값
+    @Param({"200"})
+    private int platformThreads;
+
+    // DB 왕복 한 번의 지연 (조회, 감사로그 INSERT 각각)
+    @Param({"1000"})
+    private int dbRoundTripMicros;
+
+    private AriaCryptoService ariaCryptoService;
+    private byte[][] envelopes;
+    private ExecutorService executor;
+
+    private long[] latencies;
+    private int latencyCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SecureRandom random = new SecureRandom();
+        byte[] keyBytes = new byte[24];
+        random.nextBytes(keyBytes);
+        ariaCryptoService = AriaCryptoService.withKey(new SecretKeySpec(keyBytes, "ARIA"), 1);
+        envelopes = new byte[][]{
+                ariaCryptoService.encryptToEnvelope("홍길동"),
+                ariaCryptoService.encryptToEnvelope("010-1234-5678"),
+                ariaCryptoService.encryptToEnvelope("1990-01-01")
+        };
+
+        if ("virtual".equals(mode)) {
+            // Java 17로 컴파일되므로 Java 21 API는 리플렉션으로 호출합니다.
+            try {
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다. (-PjavaVersion=21)", e);
+            }
+        } else {
+            executor = Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetLatencies() {
+        latencies = new long[concurrency * 64];
+        latencyCount = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        if (sorted.length > 0) {
+            System.out.printf("  [%s, concurrency=%d] 요청 응답 시간 p50=%.2f ms, p99=%.2f ms (%d건)%n",
+                    mode, concurrency, percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.length);
+        }
+    }
+
+    /**
+     * 초당 처리 요청 수 (호출 한 번에 concurrency개 요청).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RequestCounters {
+        public long requests;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void concurrentRequests(RequestCounters counters) throws InterruptedException {
+        long[] batch = new long[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long submitted = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            executor.execute(() -> {
+                try {
+                    handleRequest();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    // 대기열에서 기다린 시간을 포함한 응답 시간
+                    batch[index] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        counters.requests += concurrency;
+        recordLatencies(batch);
+    }
+
+    private void handleRequest() throws Exception {
+        sleepMicros(dbRoundTripMicros); // userRepository.findById
+        for (byte[] envelope : envelopes) {
+            ariaCryptoService.decryptEnvelope(envelope);
+        }
+        sleepMicros(dbRoundTripMicros); // 감사로그 INSERT (REQUIRES_NEW)
+    }
+
+    private static void sleepMicros(int micros) throws InterruptedException {
+        Thread.sleep(micros / 1000, (micros % 1000) * 1000);
+    }
+
+    private void recordLatencies(long[] batch) {
+        if (latencyCount + batch.length > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, latencyCount + batch.length));
+        }
+        System.arraycopy(batch, 0, latencies, latencyCount, batch.length);
+        latencyCount += batch.length;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
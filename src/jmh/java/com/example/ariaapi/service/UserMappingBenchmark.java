@@ -0,0 +1,60 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.example.ariaapi.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UserService의 엔티티 -> 복호화 DTO 변환 벤치마크.
+ * DB 없이 미리 암호화해 둔 User 엔티티로 사용자 1명 변환과 한 페이지 일괄 변환을 측정합니다.
+ */
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+
+    // 30: 페이지 최대 크기, 2000: PerformanceTest의 대량 조회 크기
+    @Param({"30", "2000"})
+    private int batchSize;
+
+    private UserService userService;
+    private User singleUser;
+    private List<User> users;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] keyBytes = new byte[24];
+        new SecureRandom().nextBytes(keyBytes);
+        AriaCryptoService ariaCryptoService = AriaCryptoService.withKey(new SecretKeySpec(keyBytes, "ARIA"), 1);
+        // 변환 경로(toDecryptedDto, decryptUsers)는 저장소, 감사로그, 캐시, 복호화 executor를 사용하지 않고 호출한 스레드에서 실행됩니다.
+        userService = new UserService(null, ariaCryptoService, null, null, null, null);
+
+        users = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsrNmEnc(ariaCryptoService.encryptToEnvelope("테스트이름" + i));
+            user.setUsrTelEnc(ariaCryptoService.encryptToEnvelope("010-1234-" + String.format("%04d", i % 10000)));
+            user.setUsrBirthEnc(ariaCryptoService.encryptToEnvelope("1990-01-01"));
+            users.add(user);
+        }
+        singleUser = users.get(0);
+    }
+
+    @Benchmark
+    public UserDecryptedDto toDecryptedDto() {
+        return userService.toDecryptedDto(singleUser);
+    }
+
+    @Benchmark
+    public List<UserDecryptedDto> decryptUsers() {
+        return userService.decryptUsers(users);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ariaapi.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * HashingUtil 검색용 해시 벤치마크.
+ */
+@State(Scope.Benchmark)
+public class HashingBenchmark {
+
+    @Param({"홍길동", "010-1234-5678", "1990-01-01"})
+    private String input;
+
+    @Benchmark
+    @Threads(1)
+    public String sha256() {
+        return HashingUtil.sha256(input);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String sha256AllCores() {
+        return HashingUtil.sha256(input);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] sha256Bytes() {
+        return HashingUtil.sha256Bytes(input);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ariaapi.audit;
+
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 감사로그를 JDBC 배치 INSERT로 한 번에 기록합니다.
+ * <p>
+ * JPA 엔티티를 거치지 않으므로 영속성 컨텍스트 비용이 없고, 데이터소스 URL의
+ * reWriteBatchedInserts=true 옵션에 의해 PostgreSQL 드라이버가 배치를 다중 행 INSERT로 합쳐 전송합니다.
+ * log_id는 JPA 저장과 같은 시퀀스에서 nextval로 받습니다. (시퀀스는 50씩 증가하며, Hibernate는 받은 값 이하 50개를
+ * 구간으로 쓰고 여기서는 받은 값 하나만 쓰므로 서로 겹치지 않음)
+ * </p>
+ */
+@Component
+public class AuditLogBatchInserter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO public.decryption_audit_log_table " +
+            "(log_id, user_id, decryption_time, ip_address, purpose, success, target_data_id, created_at) " +
+            "VALUES (nextval('public." + DecryptionAuditLog.ID_SEQUENCE + "'), ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditLogBatchInserter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 감사로그 목록을 하나의 트랜잭션 안에서 배치로 기록합니다.
+     */
+    public void insertAll(List<DecryptionAuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, log) -> {
+                    ps.setString(1, log.getUserId());
+                    ps.setTimestamp(2, Timestamp.valueOf(log.getDecryptionTime()));
+                    ps.setString(3, log.getIpAddress());
+                    ps.setString(4, log.getPurpose());
+                    ps.setBoolean(5, log.getSuccess());
+                    ps.setString(6, log.getTargetDataId());
+                    ps.setTimestamp(7, Timestamp.valueOf(log.getCreatedAt()));
+                }));
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.ariaapi.audit;
+
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감사로그를 메모리 큐에 모았다가 전용 스레드에서 다중 행 배치로 기록하는 비동기 writer.
+ * <p>
+ * 복호화 요청 스레드는 큐에 넣기만 하므로 별도 트랜잭션과 두 번째 커넥션을 잡지 않습니다.
+ * writer 스레드는 batch-size 건이 모이거나 첫 건이 들어온 뒤 flush-interval-millis가 지나면 한 번에 기록합니다.
+ * 큐가 가득 차면 {@link AuditOverflowPolicy}에 따라 대기하거나 호출 스레드에서 직접 기록하며,
+ * 애플리케이션 종료 시에는 큐에 남은 감사로그를 모두 기록한 뒤 종료합니다.
+ * 재시도 후에도 기록하지 못한 배치는 버리지 않고 {@link AuditSpillFile}에 보관했다가,
+ * writer 스레드가 redeliver-interval-millis 간격으로(재시작 후 포함) 다시 기록합니다.
+ * 다시 기록할 때도 데이터 오류로 기록할 수 없는 감사로그는 격리 파일(quarantine-file)로 옮겨 뒤의 감사로그를 막지 않습니다.
+ * </p>
+ */
+@Component
+public class AuditLogWriter {
+
+    private final AuditLogBatchInserter batchInserter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.audit.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.async.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.async.flush-interval-millis:200}")
+    private long flushIntervalMillis;
+
+    @Value("${app.audit.async.overflow-policy:BLOCK}")
+    private AuditOverflowPolicy overflowPolicy;
+
+    // 배치 기록 실패 시 재시도 횟수 (재시도 간격은 flush-interval-millis의 배수로 늘어남)
+    @Value("${app.audit.async.max-retries:3}")
+    private int maxRetries;
+
+    // 재시도 후에도 기록하지 못한 감사로그를 보관하는 파일과 재전달 간격
+    @Value("${app.audit.async.spill-file:./audit-spill/audit-spill.log}")
+    private String spillFilePath;
+
+    // 다시 기록해도 데이터 오류로 기록할 수 없는 감사로그를 옮겨 두는 격리 파일
+    @Value("${app.audit.async.quarantine-file:./audit-spill/audit-quarantine.log}")
+    private String quarantineFilePath;
+
+    @Value("${app.audit.async.redeliver-interval-millis:30000}")
+    private long redeliverIntervalMillis;
+
+    private AuditSpillFile spillFile;
+
+    private BlockingQueue<DecryptionAuditLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private DistributionSummary flushBatchSize;
+    private Counter overflowCounter;
+    private Counter flushFailureCounter;
+    private Counter quarantinedCounter;
+    private Counter corruptCounter;
+
+    public AuditLogWriter(AuditLogBatchInserter batchInserter, MeterRegistry meterRegistry) {
+        this.batchInserter = batchInserter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void start() {
+        spillFile = new AuditSpillFile(Paths.get(spillFilePath), Paths.get(quarantineFilePath));
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("aria.audit.queue.depth", queue, BlockingQueue::size)
+                .description("기록 대기 중인 감사로그 수")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("aria.audit.flush.latency")
+                .description("감사로그 배치 기록 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        flushBatchSize = DistributionSummary.builder("aria.audit.flush.batch.size")
+                .description("한 번에 기록한 감사로그 수")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("aria.audit.queue.overflow")
+                .description("큐가 가득 차 overflow-policy가 적용된 횟수")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+        flushFailureCounter = Counter.builder("aria.audit.flush.failures")
+                .description("감사로그 배치 기록 실패 횟수")
+                .register(meterRegistry);
+        quarantinedCounter = Counter.builder("aria.audit.spill.quarantined")
+                .description("보관 파일에서 다시 기록할 수 없어 격리 파일로 옮긴 감사로그 수")
+                .register(meterRegistry);
+        corruptCounter = Counter.builder("aria.audit.spill.corrupt")
+                .description("보관 파일에서 건너뛴 손상 레코드 구간 수")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 감사로그를 기록 대기열에 넣습니다.
+     * 큐가 가득 차면 overflow-policy에 따라 대기하거나 호출 스레드에서 바로 기록합니다.
+     */
+    public void submit(DecryptionAuditLog log) {
+        if (!running) {
+            // 종료 중이거나 아직 시작되지 않았으면 호출 스레드에서 바로 기록합니다.
+            writeBatch(List.of(log));
+            return;
+        }
+        if (queue.offer(log)) {
+            if (!running) {
+                drainRemaining(); // 넣는 사이에 종료가 시작되었다면 직접 비웁니다.
+            }
+            return;
+        }
+        overflowCounter.increment();
+        if (overflowPolicy == AuditOverflowPolicy.CALLER_RUNS) {
+            writeBatch(List.of(log));
+            return;
+        }
+        try {
+            queue.put(log);
+            if (!running) {
+                drainRemaining(); // 대기하는 사이에 stop()이 큐를 비웠다면 아무도 읽지 않으므로 직접 비웁니다.
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 대기 중 인터럽트되어도 감사로그는 버리지 않습니다.
+            writeBatch(List.of(log));
+        }
+    }
+
+    private void runLoop() {
+        List<DecryptionAuditLog> batch = new ArrayList<>(batchSize);
+        long nextRedeliver = System.nanoTime(); // 이전 실행에서 보관된 감사로그도 바로 다시 기록합니다.
+        while (running) {
+            try {
+                if (System.nanoTime() - nextRedeliver >= 0) {
+                    redeliverSpilled();
+                    nextRedeliver = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redeliverIntervalMillis);
+                }
+                DecryptionAuditLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 건이 들어온 시점부터 flush-interval 동안 batch-size까지 더 모읍니다.
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    DecryptionAuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // 종료 신호: 모으던 배치는 바로 기록하고, 큐에 남은 감사로그는 stop()에서 기록합니다.
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+                break;
+            } catch (Exception e) {
+                System.err.println("!!! [오류] 감사로그 writer 처리 중 예외: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치를 기록합니다. 실패하면 간격을 늘려가며 재시도하고, 끝내 실패하면 보관 파일에 남겨 나중에 다시 기록합니다.
+     */
+    private void writeBatch(List<DecryptionAuditLog> batch) {
+        for (int attempt = 0; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                batchInserter.insertAll(batch);
+                if (flushTimer != null) {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    flushBatchSize.record(batch.size());
+                }
+                return;
+            } catch (Exception e) {
+                if (flushFailureCounter != null) {
+                    flushFailureCounter.increment();
+                }
+                if (attempt >= maxRetries) {
+                    spill(batch, e);
+                    return;
+                }
+                try {
+                    Thread.sleep(flushIntervalMillis * (attempt + 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void spill(List<DecryptionAuditLog> batch, Exception cause) {
+        System.err.println("!!! [오류] 감사로그 " + batch.size() + "건 저장 실패, 보관 파일에 남깁니다: " + cause.getMessage());
+        try {
+            spillFile.append(batch);
+        } catch (IOException e) {
+            // 보관 파일에도 쓸 수 없으면 마지막 수단으로 내용을 표준 에러로 남깁니다.
+            System.err.println("!!! [오류] 감사로그 보관 파일 기록 실패: " + e.getMessage());
+            for (DecryptionAuditLog log : batch) {
+                System.err.println("  미기록 감사로그: userId=" + log.getUserId() + ", ip=" + log.getIpAddress()
+                        + ", purpose=" + log.getPurpose() + ", success=" + log.getSuccess()
+                        + ", target=" + log.getTargetDataId() + ", time=" + log.getDecryptionTime());
+            }
+            System.err.flush();
+        }
+    }
+
+    /**
+     * 보관 파일의 감사로그를 다시 기록합니다. DB가 아직 복구되지 않았으면 다음 간격에 다시 시도합니다.
+     */
+    private void redeliverSpilled() {
+        if (spillFile.isEmpty()) {
+            return;
+        }
+        try {
+            AuditSpillFile.Redelivery result = spillFile.redeliver(batchSize, batchInserter::insertAll);
+            if (result.written() > 0) {
+                System.out.println("보관된 감사로그 " + result.written() + "건 재기록 완료");
+            }
+            quarantinedCounter.increment(result.quarantined());
+            corruptCounter.increment(result.corrupt());
+        } catch (IOException e) {
+            System.err.println("!!! [오류] 감사로그 보관 파일을 읽을 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * writer 스레드를 멈추고 큐에 남은 감사로그를 모두 기록합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+        redeliverSpilled();
+    }
+
+    private void drainRemaining() {
+        List<DecryptionAuditLog> remaining = new ArrayList<>(batchSize);
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            writeBatch(remaining);
+            remaining.clear();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ariaapi.audit;
+
+/**
+ * 비동기 감사로그 큐가 가득 찼을 때의 처리 방식.
+ * 감사로그는 버릴 수 없으므로 두 방식 모두 기록을 보장합니다.
+ */
+public enum AuditOverflowPolicy {
+    /** 큐에 빈 자리가 생길 때까지 호출 스레드를 대기시킵니다. (back-pressure) */
+    BLOCK,
+    /** 호출 스레드에서 바로 DB에 기록합니다. */
+    CALLER_RUNS
+}
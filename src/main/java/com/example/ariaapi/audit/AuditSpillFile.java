@@ -0,0 +1,243 @@
+package com.example.ariaapi.audit;
+
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 재시도 후에도 DB에 기록하지 못한 감사로그를 보관했다가 다시 전달하는 로컬 파일.
+ * <p>
+ * 레코드 구조는 WAL과 같은 [payload 길이 4바이트][CRC32 4바이트][payload]이며, 추가할 때마다 fsync 합니다.
+ * {@link #redeliver(int, BatchWriter)}는 보관된 감사로그를 batch-size 건씩 기록하고, 기록한 만큼 파일에서 지웁니다.
+ * 배치가 실패하면 한 건씩 다시 기록하여, 데이터 때문에 기록할 수 없는 감사로그({@link DataIntegrityViolationException})는
+ * 격리 파일로 옮기고 나머지를 계속 기록합니다. 그 밖의 오류(DB 연결 실패 등)면 남은 감사로그만 파일에 다시 쓰고 멈춥니다.
+ * (기록 직후 종료되면 같은 감사로그가 한 번 더 기록될 수 있음)
+ * </p>
+ * <p>
+ * CRC가 맞지 않거나 길이가 잘못된 손상 레코드는 건너뛰고 다음 올바른 레코드부터 계속 읽으며, 손상된 구간 수를 셉니다.
+ * 손상 레코드가 있으면 파일을 지우거나 다시 쓰기 전에 원본을 "파일명.corrupt-시각"으로 복사해 둡니다.
+ * </p>
+ */
+public final class AuditSpillFile {
+
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private final Path file;
+    private final Path quarantineFile;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 격리 파일은 같은 디렉터리의 "파일명.quarantine" 입니다.
+     */
+    public AuditSpillFile(Path file) {
+        this(file, file.resolveSibling(file.getFileName() + ".quarantine"));
+    }
+
+    public AuditSpillFile(Path file, Path quarantineFile) {
+        this.file = file;
+        this.quarantineFile = quarantineFile;
+    }
+
+    /**
+     * 감사로그를 파일 끝에 추가하고 디스크에 반영합니다.
+     */
+    public void append(List<DecryptionAuditLog> logs) throws IOException {
+        lock.lock();
+        try {
+            appendTo(file, logs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        try {
+            return !Files.exists(file) || Files.size(file) == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Path getQuarantineFile() {
+        return quarantineFile;
+    }
+
+    /**
+     * 보관된 감사로그를 batchSize 건씩 다시 기록합니다.
+     * 배치가 실패하면 한 건씩 기록하고, 데이터 오류로 기록할 수 없는 감사로그는 격리 파일로 옮깁니다.
+     * 그 밖의 오류로 기록하지 못하면 남은 감사로그를 파일에 남기고 멈춥니다.
+     * @return 기록, 격리, 손상 건수
+     * @throws IOException 파일을 읽거나 다시 쓸 수 없는 경우
+     */
+    public Redelivery redeliver(int batchSize, BatchWriter writer) throws IOException {
+        lock.lock();
+        try {
+            if (isEmpty()) {
+                return new Redelivery(0, 0, 0);
+            }
+            Records records = readAll();
+            if (records.corrupt() > 0) {
+                Path copy = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+                Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("!!! [오류] 감사로그 보관 파일에서 손상된 레코드 " + records.corrupt()
+                        + "곳을 건너뜁니다. 원본은 " + copy + " 에 남깁니다.");
+            }
+            List<DecryptionAuditLog> logs = records.logs();
+            List<DecryptionAuditLog> rejected = new ArrayList<>();
+            int done = 0;
+            int written = 0;
+            try {
+                while (done < logs.size()) {
+                    List<DecryptionAuditLog> batch = logs.subList(done, Math.min(done + batchSize, logs.size()));
+                    try {
+                        writer.write(batch);
+                        written += batch.size();
+                        done += batch.size();
+                    } catch (Exception batchFailure) {
+                        // 한 건씩 기록하여 기록할 수 없는 감사로그만 골라냅니다.
+                        for (DecryptionAuditLog log : List.copyOf(batch)) {
+                            try {
+                                writer.write(List.of(log));
+                                written++;
+                            } catch (DataIntegrityViolationException e) {
+                                rejected.add(log);
+                            }
+                            done++;
+                        }
+                    }
+                }
+                moveToQuarantine(rejected);
+                Files.deleteIfExists(file);
+            } catch (Exception e) {
+                moveToQuarantine(rejected);
+                rewrite(logs.subList(done, logs.size()));
+                System.err.println("보관된 감사로그 재전달 중단 (남은 " + (logs.size() - done) + "건): " + e.getMessage());
+            }
+            return new Redelivery(written, rejected.size(), records.corrupt());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveToQuarantine(List<DecryptionAuditLog> rejected) throws IOException {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        appendTo(quarantineFile, rejected);
+        System.err.println("!!! [오류] 기록할 수 없는 감사로그 " + rejected.size() + "건을 격리 파일로 옮겼습니다: " + quarantineFile);
+    }
+
+    /**
+     * 파일의 레코드를 모두 읽습니다. 손상된 레코드를 만나면 한 바이트씩 옮겨가며 다음 올바른 레코드를 찾습니다.
+     */
+    private Records readAll() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<DecryptionAuditLog> logs = new ArrayList<>();
+        int corrupt = 0;
+        boolean inCorruptRange = false;
+        int position = 0;
+        while (bytes.limit() - position >= RECORD_HEADER_LENGTH) {
+            int length = bytes.getInt(position);
+            int checksum = bytes.getInt(position + 4);
+            DecryptionAuditLog log = null;
+            if (length > 0 && length <= bytes.limit() - position - RECORD_HEADER_LENGTH) {
+                byte[] payload = new byte[length];
+                bytes.get(position + RECORD_HEADER_LENGTH, payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() == checksum) {
+                    try {
+                        log = AuditWriteAheadLog.decode(payload);
+                    } catch (IOException e) {
+                        corrupt++; // CRC는 맞지만 내용을 읽을 수 없는 레코드
+                        position += RECORD_HEADER_LENGTH + length;
+                        inCorruptRange = false;
+                        continue;
+                    }
+                }
+            }
+            if (log == null) {
+                // 기록 도중 종료된 마지막 레코드 또는 손상된 레코드 (이어진 손상 구간은 한 번만 셈)
+                if (!inCorruptRange) {
+                    corrupt++;
+                    inCorruptRange = true;
+                }
+                position++;
+                continue;
+            }
+            logs.add(log);
+            position += RECORD_HEADER_LENGTH + length;
+            inCorruptRange = false;
+        }
+        if (!inCorruptRange && position < bytes.limit()) {
+            corrupt++; // 헤더보다 짧게 남은 마지막 조각
+        }
+        return new Records(logs, corrupt);
+    }
+
+    /**
+     * 임시 파일에 기록하고 fsync 한 뒤 원자적으로 교체합니다.
+     */
+    private void rewrite(List<DecryptionAuditLog> logs) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecords(channel, logs);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void appendTo(Path target, List<DecryptionAuditLog> logs) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            writeRecords(channel, logs);
+            channel.force(true);
+        }
+    }
+
+    private static void writeRecords(FileChannel channel, List<DecryptionAuditLog> logs) throws IOException {
+        for (DecryptionAuditLog log : logs) {
+            byte[] payload = AuditWriteAheadLog.encode(log);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + payload.length);
+            record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+    }
+
+    private record Records(List<DecryptionAuditLog> logs, int corrupt) {
+    }
+
+    /**
+     * 재전달 결과. written은 기록한 감사로그 수, quarantined는 격리 파일로 옮긴 수, corrupt는 건너뛴 손상 구간 수입니다.
+     */
+    public record Redelivery(int written, int quarantined, int corrupt) {
+    }
+
+    /**
+     * 감사로그 배치를 DB에 기록하는 함수.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<DecryptionAuditLog> batch) throws Exception;
+    }
+}
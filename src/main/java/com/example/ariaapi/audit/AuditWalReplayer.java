@@ -0,0 +1,209 @@
+package com.example.ariaapi.audit;
+
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 감사로그 WAL의 세그먼트를 읽어 decryption_audit_log_table에 배치로 반영하고 진행 위치를 체크포인트로 남깁니다.
+ * <p>
+ * 체크포인트는 WAL 디렉터리의 checkpoint 파일에 "세그먼트 오프셋" 형식으로 저장하며,
+ * 임시 파일에 쓴 뒤 원자적으로 교체합니다. 재시작하면 체크포인트 이후의 레코드부터 다시 반영하므로
+ * 비정상 종료 시 DB에 반영되지 않은 감사로그도 빠짐없이 기록됩니다.
+ * DB 반영과 체크포인트 저장 사이에 종료되면 해당 배치가 한 번 더 기록될 수 있습니다. (at-least-once)
+ * </p>
+ * <p>
+ * 배치 반영이 실패하면 한 건씩 다시 반영하고, 데이터 때문에 기록할 수 없는 감사로그(길이 초과, 제약 위반 등)는
+ * dead-letter 파일로 옮긴 뒤 체크포인트를 넘깁니다. 잘못된 레코드 하나가 뒤의 감사로그 반영을 막지 않습니다.
+ * DB 연결 실패처럼 데이터와 무관한 오류는 다음 주기에 같은 배치를 다시 반영합니다.
+ * </p>
+ */
+@Component
+public class AuditWalReplayer {
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final AuditWriteAheadLog wal;
+    private final AuditLogBatchInserter batchInserter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.audit.wal.replay-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.wal.replay-interval-millis:200}")
+    private long replayIntervalMillis;
+
+    // 반영할 수 없는 감사로그를 옮겨 두는 파일 (감사로그 보관 파일과 같은 형식)
+    @Value("${app.audit.wal.dead-letter-file:./audit-dead-letter/wal-dead-letter.log}")
+    private String deadLetterFilePath;
+
+    private AuditSpillFile deadLetterFile;
+
+    private volatile AuditWriteAheadLog.Position position;
+    private volatile boolean running;
+    private Thread replayThread;
+    private Counter shippedCounter;
+    private Counter failureCounter;
+    private Counter deadLetterCounter;
+
+    public AuditWalReplayer(AuditWriteAheadLog wal, AuditLogBatchInserter batchInserter, MeterRegistry meterRegistry) {
+        this.wal = wal;
+        this.batchInserter = batchInserter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void start() throws IOException {
+        if (!wal.isEnabled()) {
+            return;
+        }
+        position = loadCheckpoint();
+        System.out.println("감사로그 WAL 반영 시작 위치: 세그먼트 " + position.segment() + ", 오프셋 " + position.offset());
+
+        Gauge.builder("aria.audit.wal.backlog.bytes", this, replayer -> replayer.wal.backlogBytes(replayer.position))
+                .description("WAL에 기록되었지만 아직 DB에 반영되지 않은 바이트 수")
+                .register(meterRegistry);
+        shippedCounter = Counter.builder("aria.audit.wal.shipped")
+                .description("WAL에서 DB로 반영한 감사로그 수")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("aria.audit.wal.ship.failures")
+                .description("WAL에서 DB로 반영 실패한 횟수")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder("aria.audit.wal.dead.letter")
+                .description("DB에 반영할 수 없어 dead-letter 파일로 옮긴 감사로그 수")
+                .register(meterRegistry);
+        deadLetterFile = new AuditSpillFile(Paths.get(deadLetterFilePath));
+
+        running = true;
+        replayThread = new Thread(this::runLoop, "audit-wal-replayer");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                if (shipOnce() == 0) {
+                    Thread.sleep(replayIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                failureCounter.increment();
+                System.err.println("!!! [오류] 감사로그 WAL 반영 실패 (다음 주기에 재시도): " + e.getMessage());
+                try {
+                    Thread.sleep(replayIntervalMillis);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 체크포인트 이후의 레코드를 한 배치 반영합니다.
+     * @return 반영한 감사로그 수
+     */
+    int shipOnce() throws IOException {
+        AuditWriteAheadLog.ReadResult result = wal.read(position, batchSize);
+        if (!result.logs().isEmpty()) {
+            ship(result.logs());
+        }
+        if (!result.next().equals(position)) {
+            saveCheckpoint(result.next());
+            if (result.next().segment() != position.segment()) {
+                // 체크포인트 이전 세그먼트는 모두 반영되었으므로 정리합니다.
+                wal.deleteSegmentsBefore(result.next().segment());
+            }
+            position = result.next();
+        }
+        return result.logs().size();
+    }
+
+    /**
+     * 감사로그를 배치로 반영하고, 실패하면 한 건씩 다시 반영합니다.
+     * 한 건으로도 기록할 수 없는 데이터 오류({@link DataIntegrityViolationException})는 dead-letter 파일로 옮기고,
+     * 그 밖의 오류는 그대로 던집니다. (이미 한 건씩 반영한 감사로그는 재시도 때 한 번 더 기록될 수 있음)
+     */
+    private void ship(List<DecryptionAuditLog> logs) throws IOException {
+        try {
+            batchInserter.insertAll(logs);
+            shippedCounter.increment(logs.size());
+            return;
+        } catch (RuntimeException e) {
+            System.err.println("감사로그 WAL 배치 반영 실패, 한 건씩 다시 반영합니다: " + e.getMessage());
+        }
+        List<DecryptionAuditLog> rejected = new ArrayList<>();
+        for (DecryptionAuditLog log : logs) {
+            try {
+                batchInserter.insertAll(List.of(log));
+                shippedCounter.increment();
+            } catch (DataIntegrityViolationException e) {
+                System.err.println("!!! [오류] 반영할 수 없는 감사로그를 dead-letter 파일로 옮깁니다 (대상: "
+                        + log.getTargetDataId() + "): " + e.getMostSpecificCause().getMessage());
+                rejected.add(log);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            deadLetterFile.append(rejected);
+            deadLetterCounter.increment(rejected.size());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        replayThread.interrupt();
+        try {
+            replayThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 전에 가능한 만큼 반영합니다. 남은 레코드는 다음 시작 시 반영됩니다.
+        try {
+            while (shipOnce() > 0) {
+                // 반영할 레코드가 없을 때까지 반복
+            }
+        } catch (Exception e) {
+            System.err.println("종료 중 감사로그 WAL 반영 중단 (다음 시작 시 재반영): " + e.getMessage());
+        }
+    }
+
+    private AuditWriteAheadLog.Position loadCheckpoint() throws IOException {
+        Path checkpoint = wal.getDirectory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return wal.oldestPosition();
+        }
+        String[] parts = Files.readString(checkpoint, StandardCharsets.UTF_8).trim().split(" ");
+        AuditWriteAheadLog.Position saved = new AuditWriteAheadLog.Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        AuditWriteAheadLog.Position oldest = wal.oldestPosition();
+        // 체크포인트가 가리키는 세그먼트가 이미 정리되었다면 남아 있는 가장 오래된 세그먼트부터 읽습니다.
+        return saved.segment() < oldest.segment() ? oldest : saved;
+    }
+
+    private void saveCheckpoint(AuditWriteAheadLog.Position next) throws IOException {
+        Path checkpoint = wal.getDirectory().resolve(CHECKPOINT_FILE);
+        Path temp = wal.getDirectory().resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, next.segment() + " " + next.offset(), StandardCharsets.UTF_8);
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
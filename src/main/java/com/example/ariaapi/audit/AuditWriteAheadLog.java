@@ -0,0 +1,444 @@
+package com.example.ariaapi.audit;
+
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 감사로그용 로컬 추가 전용(append-only) 선행 기록 로그(WAL).
+ * <p>
+ * 감사로그는 고정 크기 세그먼트 파일을 메모리 매핑하여 순서대로 기록하며, 세그먼트가 가득 차면
+ * 봉인(seal) 표시를 남기고 다음 세그먼트로 넘어갑니다. fsync는 전용 flusher 스레드가
+ * fsync-interval-millis 간격으로 모인 기록을 한 번에 수행(group fsync)하고,
+ * {@link #append(DecryptionAuditLog)}는 자신의 기록이 디스크에 반영된 뒤에 반환합니다.
+ * </p>
+ * <p>
+ * 레코드 구조: [payload 길이 4바이트][CRC32 4바이트][payload]. 길이가 -1이면 세그먼트 봉인, 0이면 기록의 끝입니다.
+ * 위치(LSN)는 세그먼트 번호 * 세그먼트 크기 + 세그먼트 내 오프셋으로 단조 증가합니다.
+ * 재시작 시에는 기존 세그먼트에 이어 쓰지 않고 항상 새 세그먼트를 열며,
+ * 비정상 종료로 봉인되지 않은 세그먼트는 마지막으로 온전한 레코드까지만 읽습니다.
+ * DB 반영은 {@link AuditWalReplayer}가 담당합니다.
+ * </p>
+ */
+@Component
+public class AuditWriteAheadLog {
+
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int SEAL_MARKER = -1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalMillis;
+
+    // 기록 경로: 활성 세그먼트와 기록된 위치는 appendLock으로 보호합니다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeBuffer;
+    private volatile long activeSegment;
+    private long writtenLsn;
+
+    // 디스크 반영 위치: flusher가 갱신하고 append 호출자가 기다립니다.
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+    private volatile long durableLsn;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public AuditWriteAheadLog(@Value("${app.audit.wal.enabled:false}") boolean enabled,
+                              @Value("${app.audit.wal.directory:./audit-wal}") String directory,
+                              @Value("${app.audit.wal.segment-size-bytes:16777216}") int segmentSize,
+                              @Value("${app.audit.wal.fsync-interval-millis:5}") long fsyncIntervalMillis) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Long> segments = segmentNumbers();
+        // 재시작 시 기존 세그먼트에는 이어 쓰지 않고 다음 번호로 새 세그먼트를 엽니다.
+        long firstSegment = segments.isEmpty() ? 0L : segments.get(segments.size() - 1) + 1;
+        openSegment(firstSegment);
+        writtenLsn = lsn(firstSegment, 0);
+        durableLsn = writtenLsn;
+
+        running = true;
+        flusherThread = new Thread(this::flushLoop, "audit-wal-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+        System.out.println("감사로그 WAL 시작: " + directory.toAbsolutePath() + " (세그먼트 " + firstSegment + ")");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 감사로그를 WAL에 추가하고, 디스크에 반영(fsync)될 때까지 기다립니다.
+     * @throws IOException 기록에 실패했거나 WAL이 닫힌 경우
+     */
+    public void append(DecryptionAuditLog log) throws IOException {
+        byte[] payload = encode(log);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int recordLength = RECORD_HEADER_LENGTH + payload.length;
+        if (recordLength + Integer.BYTES > segmentSize) {
+            throw new IOException("Audit record too large for WAL segment: " + recordLength + " bytes");
+        }
+
+        long recordLsn;
+        appendLock.lock();
+        try {
+            if (!running) {
+                throw new IOException("Audit WAL is not running.");
+            }
+            // 봉인 표시를 남길 4바이트는 항상 비워 둡니다.
+            if (activeBuffer.position() + recordLength + Integer.BYTES > segmentSize) {
+                rotate();
+            }
+            activeBuffer.putInt(payload.length);
+            activeBuffer.putInt((int) crc.getValue());
+            activeBuffer.put(payload);
+            writtenLsn = lsn(activeSegment, activeBuffer.position());
+            recordLsn = writtenLsn;
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(recordLsn);
+    }
+
+    /**
+     * from 위치부터 디스크에 반영된 레코드를 최대 maxRecords 건 읽습니다.
+     * 봉인되었거나 비정상 종료로 끝난 세그먼트는 다음 세그먼트로 넘어갑니다.
+     */
+    public ReadResult read(Position from, int maxRecords) throws IOException {
+        List<DecryptionAuditLog> logs = new ArrayList<>();
+        long segment = from.segment();
+        long offset = from.offset();
+        long active = activeSegment;
+        long durable = durableLsn;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+
+        while (logs.size() < maxRecords && segment <= active) {
+            Path path = segmentPath(segment);
+            if (!Files.exists(path)) {
+                if (segment < active) {
+                    segment++;
+                    offset = 0;
+                    continue;
+                }
+                break;
+            }
+            boolean sealed = segment < active;
+            // 활성 세그먼트는 fsync가 끝난 위치까지만 읽습니다.
+            long limit = sealed ? segmentSize : Math.min(segmentSize, Math.max(0, durable - lsn(segment, 0)));
+            boolean endOfSegment = false;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (logs.size() < maxRecords) {
+                    if (offset + Integer.BYTES > limit) {
+                        endOfSegment = sealed;
+                        break;
+                    }
+                    header.clear().limit(Integer.BYTES);
+                    readFully(channel, header, offset);
+                    int length = header.getInt(0);
+                    if (length <= 0 || offset + RECORD_HEADER_LENGTH + length > limit) {
+                        // 봉인 표시(-1), 기록의 끝(0), 또는 잘린 레코드
+                        endOfSegment = sealed;
+                        break;
+                    }
+                    header.clear();
+                    readFully(channel, header, offset);
+                    int expectedCrc = header.getInt(Integer.BYTES);
+                    ByteBuffer payload = ByteBuffer.allocate(length);
+                    readFully(channel, payload, offset + RECORD_HEADER_LENGTH);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload.array());
+                    if ((int) crc.getValue() != expectedCrc) {
+                        // 비정상 종료 중 일부만 기록된 레코드: 이 세그먼트의 나머지는 버립니다.
+                        System.err.println("감사로그 WAL 세그먼트 " + segment + "의 오프셋 " + offset + "에서 손상된 레코드 발견, 다음 세그먼트로 이동합니다.");
+                        endOfSegment = sealed;
+                        break;
+                    }
+                    logs.add(decode(payload.array()));
+                    offset += RECORD_HEADER_LENGTH + length;
+                }
+            }
+
+            if (!endOfSegment) {
+                break;
+            }
+            segment++;
+            offset = 0;
+        }
+        return new ReadResult(logs, new Position(segment, offset));
+    }
+
+    /**
+     * 읽기를 시작할 가장 오래된 위치 (남아 있는 가장 작은 세그먼트의 처음).
+     */
+    public Position oldestPosition() throws IOException {
+        List<Long> segments = segmentNumbers();
+        return new Position(segments.isEmpty() ? activeSegment : segments.get(0), 0);
+    }
+
+    /**
+     * 주어진 세그먼트보다 번호가 작은 세그먼트 파일을 삭제합니다. (DB 반영이 끝난 세그먼트 정리용)
+     */
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        for (long number : segmentNumbers()) {
+            if (number >= segment || number >= activeSegment) {
+                break;
+            }
+            Files.deleteIfExists(segmentPath(number));
+        }
+    }
+
+    /**
+     * 디스크에 반영되었지만 아직 주어진 위치 이후에 남아 있는 바이트 수 (DB 반영 지연의 대략적인 크기).
+     */
+    public long backlogBytes(Position position) {
+        return Math.max(0, durableLsn - lsn(position.segment(), position.offset()));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        flusherThread.interrupt();
+        try {
+            flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushOnce();
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            System.err.println("감사로그 WAL 세그먼트 닫기 실패: " + e.getMessage());
+        }
+        // 종료 후 기다리는 호출자가 남지 않도록 깨웁니다.
+        durableLock.lock();
+        try {
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                // fsync-interval 동안 모인 기록을 한 번의 fsync로 반영합니다.
+                Thread.sleep(fsyncIntervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flushOnce();
+        }
+    }
+
+    private void flushOnce() {
+        MappedByteBuffer buffer;
+        long target;
+        appendLock.lock();
+        try {
+            buffer = activeBuffer;
+            target = writtenLsn;
+        } finally {
+            appendLock.unlock();
+        }
+        if (target <= durableLsn) {
+            return;
+        }
+        buffer.force();
+        advanceDurable(target);
+    }
+
+    private void advanceDurable(long lsn) {
+        durableLock.lock();
+        try {
+            if (lsn > durableLsn) {
+                durableLsn = lsn;
+            }
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long lsn) throws IOException {
+        long waitMillis = Math.max(10, fsyncIntervalMillis * 10);
+        durableLock.lock();
+        try {
+            while (durableLsn < lsn) {
+                boolean stopped = !running;
+                durableAdvanced.await(waitMillis, TimeUnit.MILLISECONDS);
+                // 종료 중이면 마지막 flush를 한 번만 더 기다립니다.
+                if (stopped && durableLsn < lsn) {
+                    throw new IOException("Audit WAL stopped before the record was flushed.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for audit WAL fsync.", e);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * 활성 세그먼트를 봉인하고 다음 세그먼트를 엽니다. appendLock을 잡은 상태에서 호출됩니다.
+     */
+    private void rotate() throws IOException {
+        activeBuffer.putInt(SEAL_MARKER);
+        activeBuffer.force();
+        activeChannel.close();
+        long next = activeSegment + 1;
+        openSegment(next);
+        writtenLsn = lsn(next, 0);
+        // 이전 세그먼트는 모두 fsync 되었으므로 반영 위치를 새 세그먼트의 시작으로 옮깁니다.
+        advanceDurable(writtenLsn);
+    }
+
+    private void openSegment(long segment) throws IOException {
+        activeChannel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeBuffer = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        activeSegment = segment;
+    }
+
+    private long lsn(long segment, long offset) {
+        return segment * segmentSize + offset;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of audit WAL segment.");
+            }
+        }
+    }
+
+    static byte[] encode(DecryptionAuditLog log) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeNullableString(out, log.getUserId());
+            writeNullableString(out, log.getIpAddress());
+            writeNullableString(out, log.getPurpose());
+            out.writeBoolean(Boolean.TRUE.equals(log.getSuccess()));
+            writeNullableString(out, log.getTargetDataId());
+            writeDateTime(out, log.getDecryptionTime());
+            writeDateTime(out, log.getCreatedAt());
+        }
+        return bytes.toByteArray();
+    }
+
+    static DecryptionAuditLog decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            DecryptionAuditLog log = new DecryptionAuditLog();
+            log.setUserId(readNullableString(in));
+            log.setIpAddress(readNullableString(in));
+            log.setPurpose(readNullableString(in));
+            log.setSuccess(in.readBoolean());
+            log.setTargetDataId(readNullableString(in));
+            log.setDecryptionTime(readDateTime(in));
+            log.setCreatedAt(readDateTime(in));
+            return log;
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * WAL 안의 위치 (세그먼트 번호, 세그먼트 내 오프셋).
+     */
+    public record Position(long segment, long offset) {
+    }
+
+    /**
+     * 읽은 감사로그와 다음에 읽을 위치.
+     */
+    public record ReadResult(List<DecryptionAuditLog> logs, Position next) {
+    }
+}
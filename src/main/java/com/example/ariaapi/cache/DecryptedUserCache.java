@@ -0,0 +1,154 @@
+package com.example.ariaapi.cache;
+
+import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 자주 조회되는 사용자의 복호화 결과를 보관하는 메모리 캐시 (app.cache.decrypted-user.enabled로 켬).
+ * <p>
+ * Caffeine의 W-TinyLFU 정책으로 maximum-size 건까지 보관하고, 저장 후 ttl-seconds가 지나면 만료합니다.
+ * 평문은 String이 아닌 UTF-8 바이트 배열로 보관하며, 만료/교체/무효화로 캐시에서 빠지는 순간 0으로 덮어씁니다.
+ * 캐시 적중 여부와 관계없이 감사로그는 호출하는 쪽에서 매번 기록합니다.
+ * </p>
+ * <p>
+ * 메트릭: cache.gets{cache=decryptedUser, result=hit|miss}, cache.evictions, cache.size 등
+ * </p>
+ */
+@Component
+public class DecryptedUserCache {
+
+    private static final String CACHE_NAME = "decryptedUser";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.decrypted-user.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.decrypted-user.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${app.cache.decrypted-user.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Cache<Long, Entry> cache;
+
+    public DecryptedUserCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void init() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                // 만료, 용량 초과, 교체, 무효화 모두 이 리스너를 거치므로 빠져나간 평문은 항상 지워집니다.
+                .removalListener((Long id, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        entry.wipe();
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 복호화 결과를 반환합니다. 없거나(만료 포함) 캐시가 꺼져 있으면 null을 반환합니다.
+     */
+    public UserDecryptedDto get(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(id);
+        return entry != null ? entry.toDto(id) : null; // 조회 직후 지워졌다면 null(미적중)로 처리
+    }
+
+    public void put(UserDecryptedDto dto) {
+        if (!enabled || dto.getId() == null) {
+            return;
+        }
+        cache.put(dto.getId(), new Entry(dto));
+    }
+
+    public void invalidate(Long id) {
+        if (enabled && id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        if (enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 캐시에 보관하는 평문. 제거될 때 바이트 배열을 0으로 덮어쓰며, 지워진 뒤에는 DTO로 변환되지 않습니다.
+     * 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+     */
+    static final class Entry {
+
+        private final byte[] usrNm;
+        private final byte[] usrTel;
+        private final byte[] usrBirth;
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean wiped;
+
+        Entry(UserDecryptedDto dto) {
+            this.usrNm = toBytes(dto.getUsrNm());
+            this.usrTel = toBytes(dto.getUsrTel());
+            this.usrBirth = toBytes(dto.getUsrBirth());
+        }
+
+        UserDecryptedDto toDto(Long id) {
+            lock.lock();
+            try {
+                if (wiped) {
+                    return null;
+                }
+                return new UserDecryptedDto(id, toString(usrNm), toString(usrTel), toString(usrBirth));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void wipe() {
+            lock.lock();
+            try {
+                if (usrNm != null) Arrays.fill(usrNm, (byte) 0);
+                if (usrTel != null) Arrays.fill(usrTel, (byte) 0);
+                if (usrBirth != null) Arrays.fill(usrBirth, (byte) 0);
+                wiped = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static byte[] toBytes(String value) {
+            return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+        }
+
+        private static String toString(byte[] value) {
+            return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+        }
+    }
+}
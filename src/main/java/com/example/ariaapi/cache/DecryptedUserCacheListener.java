@@ -0,0 +1,46 @@
+package com.example.ariaapi.cache;
+
+import com.example.ariaapi.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA로 사용자가 저장/수정/삭제되면 복호화 캐시에서 해당 사용자를 무효화하는 엔티티 리스너.
+ * <p>
+ * 트랜잭션 안이면 즉시 한 번, 커밋 후 한 번 더 무효화합니다.
+ * 커밋 전에 다른 요청이 이전 값을 다시 캐시에 올리더라도 커밋 시점에 지워집니다.
+ * JPA를 거치지 않는 JDBC 일괄 쓰기는 {@link DecryptedUserCache}를 직접 무효화해야 합니다.
+ * </p>
+ */
+@Component
+public class DecryptedUserCacheListener {
+
+    private final DecryptedUserCache decryptedUserCache;
+
+    public DecryptedUserCacheListener(DecryptedUserCache decryptedUserCache) {
+        this.decryptedUserCache = decryptedUserCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserWrite(User user) {
+        Long id = user.getId();
+        if (!decryptedUserCache.isEnabled() || id == null) {
+            return;
+        }
+        decryptedUserCache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    decryptedUserCache.invalidate(id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ariaapi.controller;
+
+import com.example.ariaapi.dto.response.KeyRotationProgressDto;
+import com.example.ariaapi.dto.response.UserImportProgressDto;
+import com.example.ariaapi.service.KeyRotationService;
+import com.example.ariaapi.service.UserImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final KeyRotationService keyRotationService;
+    private final UserImportService userImportService;
+
+    @Autowired
+    public AdminController(KeyRotationService keyRotationService, UserImportService userImportService) {
+        this.keyRotationService = keyRotationService;
+        this.userImportService = userImportService;
+    }
+
+    /**
+     * 키 교체 재암호화 진행 상황을 조회하는 API 엔드포인트
+     * GET /api/admin/key-rotation
+     * Response: 대상 키 ID, 처리 위치(lastId/maxId), 진행률, 처리/재암호화/실패 건수, 처리 속도
+     */
+    @GetMapping("/key-rotation")
+    public ResponseEntity<KeyRotationProgressDto> getKeyRotationProgress() {
+        return ResponseEntity.ok(keyRotationService.getProgress());
+    }
+
+    /**
+     * 키 교체 재암호화를 시작(또는 마지막 위치부터 재개)하는 API 엔드포인트
+     * POST /api/admin/key-rotation/start
+     */
+    @PostMapping("/key-rotation/start")
+    public ResponseEntity<?> startKeyRotation() {
+        if (!keyRotationService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("error", "키 교체 재암호화가 이미 실행 중입니다."));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(keyRotationService.getProgress());
+    }
+
+    /**
+     * 실행 중인 키 교체 재암호화를 멈추는 API 엔드포인트 (진행 위치는 저장되어 다시 시작하면 이어서 처리)
+     * POST /api/admin/key-rotation/stop
+     */
+    @PostMapping("/key-rotation/stop")
+    public ResponseEntity<KeyRotationProgressDto> stopKeyRotation() {
+        keyRotationService.stop();
+        return ResponseEntity.ok(keyRotationService.getProgress());
+    }
+
+    /**
+     * 사용자 파일 가져오기 진행 상황을 조회하는 API 엔드포인트
+     * GET /api/admin/user-import?file=users.csv (file을 생략하면 마지막으로 시작한 가져오기)
+     * Response: 파일 경로, 읽은 위치(byteOffset/fileSize), 진행률, 저장/건너뜀/잘못된 줄 수, 처리 속도
+     */
+    @GetMapping("/user-import")
+    public ResponseEntity<?> getUserImportProgress(@RequestParam(required = false) String file) {
+        try {
+            Path path = file != null ? userImportService.resolveInImportDirectory(file) : null;
+            return ResponseEntity.ok(userImportService.getProgress(path));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * app.import.directory 안의 CSV/NDJSON 파일 가져오기를 시작(또는 마지막 위치부터 재개)하는 API 엔드포인트
+     * POST /api/admin/user-import/start?file=users.csv&restart=false
+     * restart=true 이면 진행 위치를 버리고 파일 처음부터 다시 가져옵니다.
+     */
+    @PostMapping("/user-import/start")
+    public ResponseEntity<?> startUserImport(@RequestParam String file,
+                                             @RequestParam(defaultValue = "false") boolean restart) {
+        Path path;
+        try {
+            path = userImportService.resolveInImportDirectory(file);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        if (!userImportService.start(path, restart)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("error", "사용자 파일 가져오기가 이미 실행 중입니다."));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userImportService.getProgress(path));
+    }
+
+    /**
+     * 실행 중인 사용자 파일 가져오기를 멈추는 API 엔드포인트 (진행 위치는 저장되어 다시 시작하면 이어서 처리)
+     * POST /api/admin/user-import/stop
+     */
+    @PostMapping("/user-import/stop")
+    public ResponseEntity<UserImportProgressDto> stopUserImport() {
+        userImportService.stop();
+        return ResponseEntity.ok(userImportService.getProgress(null));
+    }
+}
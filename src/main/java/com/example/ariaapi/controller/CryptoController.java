@@ -1,7 +1,10 @@
 package com.example.ariaapi.controller;
 
+import com.example.ariaapi.dto.UserField;
 import com.example.ariaapi.dto.request.UserCreateDto;
 import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.example.ariaapi.dto.response.UserIngestResultDto;
+import com.example.ariaapi.dto.response.UserUpsertResultDto;
 import com.example.ariaapi.dto.request.UserPageRequest;
 import com.example.ariaapi.dto.request.AuditPageRequest;
 import com.example.ariaapi.dto.response.PageResponse;
@@ -11,17 +14,26 @@ import com.example.ariaapi.entity.DecryptionAuditLog;
 
 import com.example.ariaapi.service.UserService;
 import com.example.ariaapi.service.DecryptionAuditService;
+import com.example.ariaapi.service.UserIngestService;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/crypto")
@@ -29,11 +41,14 @@ public class CryptoController {
 
     private final UserService userService;
     private final DecryptionAuditService decryptionAuditService;
+    private final UserIngestService userIngestService;
 
     @Autowired
-    public CryptoController(UserService userService, DecryptionAuditService decryptionAuditService) { // 생성자 수정
+    public CryptoController(UserService userService, DecryptionAuditService decryptionAuditService,
+                            UserIngestService userIngestService) { // 생성자 수정
         this.userService = userService;
         this.decryptionAuditService = decryptionAuditService;
+        this.userIngestService = userIngestService;
     }
 
     // --- API Endpoints ---
@@ -74,6 +89,81 @@ public class CryptoController {
         }
     }
 
+    /**
+     * 대량 사용자를 암호화하여 PostgreSQL COPY로 일괄 등록하는 API 엔드포인트 (온보딩용)
+     * POST /api/crypto/users/ingest
+     * Request Body: [ { "usrNm": "Name1", ... }, { "usrNm": "Name2", ... } ]
+     * Response: { "requested": 2, "inserted": 2, "idRanges": "101-102", "elapsedMillis": 12 }
+     * 저장된 엔티티 목록 대신 건수와 ID 구간만 반환합니다.
+     */
+    @PostMapping("/users/ingest")
+    public ResponseEntity<?> ingestUsers(@Valid @RequestBody List<UserCreateDto> requests) {
+        try {
+            UserIngestResultDto result = userIngestService.ingest(requests);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalStateException e) { // 이미 등록된 전화번호 등
+            System.err.println("일괄 등록 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("일괄 등록 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "사용자를 일괄 등록할 수 없습니다."));
+        }
+    }
+
+    /**
+     * 요청 본문을 스트리밍으로 읽으며 묶음 단위로 커밋하는 일괄 등록 API 엔드포인트 (크기 제한 없는 업로드용)
+     * POST /api/crypto/users/stream
+     * Request Body: [ { "usrNm": "Name1", ... }, { "usrNm": "Name2", ... } ]
+     * Response: { "requested": 5000, "inserted": 3000, "failed": 2000, "chunks": [ { "chunk": 0, "firstRow": 0, "rows": 2000, ... } ] }
+     * 모든 행이 저장되면 201, 일부 묶음이 실패했거나 본문을 끝까지 읽지 못했으면 207로 응답합니다.
+     */
+    @PostMapping(value = "/users/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> ingestUsersInChunks(HttpServletRequest httpRequest) {
+        try {
+            UserIngestResultDto result = userIngestService.ingestInChunks(httpRequest.getInputStream());
+            boolean complete = result.getFailed() == 0 && result.getError() == null;
+            return ResponseEntity.status(complete ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
+        } catch (IllegalArgumentException | JsonProcessingException e) { // JSON 배열이 아니거나 시작부터 형식이 잘못된 본문
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("묶음 단위 일괄 등록 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "사용자를 일괄 등록할 수 없습니다."));
+        }
+    }
+
+    /**
+     * 전화번호를 키로 여러 사용자를 upsert 하는 API 엔드포인트 (같은 요청을 다시 보내도 안전)
+     * POST /api/crypto/users/upsert?onConflict=update|skip
+     * Request Body: [ { "usrNm": "Name1", ... }, { "usrNm": "Name2", ... } ]
+     * Response: { "requested": 2, "inserted": 1, "updated": 1, ..., "rows": [ { "row": 0, "id": 5, "status": "UPDATED" }, ... ] }
+     */
+    @PostMapping("/users/upsert")
+    public ResponseEntity<?> upsertUsers(@Valid @RequestBody List<UserCreateDto> requests,
+                                         @RequestParam(value = "onConflict", defaultValue = "update") String onConflict) {
+        boolean updateOnConflict;
+        if ("update".equalsIgnoreCase(onConflict)) {
+            updateOnConflict = true;
+        } else if ("skip".equalsIgnoreCase(onConflict)) {
+            updateOnConflict = false;
+        } else {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", "onConflict는 update 또는 skip이어야 합니다."));
+        }
+        try {
+            UserUpsertResultDto result = userIngestService.upsert(requests, updateOnConflict);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) { // 최대 건수 초과
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IllegalStateException e) { // 다른 형식으로 이미 등록된 전화번호
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("일괄 upsert 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Collections.singletonMap("error", "사용자를 저장할 수 없습니다."));
+        }
+    }
+
     /**
      * 특정 ID의 암호화된 데이터를 조회하고 복호화하여 반환하는 API 엔드포인트
      * GET /api/crypto/users/{id}/decrypted
@@ -81,24 +171,39 @@ public class CryptoController {
      * Response: { "id": 1, "usrNm": "DecryptedName", ... }
      */
     @GetMapping("/users/{id}/decrypted")
-    public ResponseEntity<UserDecryptedDto> getDecryptedUserById(
+    public CompletableFuture<ResponseEntity<?>> getDecryptedUserById(
             @PathVariable Long id,
             @RequestParam(value = "purpose", required = false) String purpose, // 목적을 쿼리 파라미터로 받음
+            @RequestParam(value = "fields", required = false) String fields, // 복호화할 필드 (예: usrNm,usrTel, 비우면 전체)
             HttpServletRequest httpRequest) {
         String ipAddress = httpRequest.getRemoteAddr();
         String currentPurpose = (purpose != null && !purpose.isEmpty()) ? purpose : "Purpose Not Specified";
+        Set<UserField> selectedFields;
+        try {
+            selectedFields = UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage())));
+        }
 
+        CompletableFuture<UserDecryptedDto> decryptedUser;
         try {
-            // UserService의 getDecryptedUserById 호출
-            UserDecryptedDto decryptedUser = userService.getDecryptedUserById(id, ipAddress, currentPurpose);
-            return ResponseEntity.ok(decryptedUser);
+            // 복호화는 SINGLE lane에서, 감사로그 기록은 I/O 스레드에서 하며 요청 스레드는 기다리지 않고 반환합니다.
+            decryptedUser = userService.getDecryptedUserByIdAsync(id, ipAddress, currentPurpose, selectedFields);
         } catch (IllegalArgumentException e) { // ID를 찾을 수 없을 때 (UserService에서 던지는 예외)
             System.err.println("ID " + id + "에 해당하는 데이터 복호화 실패 (찾을 수 없음): " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        } catch (Exception e) { // 기타 복호화 실패 (UserService에서 예외를 던지지 않으므로 발생하지 않음)
-            System.err.println("ID " + id + "에 해당하는 데이터 복호화 실패: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+        } catch (Exception e) {
+            decryptedUser = CompletableFuture.failedFuture(e);
         }
+        return decryptedUser.<ResponseEntity<?>>thenApply(ResponseEntity::ok).exceptionally(error -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof RejectedExecutionException) {
+                return overloaded();
+            }
+            // 기타 복호화 실패
+            System.err.println("ID " + id + "에 해당하는 데이터 복호화 실패: " + cause.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        });
     }
 
     /**
@@ -108,7 +213,7 @@ public class CryptoController {
      * Response: [ { "id": 1, "usrNm": "DecryptedName", ... }, ... ]
      */
     @GetMapping("/users/all-decrypted")
-    public ResponseEntity<Page<UserDecryptedDto>> getAllDecryptedUsers(
+    public CompletableFuture<ResponseEntity<?>> getAllDecryptedUsers(
             @Valid @ModelAttribute UserPageRequest pageRequest,
             @RequestParam(value = "purpose", required = false) String purpose,
             HttpServletRequest httpRequest) {
@@ -117,29 +222,73 @@ public class CryptoController {
         String currentPurpose = (purpose != null && !purpose.isEmpty()) ? purpose : "Purpose Not Specified";
 
         Pageable pageable = pageRequest.makePageRequest();
+        Set<UserField> selectedFields;
+        try {
+            selectedFields = pageRequest.decodeFields();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage())));
+        }
 
+        CompletableFuture<Page<UserDecryptedDto>> decryptedUsers;
         try {
-            Page<UserDecryptedDto> decryptedUsers = userService.getAllDecryptedUsers(pageable, ipAddress, currentPurpose);
-            return ResponseEntity.ok(decryptedUsers);
+            decryptedUsers = userService.getAllDecryptedUsersAsync(pageable, ipAddress, currentPurpose, selectedFields);
         } catch (Exception e) {
-            System.err.println("모든 데이터 복호화 실패: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            decryptedUsers = CompletableFuture.failedFuture(e);
         }
+        return decryptedUsers.<ResponseEntity<?>>thenApply(ResponseEntity::ok).exceptionally(error -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof RejectedExecutionException) {
+                return overloaded();
+            }
+            System.err.println("모든 데이터 복호화 실패: " + cause.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        });
     }
 
     /**
      * 모든 감사로그를 조회하는 API 엔드포인트 (관리/테스트용)
      * GET /api/crypto/audit-logs
      * Response: 페이지네이션된 감사로그 리스트 (PageResponse<DecryptionAuditLog>)
+     * cursor=true 또는 after 토큰을 주면 COUNT 없이 (createdAt, logId) 기준 커서 방식으로 조회합니다.
      */
     @GetMapping("/audit-logs")
-    public ResponseEntity<PageResponse<DecryptionAuditLog>> getAllAuditLogs(
-                                                                             @Valid @ModelAttribute AuditPageRequest pageRequest) {
+    public ResponseEntity<?> getAllAuditLogs(
+                                              @Valid @ModelAttribute AuditPageRequest pageRequest) {
+        if (pageRequest.isCursorMode()) {
+            // 커서 모드: GET /api/crypto/audit-logs?cursor=true&size=30, 이후 after={nextCursor}
+            try {
+                AuditPageRequest.Cursor after = pageRequest.decodeAfter();
+                Slice<DecryptionAuditLog> auditLogsSlice = decryptionAuditService.getAuditLogsAfter(
+                        after != null ? after.createdAt() : null,
+                        after != null ? after.logId() : null,
+                        pageRequest.cursorDirection(),
+                        pageRequest.getSize());
+                List<DecryptionAuditLog> logs = auditLogsSlice.getContent();
+                String nextCursor = logs.isEmpty() ? null : AuditPageRequest.encodeCursor(
+                        logs.get(logs.size() - 1).getCreatedAt(), logs.get(logs.size() - 1).getLogId());
+                return ResponseEntity.ok(new PageResponse<>(auditLogsSlice, nextCursor));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            }
+        }
+
         Pageable pageable = pageRequest.makePageRequest();
         Page<DecryptionAuditLog> auditLogsPage = decryptionAuditService.getAllAuditLogs(pageable);
 
         PageResponse<DecryptionAuditLog> response = new PageResponse<>(auditLogsPage);
         return ResponseEntity.ok(response);
     }
-}
 
+    // 조회 future의 실패 원인 (의존 단계에서는 CompletionException으로 감싸져 전달됨)
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 복호화 executor의 큐가 가득 찼을 때의 응답 (잠시 후 재시도하도록 503)
+     */
+    private static ResponseEntity<?> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Collections.singletonMap("error", "복호화 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+}
@@ -1,24 +1,35 @@
 package com.example.ariaapi.controller;
 
+import com.example.ariaapi.dto.UserField;
+import com.example.ariaapi.dto.request.UserBatchLookupRequest;
 import com.example.ariaapi.dto.request.UserCreateDto;
 import com.example.ariaapi.dto.response.UserDecryptedDto;
 import com.example.ariaapi.dto.response.UserSearchResponseDto;
 import com.example.ariaapi.dto.request.UserPageRequest;
 import com.example.ariaapi.dto.response.PageResponse;
 
+import com.example.ariaapi.service.UserExportService;
 import com.example.ariaapi.service.UserService;
-import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/users")
@@ -26,6 +37,13 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // 내보내기 응답의 비동기 타임아웃 (다른 비동기 엔드포인트는 spring.mvc.async.request-timeout 기본값 사용)
+    @Value("${app.export.timeout-millis:3600000}")
+    private long exportTimeoutMillis;
 
     @PostMapping
     public ResponseEntity<Map<String, String>> createUser(@RequestBody UserCreateDto dto) {
@@ -37,52 +55,122 @@ public class UserController {
         }
     }
 
+    /**
+     * 블라인드 인덱스 검색. 일치하는 사용자를 id 오름차순으로 size명씩 반환하며,
+     * 다음 페이지는 응답의 nextCursor를 after로 전달하여 조회합니다. (page, sort 파라미터는 사용하지 않음)
+     */
     @GetMapping("/search")
-    public ResponseEntity<?> searchUsers(
+    public CompletableFuture<ResponseEntity<?>> searchUsers(
             @RequestParam("type") String type,
             @RequestParam("keyword") String keyword,
             @RequestParam("purpose") String purpose,
+            @Valid @ModelAttribute UserPageRequest pageRequest,
             HttpServletRequest request) {
-        try {
-            String ipAddress = request.getRemoteAddr();
-            UserSearchResponseDto user = userService.searchUserByHash(type, keyword, ipAddress, purpose);
-            return ResponseEntity.ok(user);
-        } catch (EntityNotFoundException ex) {
-            return new ResponseEntity<>(Collections.singletonMap("error", ex.getMessage()), HttpStatus.NOT_FOUND);
-        } catch (RuntimeException ex) {
-            return new ResponseEntity<>(Collections.singletonMap("error", ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        String ipAddress = request.getRemoteAddr();
+        return respond(() -> userService.searchUsersByHashAsync(
+                type, keyword, pageRequest.decodeAfterId(), pageRequest.getSize(), ipAddress, purpose), usersSlice -> {
+            List<UserSearchResponseDto> users = usersSlice.getContent();
+            String nextCursor = users.isEmpty() ? null : UserPageRequest.encodeCursor(users.get(users.size() - 1).getUsrId());
+            return ResponseEntity.ok(new PageResponse<>(usersSlice, nextCursor));
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(
+    public CompletableFuture<ResponseEntity<?>> getUserById(
             @PathVariable Long id,
             @RequestParam("purpose") String purpose,
+            @RequestParam(value = "fields", required = false) String fields, // 복호화할 필드 (예: usrNm,usrTel, 비우면 전체)
             HttpServletRequest request) {
-        try {
-            String ipAddress = request.getRemoteAddr();
-            UserDecryptedDto user = userService.getDecryptedUserById(id, ipAddress, purpose);
-            return ResponseEntity.ok(user);
-        } catch (IllegalArgumentException ex) {
-            return new ResponseEntity<>(Collections.singletonMap("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
-        } catch (RuntimeException ex) {
-            return new ResponseEntity<>(Collections.singletonMap("error", ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        String ipAddress = request.getRemoteAddr();
+        return respond(() -> userService.getDecryptedUserByIdAsync(id, ipAddress, purpose, UserField.parse(fields)),
+                ResponseEntity::ok);
+    }
+
+    /**
+     * 여러 ID의 사용자를 한 번에 복호화하여 조회합니다. (단건 조회를 ID 수만큼 반복하는 대신 사용)
+     * 요청 순서대로 ID마다 FOUND, NOT_FOUND, DECRYPT_FAILED 상태를 반환하며, 감사로그는 ID 구간 목록으로 (보통 한 건) 남깁니다.
+     */
+    @PostMapping("/batch-lookup")
+    public CompletableFuture<ResponseEntity<?>> getUsersByIds(
+            @Valid @RequestBody UserBatchLookupRequest lookupRequest,
+            @RequestParam("purpose") String purpose,
+            HttpServletRequest request) {
+        String ipAddress = request.getRemoteAddr();
+        return respond(() -> userService.getDecryptedUsersByIdsAsync(lookupRequest.getIds(), ipAddress, purpose),
+                results -> ResponseEntity.ok(Collections.singletonMap("results", results)));
     }
 
     @GetMapping
-    public ResponseEntity<PageResponse<UserDecryptedDto>> getAllUsers(
-                                                                       @Valid @ModelAttribute UserPageRequest pageRequest,
-                                                                       @RequestParam("purpose") String purpose,
-                                                                       HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<?>> getAllUsers(
+                                          @Valid @ModelAttribute UserPageRequest pageRequest,
+                                          @RequestParam("purpose") String purpose,
+                                          HttpServletRequest request) {
         String ipAddress = request.getRemoteAddr();
 
+        if (pageRequest.isCursorMode()) {
+            return respond(() -> userService.getDecryptedUsersAfterAsync(
+                    pageRequest.decodeAfterId(), pageRequest.cursorDirection(), pageRequest.getSize(), ipAddress, purpose,
+                    pageRequest.decodeFields()), usersSlice -> {
+                List<UserDecryptedDto> users = usersSlice.getContent();
+                String nextCursor = users.isEmpty() ? null : UserPageRequest.encodeCursor(users.get(users.size() - 1).getId());
+                return ResponseEntity.ok(new PageResponse<>(usersSlice, nextCursor));
+            });
+        }
+
         Pageable pageable = pageRequest.makePageRequest();
 
-        Page<UserDecryptedDto> usersPage = userService.getAllDecryptedUsers(pageable, ipAddress, purpose);
+        return respond(() -> userService.getAllDecryptedUsersAsync(pageable, ipAddress, purpose, pageRequest.decodeFields()),
+                usersPage -> ResponseEntity.ok(new PageResponse<>(usersPage)));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam("purpose") String purpose,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        String ipAddress = request.getRemoteAddr();
+        response.setContentType(APPLICATION_NDJSON.toString());
+
+        // 응답은 요청 스레드가 아닌 비동기 스레드에서 사용자를 읽는 대로 흘려보냅니다.
+        // 오래 걸리는 응답이므로 이 요청에만 긴 타임아웃(app.export.timeout-millis)을 적용합니다.
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            userExportService.exportDecryptedUsers(response.getOutputStream(), ipAddress, purpose);
+            response.flushBuffer();
+            return null;
+        });
+    }
 
-        PageResponse<UserDecryptedDto> response = new PageResponse<>(usersPage);
+    /**
+     * 조회 future를 응답 future로 바꿉니다. 요청 스레드는 DB 조회까지만 하고 future를 반환한 뒤 바로 풀로 돌아가며,
+     * 응답은 복호화(복호화 executor)와 감사로그 기록(I/O executor)이 끝난 뒤 비동기 디스패치로 나갑니다.
+     * 조회를 시작할 때 던진 예외와 future의 실패는 같은 방식으로 응답합니다.
+     */
+    private static <T> CompletableFuture<ResponseEntity<?>> respond(Supplier<CompletableFuture<T>> lookup,
+                                                                    Function<T, ResponseEntity<?>> toResponse) {
+        try {
+            return lookup.get().<ResponseEntity<?>>thenApply(toResponse).exceptionally(UserController::errorResponse);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.completedFuture(errorResponse(ex));
+        }
+    }
+
+    private static ResponseEntity<?> errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            return new ResponseEntity<>(Collections.singletonMap("error", cause.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return overloaded();
+        }
+        return new ResponseEntity<>(Collections.singletonMap("error", String.valueOf(cause.getMessage())), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * 복호화 executor의 큐가 가득 찼을 때의 응답. 기다리지 않고 바로 503으로 응답하여 잠시 후 재시도하게 합니다.
+     */
+    private static ResponseEntity<?> overloaded() {
+        return new ResponseEntity<>(
+                Collections.singletonMap("error", "복호화 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+                HttpStatus.SERVICE_UNAVAILABLE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.example.ariaapi.crypto;
+
+import java.util.Base64;
+
+/**
+ * 버전이 있는 바이너리 암호문 봉투(envelope) 형식.
+ * <p>
+ * 구조: [버전 1바이트][키 ID 1바이트][IV 12바이트][암호문 + 인증태그]
+ * </p>
+ * <p>
+ * 기존 "Base64(IV):Base64(암호문+인증태그)" 문자열과 달리 읽을 때 문자열 분리나 Base64 디코딩이 필요 없고,
+ * 같은 데이터를 약 1/3 작은 크기로 bytea 컬럼에 저장할 수 있습니다.
+ * </p>
+ */
+public final class AriaEnvelope {
+
+    public static final byte VERSION_1 = 1;
+
+    public static final int VERSION_OFFSET = 0;
+    public static final int KEY_ID_OFFSET = 1;
+    public static final int IV_OFFSET = 2;
+    public static final int HEADER_LENGTH = IV_OFFSET + AriaGcmCipherContext.GCM_IV_LENGTH;
+
+    private AriaEnvelope() {
+    }
+
+    /**
+     * 평문 길이에 해당하는 봉투 전체 크기를 계산합니다.
+     */
+    public static int envelopeLength(int plainTextLength) {
+        return HEADER_LENGTH + plainTextLength + AriaGcmCipherContext.GCM_TAG_LENGTH;
+    }
+
+    /**
+     * 봉투 헤더(버전, 키 ID, IV)를 기록합니다.
+     */
+    public static void writeHeader(byte[] envelope, int keyId, byte[] iv) {
+        envelope[VERSION_OFFSET] = VERSION_1;
+        envelope[KEY_ID_OFFSET] = (byte) keyId;
+        System.arraycopy(iv, 0, envelope, IV_OFFSET, AriaGcmCipherContext.GCM_IV_LENGTH);
+    }
+
+    public static int keyId(byte[] envelope) {
+        return envelope[KEY_ID_OFFSET] & 0xFF;
+    }
+
+    /**
+     * 봉투의 버전과 길이를 검증합니다.
+     * @throws IllegalArgumentException 지원하지 않는 버전이거나 길이가 헤더+태그보다 짧은 경우
+     */
+    public static void validate(byte[] envelope) {
+        if (envelope.length < HEADER_LENGTH + AriaGcmCipherContext.GCM_TAG_LENGTH) {
+            throw new IllegalArgumentException("Invalid encrypted envelope: too short (" + envelope.length + " bytes).");
+        }
+        if (envelope[VERSION_OFFSET] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported encrypted envelope version: " + envelope[VERSION_OFFSET]);
+        }
+    }
+
+    /**
+     * 기존 "Base64(IV):Base64(암호문+인증태그)" 문자열을 다시 암호화하지 않고 봉투 형식으로 옮겨 담습니다.
+     * @param legacy 기존 형식의 암호문
+     * @param keyId  기존 암호문을 만든 키의 ID
+     * @throws IllegalArgumentException 기존 형식이 올바르지 않은 경우
+     */
+    public static byte[] fromLegacy(String legacy, int keyId) {
+        int separator = legacy.indexOf(':');
+        if (separator < 0 || legacy.indexOf(':', separator + 1) >= 0) {
+            throw new IllegalArgumentException("Invalid encrypted data format. Expected IV:CiphertextWithTag.");
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] iv = decoder.decode(legacy.substring(0, separator));
+        byte[] cipherTextWithTag = decoder.decode(legacy.substring(separator + 1));
+        if (iv.length != AriaGcmCipherContext.GCM_IV_LENGTH) {
+            throw new IllegalArgumentException("Invalid IV length in legacy ciphertext: " + iv.length);
+        }
+
+        byte[] envelope = new byte[HEADER_LENGTH + cipherTextWithTag.length];
+        writeHeader(envelope, keyId, iv);
+        System.arraycopy(cipherTextWithTag, 0, envelope, HEADER_LENGTH, cipherTextWithTag.length);
+        return envelope;
+    }
+}
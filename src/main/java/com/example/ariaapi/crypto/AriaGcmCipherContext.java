@@ -0,0 +1,168 @@
+package com.example.ariaapi.crypto;
+
+import com.example.ariaapi.jfr.GcmInitEvent;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.engines.ARIAEngine;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.modes.GCMModeCipher;
+import org.bouncycastle.crypto.modes.gcm.GCMMultiplier;
+import org.bouncycastle.crypto.modes.gcm.Tables4kGCMMultiplier;
+import org.bouncycastle.crypto.modes.gcm.Tables64kGCMMultiplier;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 하나의 ARIA 키에 대한 GCM 암복호화 컨텍스트.
+ * <p>
+ * ARIA 키 스케줄과 GHASH 곱셈 테이블은 키가 바뀌지 않는 한 동일하므로,
+ * 키로 한 번 초기화된 {@link GCMModeCipher} 인스턴스를 풀에 보관해 두고 재사용합니다.
+ * 재사용 시에는 키 없이 IV만 지정하여 init 하므로 키 확장과 테이블 계산이 다시 일어나지 않습니다.
+ * </p>
+ * <p>
+ * 풀은 스레드에 묶이지 않는 lock-free 큐이므로 스레드 풀의 크기와 관계없이
+ * 동시에 사용 중인 개수만큼만 인스턴스가 만들어집니다.
+ * </p>
+ */
+public class AriaGcmCipherContext {
+
+    public static final int GCM_IV_LENGTH = 12;
+    public static final int GCM_TAG_LENGTH_BITS = 128;
+    public static final int GCM_TAG_LENGTH = GCM_TAG_LENGTH_BITS / 8;
+
+    private static final byte[] EMPTY_AAD = new byte[0]; // 암호화/복호화 모두 빈 AAD 사용
+
+    private final KeyParameter keyParameter;
+    private final boolean largeTables;
+    private final int maxIdle;
+
+    private final ConcurrentLinkedQueue<GCMModeCipher> idleCiphers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * @param secretKey   ARIA 비밀 키
+     * @param largeTables true이면 Tables64k(인스턴스당 64KB), false이면 Tables4k 곱셈기를 사용합니다.
+     * @param maxIdle     풀에 보관할 최대 유휴 인스턴스 수
+     */
+    public AriaGcmCipherContext(SecretKey secretKey, boolean largeTables, int maxIdle) {
+        byte[] keyBytes = secretKey.getEncoded();
+        try {
+            // KeyParameter는 전달받은 배열을 복사하므로, 원본 사본은 바로 지웁니다.
+            this.keyParameter = new KeyParameter(keyBytes);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+        this.largeTables = largeTables;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * 평문을 암호화하여 "암호문+인증태그" 바이트 배열을 반환합니다.
+     * @param iv 이번 암호화에 사용할 IV (GCM_IV_LENGTH 바이트)
+     */
+    public byte[] encrypt(byte[] iv, byte[] input, int offset, int length) throws InvalidCipherTextException {
+        GCMModeCipher cipher = borrow();
+        try {
+            cipher.init(true, new AEADParameters(null, GCM_TAG_LENGTH_BITS, iv, EMPTY_AAD));
+            byte[] output = new byte[cipher.getOutputSize(length)];
+            int processed = cipher.processBytes(input, offset, length, output, 0);
+            processed += cipher.doFinal(output, processed);
+            return processed == output.length ? output : Arrays.copyOf(output, processed);
+        } finally {
+            release(cipher);
+        }
+    }
+
+    /**
+     * 평문을 암호화하여 "암호문+인증태그"를 output의 outputOffset 위치부터 기록합니다.
+     * output에는 length + GCM_TAG_LENGTH 바이트의 공간이 있어야 합니다.
+     * @return 기록한 바이트 수
+     */
+    public int encryptInto(byte[] iv, byte[] input, int offset, int length, byte[] output, int outputOffset) throws InvalidCipherTextException {
+        GCMModeCipher cipher = borrow();
+        try {
+            cipher.init(true, new AEADParameters(null, GCM_TAG_LENGTH_BITS, iv, EMPTY_AAD));
+            int processed = cipher.processBytes(input, offset, length, output, outputOffset);
+            return processed + cipher.doFinal(output, outputOffset + processed);
+        } finally {
+            release(cipher);
+        }
+    }
+
+    /**
+     * "암호문+인증태그"를 복호화하여 평문 바이트 배열을 반환합니다.
+     * @throws InvalidCipherTextException 인증 태그 검증에 실패한 경우
+     */
+    public byte[] decrypt(byte[] iv, byte[] input, int offset, int length) throws InvalidCipherTextException {
+        GCMModeCipher cipher = borrow();
+        try {
+            cipher.init(false, new AEADParameters(null, GCM_TAG_LENGTH_BITS, iv, EMPTY_AAD));
+            byte[] output = new byte[cipher.getOutputSize(length)];
+            int processed = cipher.processBytes(input, offset, length, output, 0);
+            processed += cipher.doFinal(output, processed);
+            return processed == output.length ? output : Arrays.copyOf(output, processed);
+        } finally {
+            release(cipher);
+        }
+    }
+
+    /**
+     * "암호문+인증태그"를 복호화하여 평문을 output의 outputOffset 위치부터 기록합니다.
+     * output에는 length - GCM_TAG_LENGTH 바이트의 공간이 있어야 합니다.
+     * 인증 태그 검증에 실패하면 기록된 평문을 지우고 예외를 던집니다.
+     * @return 기록한 바이트 수
+     * @throws InvalidCipherTextException 인증 태그 검증에 실패한 경우
+     */
+    public int decryptInto(byte[] iv, byte[] input, int offset, int length, byte[] output, int outputOffset) throws InvalidCipherTextException {
+        GCMModeCipher cipher = borrow();
+        try {
+            cipher.init(false, new AEADParameters(null, GCM_TAG_LENGTH_BITS, iv, EMPTY_AAD));
+            int processed = cipher.processBytes(input, offset, length, output, outputOffset);
+            return processed + cipher.doFinal(output, outputOffset + processed);
+        } catch (InvalidCipherTextException | RuntimeException e) {
+            // 태그 검증 전에 이미 기록된 평문이 있을 수 있으므로 지웁니다.
+            int end = Math.min(output.length, outputOffset + Math.max(0, length - GCM_TAG_LENGTH));
+            if (end > outputOffset) {
+                Arrays.fill(output, outputOffset, end, (byte) 0);
+            }
+            throw e;
+        } finally {
+            release(cipher);
+        }
+    }
+
+    /**
+     * 풀에서 키가 설정된 cipher를 꺼냅니다. 비어 있으면 새로 만들어 키로 한 번 초기화합니다.
+     */
+    private GCMModeCipher borrow() {
+        GCMModeCipher cipher = idleCiphers.poll();
+        if (cipher != null) {
+            idleCount.decrementAndGet();
+            return cipher;
+        }
+        GcmInitEvent event = new GcmInitEvent();
+        event.begin();
+        GCMMultiplier multiplier = largeTables ? new Tables64kGCMMultiplier() : new Tables4kGCMMultiplier();
+        cipher = GCMBlockCipher.newInstance(new ARIAEngine(), multiplier);
+        // 최초 1회만 키를 지정하여 키 스케줄과 GHASH 테이블을 계산합니다. IV는 이후 init에서 매번 교체됩니다.
+        cipher.init(false, new AEADParameters(keyParameter, GCM_TAG_LENGTH_BITS, new byte[GCM_IV_LENGTH], EMPTY_AAD));
+        event.end();
+        if (event.shouldCommit()) {
+            event.largeTables = largeTables;
+            event.commit();
+        }
+        return cipher;
+    }
+
+    private void release(GCMModeCipher cipher) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idleCiphers.offer(cipher);
+        } else {
+            idleCount.decrementAndGet(); // 풀이 가득 차면 버립니다.
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ariaapi.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 키 ID(0~255)별 ARIA-GCM 암복호화 컨텍스트 목록.
+ * <p>
+ * 바이너리 봉투의 키 ID가 1바이트이므로 256칸 배열에 바로 담아, 복호화 시 키 ID로 O(1)에 컨텍스트를 찾습니다.
+ * 새로 암호화할 때는 등록된 키 중 ID가 가장 큰(가장 최근) 키를 사용합니다.
+ * 애플리케이션 시작 시 한 번 구성한 뒤에는 변경하지 않으므로 별도 동기화 없이 여러 스레드에서 읽습니다.
+ * </p>
+ */
+public class AriaKeyRegistry {
+
+    public static final int MAX_KEY_ID = 255;
+
+    private final AriaGcmCipherContext[] contexts = new AriaGcmCipherContext[MAX_KEY_ID + 1];
+    private int currentKeyId = -1;
+
+    /**
+     * 키 ID에 컨텍스트를 등록합니다.
+     * @throws IllegalArgumentException 키 ID가 범위를 벗어나거나 이미 등록된 경우
+     */
+    public void register(int keyId, AriaGcmCipherContext context) {
+        if (keyId < 0 || keyId > MAX_KEY_ID) {
+            throw new IllegalArgumentException("ARIA key id must be between 0 and " + MAX_KEY_ID + ": " + keyId);
+        }
+        if (contexts[keyId] != null) {
+            throw new IllegalArgumentException("Duplicate ARIA key id: " + keyId);
+        }
+        contexts[keyId] = context;
+        currentKeyId = Math.max(currentKeyId, keyId);
+    }
+
+    /**
+     * 키 ID에 해당하는 컨텍스트를 반환합니다.
+     * @throws IllegalArgumentException 등록되지 않은 키 ID인 경우
+     */
+    public AriaGcmCipherContext context(int keyId) {
+        AriaGcmCipherContext context = keyId >= 0 && keyId <= MAX_KEY_ID ? contexts[keyId] : null;
+        if (context == null) {
+            throw new IllegalArgumentException("Unknown ARIA key id in encrypted envelope: " + keyId);
+        }
+        return context;
+    }
+
+    public boolean contains(int keyId) {
+        return keyId >= 0 && keyId <= MAX_KEY_ID && contexts[keyId] != null;
+    }
+
+    /**
+     * 새로 암호화할 때 사용하는 가장 최근 키의 ID.
+     */
+    public int currentKeyId() {
+        if (currentKeyId < 0) {
+            throw new IllegalStateException("No ARIA key registered.");
+        }
+        return currentKeyId;
+    }
+
+    public AriaGcmCipherContext currentContext() {
+        return context(currentKeyId());
+    }
+
+    public List<Integer> keyIds() {
+        List<Integer> keyIds = new ArrayList<>();
+        for (int keyId = 0; keyId <= MAX_KEY_ID; keyId++) {
+            if (contexts[keyId] != null) {
+                keyIds.add(keyId);
+            }
+        }
+        return keyIds;
+    }
+}
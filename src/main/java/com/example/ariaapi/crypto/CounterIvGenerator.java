@@ -0,0 +1,205 @@
+package com.example.ariaapi.crypto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * NIST SP 800-38D 8.2.1의 결정적 구성으로 IV를 만드는 전략. (고정 필드 4바이트 + 호출 카운터 8바이트)
+ * <p>
+ * 고정 필드에는 인스턴스 ID를, 호출 필드에는 단조 증가 카운터를 big-endian으로 씁니다.
+ * 카운터는 {@link AtomicLong} 하나로 락 없이 증가시키며, 재시작 후에도 이미 쓴 값을 다시 쓰지 않도록
+ * block-size 단위로 구간을 미리 예약하여 파일에 fsync 한 뒤에만 그 구간의 값을 내줍니다.
+ * 재시작하면 마지막으로 예약한 구간의 끝부터 시작하므로 쓰지 못한 값은 건너뜁니다.
+ * </p>
+ * <p>
+ * 같은 키를 쓰는 인스턴스끼리 인스턴스 ID가 겹치면 IV가 중복되므로, 인스턴스마다 다른 ID와 예약 파일을 지정해야 합니다.
+ * 같은 예약 파일을 두 프로세스가 함께 쓰면 같은 구간을 예약하게 되므로, 생성기가 살아 있는 동안 예약 파일 옆의 ".lock" 파일에
+ * 배타적 파일 락을 잡아 두고, 이미 다른 프로세스(또는 같은 JVM의 다른 생성기)가 잡고 있으면 생성에 실패합니다.
+ * </p>
+ */
+public final class CounterIvGenerator implements IvGenerator, AutoCloseable {
+
+    private static final int FIXED_FIELD_LENGTH = 4;
+
+    private final int instanceId;
+    private final Path reservationFile;
+    private final long blockSize;
+
+    private final long start; // 이번 실행의 첫 카운터 값
+    private final AtomicLong counter;
+    private volatile long reservedLimit; // 이 값 미만의 카운터만 사용할 수 있음
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    private final FileChannel lockChannel; // 예약 파일 락을 유지하는 채널 (close 하면 락이 풀림)
+
+    /**
+     * 예약 파일에서 마지막 예약 구간을 읽고, 첫 구간을 예약합니다.
+     * @param instanceId      IV 고정 필드에 쓸 인스턴스 ID
+     * @param reservationFile 카운터 예약 위치를 기록할 파일 (인스턴스마다 따로)
+     * @param blockSize       한 번에 예약할 카운터 개수
+     * @throws IllegalStateException 예약 파일을 읽거나 쓸 수 없거나, 다른 프로세스가 같은 예약 파일을 사용 중인 경우
+     */
+    public CounterIvGenerator(int instanceId, Path reservationFile, long blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("IV counter block size must be positive: " + blockSize);
+        }
+        this.instanceId = instanceId;
+        this.reservationFile = reservationFile;
+        this.blockSize = blockSize;
+        this.lockChannel = lockReservationFile(reservationFile);
+        try {
+            this.start = readReservation();
+            if (start == -1L) {
+                throw new IllegalStateException("IV counter exhausted; rotate the ARIA key.");
+            }
+            this.counter = new AtomicLong(start);
+            this.reservedLimit = start;
+            reserve(start);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void nextIv(byte[] iv) {
+        long value = counter.getAndIncrement();
+        if (value == -1L || Long.compareUnsigned(value, start) < 0) {
+            // 2^64개를 모두 써서 카운터가 한 바퀴 돌았습니다. (실제로는 도달하지 않지만 IV 중복을 막기 위해 확인)
+            throw new IllegalStateException("IV counter exhausted; rotate the ARIA key.");
+        }
+        if (Long.compareUnsigned(value, reservedLimit) >= 0) {
+            reserve(value);
+        }
+        iv[0] = (byte) (instanceId >>> 24);
+        iv[1] = (byte) (instanceId >>> 16);
+        iv[2] = (byte) (instanceId >>> 8);
+        iv[3] = (byte) instanceId;
+        for (int i = AriaGcmCipherContext.GCM_IV_LENGTH - 1; i >= FIXED_FIELD_LENGTH; i--) {
+            iv[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    /**
+     * value를 포함하는 구간까지 예약하여 파일에 기록합니다. 기록이 끝날 때까지 그 구간의 값은 내주지 않습니다.
+     */
+    private void reserve(long value) {
+        reserveLock.lock();
+        try {
+            long limit = reservedLimit;
+            while (Long.compareUnsigned(value, limit) >= 0) {
+                long next = limit + blockSize;
+                if (Long.compareUnsigned(next, limit) < 0) {
+                    next = -1L; // 마지막 구간
+                }
+                writeReservation(next);
+                limit = next;
+            }
+            reservedLimit = limit;
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+
+    /**
+     * 예약 파일의 락을 풉니다. 이후에는 같은 예약 파일로 새 생성기를 만들 수 있습니다.
+     */
+    @Override
+    public void close() {
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("IV 카운터 예약 파일 락 해제 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 예약 파일 옆의 ".lock" 파일에 배타적 락을 잡습니다. 락은 반환한 채널을 닫을 때까지 유지됩니다.
+     */
+    private static FileChannel lockReservationFile(Path reservationFile) {
+        Path lockFile = reservationFile.resolveSibling(reservationFile.getFileName() + ".lock");
+        FileChannel channel = null;
+        try {
+            Path parent = lockFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IllegalStateException("IV counter reservation file is in use by another process: " + reservationFile
+                        + " (give each instance its own app.crypto.iv.instance-id and counter-file)");
+            }
+            return channel;
+        } catch (OverlappingFileLockException e) {
+            closeQuietly(channel);
+            throw new IllegalStateException("IV counter reservation file is already in use in this JVM: " + reservationFile, e);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new IllegalStateException("Cannot lock IV counter reservation file: " + reservationFile, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 락을 잡지 못한 채널이므로 닫기 실패는 무시합니다.
+        }
+    }
+
+    private long readReservation() {
+        try {
+            if (!Files.exists(reservationFile)) {
+                return 0L;
+            }
+            byte[] bytes = Files.readAllBytes(reservationFile);
+            if (bytes.length != Long.BYTES) {
+                throw new IllegalStateException("Corrupted IV counter reservation file: " + reservationFile);
+            }
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read IV counter reservation file: " + reservationFile, e);
+        }
+    }
+
+    /**
+     * 임시 파일에 기록하고 fsync 한 뒤 원자적으로 교체합니다. (기록 도중 종료되어도 이전 예약이 남음)
+     */
+    private void writeReservation(long limit) {
+        Path temp = reservationFile.resolveSibling(reservationFile.getFileName() + ".tmp");
+        try {
+            Path parent = reservationFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(limit);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, reservationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot reserve IV counter block in " + reservationFile, e);
+        }
+    }
+}
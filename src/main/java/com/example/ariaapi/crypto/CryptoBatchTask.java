@@ -0,0 +1,74 @@
+package com.example.ariaapi.crypto;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 대량 암복호화 작업을 Fork/Join 풀에서 구간 단위로 나누어 처리하는 작업.
+ * <p>
+ * 인덱스 구간 [from, to)를 leafSize 이하가 될 때까지 반으로 나누고, 인덱스마다 함수를 호출합니다.
+ * 결과를 어디에 기록할지는 함수가 정합니다. (리스트 결과 배열, {@link PlaintextArena}의 칸 등)
+ * </p>
+ * <p>
+ * 개별 항목에서 발생한 예외는 던지지 않고 failure에 처음 한 건만 기록하며, 이후 남은 항목은 건너뜁니다.
+ * 하위 작업이 예외로 끝나지 않으므로 {@code invokeAll}은 항상 모든 하위 작업이 끝난 뒤에 반환하고,
+ * 호출자는 풀 작업이 끝난 뒤 failure를 확인하여 예외를 던집니다. (실패 처리나 arena 반납 중에 다른 스레드가 계속 기록하지 않음)
+ * </p>
+ */
+public class CryptoBatchTask extends RecursiveAction {
+
+    private final IndexFunction function;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+    private final AtomicReference<Exception> failure;
+
+    public CryptoBatchTask(IndexFunction function, int from, int to, int leafSize, AtomicReference<Exception> failure) {
+        this.function = function;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= leafSize) {
+            applyRange(function, from, to, failure);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new CryptoBatchTask(function, from, mid, leafSize, failure),
+                new CryptoBatchTask(function, mid, to, leafSize, failure));
+    }
+
+    /**
+     * 현재 스레드에서 [from, to) 구간을 순서대로 처리합니다. (작은 배치의 인라인 처리에도 사용)
+     * 예외는 던지지 않고 failure에 기록하며, 이미 실패가 기록되어 있으면 남은 항목을 건너뜁니다.
+     */
+    public static void applyRange(IndexFunction function, int from, int to, AtomicReference<Exception> failure) {
+        for (int i = from; i < to && failure.get() == null; i++) {
+            try {
+                function.apply(i);
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * 예외를 던질 수 있는 인덱스 단위 암복호화 함수.
+     */
+    @FunctionalInterface
+    public interface IndexFunction {
+        void apply(int index) throws Exception;
+    }
+
+    /**
+     * 예외를 던질 수 있는 단일 항목 암복호화 함수.
+     */
+    @FunctionalInterface
+    public interface CryptoFunction<T, R> {
+        R apply(T input) throws Exception;
+    }
+}
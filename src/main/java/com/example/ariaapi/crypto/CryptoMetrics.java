@@ -0,0 +1,144 @@
+package com.example.ariaapi.crypto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 암복호화와 해시 계산 소요 시간을 기록하는 Micrometer 미터 모음.
+ * <p>
+ * HashingUtil처럼 정적 메서드에서도 쓸 수 있도록 Metrics.globalRegistry에 등록합니다.
+ * Spring Boot가 자동 구성한 레지스트리(Prometheus 등)는 기본 설정(management.metrics.use-global-registry=true)으로
+ * 전역 레지스트리에 추가되므로 /actuator/prometheus에 함께 노출됩니다.
+ * 레지스트리가 없는 JMH 벤치마크에서는 기록 비용이 거의 없습니다.
+ * </p>
+ * <p>
+ * 타이머는 연산마다 조회하지 않도록 (연산, 크기 구간)별로 미리 만들어 둡니다.
+ * 마이크로초 단위 연산이므로 히스토그램 범위를 1µs~1s로 잡아 p99를 구할 수 있게 합니다.
+ * </p>
+ */
+public final class CryptoMetrics {
+
+    /**
+     * 암복호화 연산 종류.
+     */
+    public enum Operation {
+        ENCRYPT("encrypt"),
+        DECRYPT("decrypt");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 해시 종류. (SHA256 = 기존 키 없는 해시, HMAC = 블라인드 인덱스)
+     */
+    public enum Hash {
+        SHA256("sha256"),
+        HMAC("hmac-sha256");
+
+        private final String tag;
+
+        Hash(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // 평문 바이트 수 구간의 상한과 태그 (마지막 구간은 상한 없음)
+    private static final int[] SIZE_LIMITS = {64, 256, 1024};
+    private static final String[] SIZE_TAGS = {"le_64", "le_256", "le_1k", "gt_1k"};
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(1);
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+    private static final Timer[][] CRYPTO_TIMERS = new Timer[Operation.values().length][SIZE_TAGS.length];
+    private static final Timer[] HASH_TIMERS = new Timer[Hash.values().length];
+
+    static {
+        for (Operation operation : Operation.values()) {
+            for (int bucket = 0; bucket < SIZE_TAGS.length; bucket++) {
+                CRYPTO_TIMERS[operation.ordinal()][bucket] = Timer.builder("aria.crypto")
+                        .description("ARIA-GCM 암복호화 소요 시간 (size: 평문 바이트 수 구간)")
+                        .tag("operation", operation.tag)
+                        .tag("size", SIZE_TAGS[bucket])
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED)
+                        .maximumExpectedValue(MAX_EXPECTED)
+                        .register(REGISTRY);
+            }
+        }
+        for (Hash hash : Hash.values()) {
+            HASH_TIMERS[hash.ordinal()] = Timer.builder("aria.hash")
+                    .description("검색용 해시 계산 소요 시간")
+                    .tag("algorithm", hash.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(REGISTRY);
+        }
+    }
+
+    private CryptoMetrics() {
+    }
+
+    /**
+     * 암복호화 한 건의 소요 시간을 기록합니다.
+     * @param plainTextLength 평문 바이트 수 (복호화는 암호문에서 태그를 뺀 길이)
+     * @param startNanos      연산 시작 시각 (System.nanoTime())
+     */
+    public static void recordCrypto(Operation operation, int plainTextLength, long startNanos) {
+        CRYPTO_TIMERS[operation.ordinal()][sizeBucket(plainTextLength)].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void recordHash(Hash hash, long startNanos) {
+        HASH_TIMERS[hash.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 암복호화 실패를 원인별로 셉니다. (실패는 드물므로 미리 만들어 두지 않고 그때 조회합니다.)
+     */
+    public static void recordFailure(Operation operation, Throwable error) {
+        Counter.builder("aria.crypto.failures")
+                .description("ARIA-GCM 암복호화 실패 횟수")
+                .tag("operation", operation.tag)
+                .tag("cause", cause(error))
+                .register(REGISTRY)
+                .increment();
+    }
+
+    /**
+     * 실패 원인을 태그 값으로 분류합니다.
+     * auth_tag: 인증 태그 검증 실패(변조 또는 키 불일치), unknown_key: 로드되지 않은 키 ID,
+     * format: 암호문 형식 오류(길이, 버전, Base64 등), 그 외는 예외 클래스 이름.
+     */
+    static String cause(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InvalidCipherTextException) {
+                return "auth_tag";
+            }
+        }
+        if (error instanceof IllegalArgumentException) {
+            String message = error.getMessage();
+            return message != null && message.startsWith("Unknown ARIA key id") ? "unknown_key" : "format";
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private static int sizeBucket(int length) {
+        for (int i = 0; i < SIZE_LIMITS.length; i++) {
+            if (length <= SIZE_LIMITS[i]) {
+                return i;
+            }
+        }
+        return SIZE_LIMITS.length;
+    }
+}
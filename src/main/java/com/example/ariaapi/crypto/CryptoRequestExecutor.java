@@ -0,0 +1,204 @@
+package com.example.ariaapi.crypto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 조회 API의 복호화 단계를 servlet 요청 스레드 대신 실행하는 전용 executor.
+ * <p>
+ * ARIA-GCM 복호화는 CPU를 쓰는 작업이므로 CPU 코어 수에 맞춘 고정 크기 스레드 풀과 크기가 정해진 큐에서 실행합니다.
+ * DB 조회는 요청 스레드에서 하고 복호화만 넘기며, 복호화 뒤의 감사로그 기록(WAL fsync 또는 DB 저장)은
+ * 별도의 I/O 스레드 풀({@link #afterOnIo})에서 하므로 코어 수만큼의 스레드가 I/O 대기로 묶이지 않습니다.
+ * 조회 API는 이 future를 그대로 반환하므로 요청 스레드도 복호화나 감사로그 기록을 기다리지 않습니다.
+ * 큐가 가득 차면 기다리지 않고 바로 {@link RejectedExecutionException}을 던지므로, 컨트롤러는 503으로 응답합니다.
+ * </p>
+ * <p>
+ * 단건 조회(SINGLE)와 목록/검색 조회(BULK)는 스레드와 큐를 따로 두어, 대량 복호화가 몰려도
+ * 단건 조회가 그 뒤에 줄 서지 않습니다. BULK 스레드 수는 기본값이 코어 수의 절반이라 두 lane을 합쳐도
+ * 코어 수를 크게 넘지 않습니다.
+ * </p>
+ */
+@Component
+public class CryptoRequestExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    // lane별 스레드 수 (0 이면 SINGLE은 CPU 코어 수, BULK는 코어 수의 절반)
+    @Value("${app.crypto.executor.single.threads:0}")
+    private int singleThreads;
+
+    @Value("${app.crypto.executor.single.queue-capacity:200}")
+    private int singleQueueCapacity;
+
+    @Value("${app.crypto.executor.bulk.threads:0}")
+    private int bulkThreads;
+
+    @Value("${app.crypto.executor.bulk.queue-capacity:20}")
+    private int bulkQueueCapacity;
+
+    // 복호화 뒤 감사로그를 기록하는 I/O 스레드 수와 큐 크기 (threads=0 이면 CPU 코어 수)
+    @Value("${app.crypto.executor.io.threads:0}")
+    private int ioThreads;
+
+    @Value("${app.crypto.executor.io.queue-capacity:1000}")
+    private int ioQueueCapacity;
+
+    private final Map<Lane, ThreadPoolExecutor> executors = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> rejectedCounters = new EnumMap<>(Lane.class);
+    private ThreadPoolExecutor ioExecutor;
+
+    public CryptoRequestExecutor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void start() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        createLane(Lane.SINGLE, singleThreads > 0 ? singleThreads : cores, singleQueueCapacity);
+        createLane(Lane.BULK, bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2), bulkQueueCapacity);
+
+        // 감사로그는 버릴 수 없으므로 큐가 가득 찼거나 종료 중이면 거절하지 않고 단계를 넘긴 스레드에서 직접 기록합니다.
+        // (CallerRunsPolicy는 종료 중에 작업을 버리므로 future가 끝나지 않게 됨)
+        int threads = ioThreads > 0 ? ioThreads : cores;
+        int queueCapacity = Math.max(1, ioQueueCapacity);
+        ioExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new LaneThreadFactory("crypto-io"),
+                (task, executor) -> task.run());
+        new ExecutorServiceMetrics(ioExecutor, "crypto.io", Tags.empty()).bindTo(meterRegistry);
+        System.out.println("감사로그 I/O executor 시작 (스레드: " + threads + ", 큐: " + queueCapacity + ")");
+    }
+
+    private void createLane(Lane lane, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new LaneThreadFactory("crypto-" + lane.tag),
+                new ThreadPoolExecutor.AbortPolicy());
+        executors.put(lane, executor);
+
+        // executor.pool.size, executor.queued, executor.completed 등 (name=crypto.single / crypto.bulk)
+        new ExecutorServiceMetrics(executor, "crypto." + lane.tag, Tags.empty()).bindTo(meterRegistry);
+        rejectedCounters.put(lane, Counter.builder("aria.crypto.executor.rejected")
+                .description("큐가 가득 차 거절된 복호화 요청 수")
+                .tag("lane", lane.tag)
+                .register(meterRegistry));
+        System.out.println("복호화 executor 시작 (lane: " + lane.tag + ", 스레드: " + threads + ", 큐: " + queueCapacity + ")");
+    }
+
+    /**
+     * 작업을 lane의 스레드 풀에서 실행합니다.
+     * @throws RejectedExecutionException lane의 큐가 가득 찬 경우 (대기하지 않음)
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executors.get(lane));
+        } catch (RejectedExecutionException e) {
+            rejectedCounters.get(lane).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 작업을 lane의 스레드 풀에서 실행하고 끝날 때까지 기다립니다. 작업이 던진 예외는 그대로 다시 던집니다.
+     * @throws RejectedExecutionException lane의 큐가 가득 찬 경우 (대기하지 않음)
+     */
+    public <T> T call(Lane lane, Supplier<T> task) {
+        try {
+            return submit(lane, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * stage가 끝나면 action(감사로그 기록 등 I/O 대기가 있는 후속 단계)을 I/O 스레드 풀에서 실행합니다.
+     * 반환된 future는 action이 끝난 뒤 stage와 같은 결과(또는 예외)로 완료되므로, 응답은 감사로그가 기록된 뒤에 나갑니다.
+     * action은 성공 시 (결과, null), 실패 시 (null, 예외)를 받습니다.
+     */
+    public <T> CompletableFuture<T> afterOnIo(CompletableFuture<T> stage, BiConsumer<? super T, ? super Throwable> action) {
+        return stage.whenCompleteAsync(action, ioExecutor);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor executor : executors.values()) {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            }
+            // 복호화가 끝난 요청의 감사로그까지 기록한 뒤 종료합니다.
+            if (ioExecutor != null) {
+                ioExecutor.shutdown();
+                if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    ioExecutor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 복호화 작업 종류별 실행 lane.
+     */
+    public enum Lane {
+        // id 하나를 조회하는 가벼운 요청
+        SINGLE("single"),
+        // 페이지/검색 결과 전체를 복호화하는 요청
+        BULK("bulk");
+
+        private final String tag;
+
+        Lane(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final class LaneThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        LaneThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
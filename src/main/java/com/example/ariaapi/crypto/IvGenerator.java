@@ -0,0 +1,16 @@
+package com.example.ariaapi.crypto;
+
+/**
+ * ARIA-GCM 암호화에 사용할 IV(GCM_IV_LENGTH 바이트)를 만드는 전략.
+ * <p>
+ * 같은 키로 같은 IV가 두 번 쓰이면 GCM의 기밀성과 무결성이 모두 깨지므로, 구현은 여러 스레드에서 동시에 호출되어도
+ * 중복되지 않는 IV를 만들어야 합니다. 구현 목록은 {@link IvStrategy}를 참고하세요.
+ * </p>
+ */
+public interface IvGenerator {
+
+    /**
+     * iv 배열(GCM_IV_LENGTH 바이트)을 새 IV로 채웁니다.
+     */
+    void nextIv(byte[] iv);
+}
@@ -0,0 +1,15 @@
+package com.example.ariaapi.crypto;
+
+/**
+ * IV 생성 방식 (app.crypto.iv.strategy).
+ */
+public enum IvStrategy {
+    /** SecureRandom 하나를 모든 스레드가 공유합니다. (비교용, 동시 암호화가 많으면 내부 락에서 경합) */
+    SHARED_DRBG,
+    /** DRBG 여러 개를 코어 수의 2배 이상으로 나누어 두고 무작위로 골라 씁니다. (기본값) */
+    STRIPED_DRBG,
+    /** 스레드마다 DRBG를 하나씩 둡니다. (플랫폼 스레드 풀에서 가장 빠름, 가상 스레드 모드에서는 요청마다 새로 시드) */
+    THREAD_LOCAL_DRBG,
+    /** 인스턴스 ID(4바이트) + 단조 증가 카운터(8바이트)의 결정적 IV. 재시작해도 중복되지 않도록 카운터 구간을 파일에 예약합니다. */
+    COUNTER
+}
@@ -0,0 +1,111 @@
+package com.example.ariaapi.crypto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 여러 암호문의 복호화 결과(UTF-8 평문)를 하나의 바이트 배열에 이어 담는 재사용 버퍼.
+ * <p>
+ * 봉투 길이에서 평문 길이를 미리 알 수 있으므로 {@link #prepare(List)}에서 칸(slot)마다 위치를 정해 두고,
+ * 복호화는 각 칸에 직접 기록합니다. 평문을 String이나 칸마다의 배열로 만들지 않고 이 배열에서 바로
+ * 응답으로 쓰기 위한 것으로, 칸마다 다른 스레드가 기록해도 되지만 한 번에 한 배치에만 사용해야 합니다.
+ * 평문이 담기므로 사용 후 반드시 {@link #wipe()}로 지웁니다.
+ * </p>
+ */
+public final class PlaintextArena {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    private static final int INITIAL_SLOTS = 256;
+
+    // 칸 상태: 0 이상이면 평문 길이
+    private static final int NULL_SLOT = -1;
+    private static final int FAILED_SLOT = -2;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_SLOTS];
+    private int[] lengths = new int[INITIAL_SLOTS];
+    private List<byte[]> envelopes = List.of();
+    private int used;
+
+    /**
+     * 암호문 목록에 맞게 칸을 나눕니다. null 암호문의 칸은 null로 표시됩니다.
+     * @param envelopes 바이너리 봉투 형식의 암호문 목록 (복호화가 끝날 때까지 변경하지 않아야 함)
+     */
+    public void prepare(List<byte[]> envelopes) {
+        int size = envelopes.size();
+        if (offsets.length < size) {
+            offsets = new int[Math.max(size, offsets.length * 2)];
+            lengths = new int[offsets.length];
+        }
+        int total = 0;
+        for (int slot = 0; slot < size; slot++) {
+            byte[] envelope = envelopes.get(slot);
+            offsets[slot] = total;
+            if (envelope == null) {
+                lengths[slot] = NULL_SLOT;
+                continue;
+            }
+            lengths[slot] = 0;
+            total += Math.max(0, envelope.length - AriaEnvelope.HEADER_LENGTH - AriaGcmCipherContext.GCM_TAG_LENGTH);
+        }
+        if (bytes.length < total) {
+            Arrays.fill(bytes, (byte) 0);
+            bytes = new byte[Math.max(total, bytes.length * 2)];
+        }
+        this.envelopes = envelopes;
+        this.used = total;
+    }
+
+    public int size() {
+        return envelopes.size();
+    }
+
+    public byte[] envelope(int slot) {
+        return envelopes.get(slot);
+    }
+
+    public byte[] array() {
+        return bytes;
+    }
+
+    public int offset(int slot) {
+        return offsets[slot];
+    }
+
+    public int length(int slot) {
+        return lengths[slot];
+    }
+
+    /**
+     * 칸에 기록한 평문 길이를 저장합니다.
+     */
+    public void setLength(int slot, int length) {
+        lengths[slot] = length;
+    }
+
+    public boolean isNull(int slot) {
+        return lengths[slot] == NULL_SLOT;
+    }
+
+    public boolean isFailed(int slot) {
+        return lengths[slot] == FAILED_SLOT;
+    }
+
+    /**
+     * 복호화에 실패한 칸으로 표시하고, 칸에 남아 있을 수 있는 평문을 지웁니다.
+     */
+    public void markFailed(int slot) {
+        int end = slot + 1 < size() ? offsets[slot + 1] : used;
+        Arrays.fill(bytes, offsets[slot], end, (byte) 0);
+        lengths[slot] = FAILED_SLOT;
+    }
+
+    /**
+     * 평문이 기록된 영역을 0으로 덮어쓰고 암호문 목록 참조를 놓습니다.
+     */
+    public void wipe() {
+        Arrays.fill(bytes, 0, used, (byte) 0);
+        used = 0;
+        envelopes = List.of();
+    }
+}
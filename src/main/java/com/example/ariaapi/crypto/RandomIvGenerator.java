@@ -0,0 +1,59 @@
+package com.example.ariaapi.crypto;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * SecureRandom(DRBG)으로 96비트 무작위 IV를 만드는 전략.
+ * <p>
+ * 어떤 SecureRandom을 쓸지만 다르며({@link IvStrategy#SHARED_DRBG}, {@link IvStrategy#STRIPED_DRBG},
+ * {@link IvStrategy#THREAD_LOCAL_DRBG}), 무작위 IV이므로 같은 키로는 2^32회 이하로 암호화해야 합니다. (NIST SP 800-38D 8.3)
+ * DRBG는 최초 시드 이후 파일 I/O 없이 CPU 연산만 하므로, 락을 잡은 채 가상 스레드가 블로킹되지 않습니다.
+ * </p>
+ */
+public final class RandomIvGenerator implements IvGenerator {
+
+    private final Supplier<SecureRandom> randoms;
+
+    private RandomIvGenerator(Supplier<SecureRandom> randoms) {
+        this.randoms = randoms;
+    }
+
+    public static RandomIvGenerator shared() {
+        SecureRandom random = newDrbg();
+        return new RandomIvGenerator(() -> random);
+    }
+
+    /**
+     * 코어 수의 2배 이상인 2의 거듭제곱 개수로 DRBG를 나누어 둡니다.
+     */
+    public static RandomIvGenerator striped() {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        SecureRandom[] randoms = new SecureRandom[stripes];
+        for (int i = 0; i < stripes; i++) {
+            randoms[i] = newDrbg();
+        }
+        int mask = stripes - 1;
+        return new RandomIvGenerator(() -> randoms[ThreadLocalRandom.current().nextInt() & mask]);
+    }
+
+    public static RandomIvGenerator perThread() {
+        ThreadLocal<SecureRandom> randoms = ThreadLocal.withInitial(RandomIvGenerator::newDrbg);
+        return new RandomIvGenerator(randoms::get);
+    }
+
+    @Override
+    public void nextIv(byte[] iv) {
+        randoms.get().nextBytes(iv);
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
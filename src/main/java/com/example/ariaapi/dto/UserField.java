@@ -0,0 +1,59 @@
+package com.example.ariaapi.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 조회 API의 fields 파라미터로 고를 수 있는 복호화 대상 필드.
+ * <p>
+ * 컨트롤러, 요청/응답 DTO, 서비스, 암호문 projection 조회가 함께 사용합니다.
+ * 엔티티 컬럼과의 대응은 repository 계층(UserCiphertextRepositoryImpl)에서 처리합니다.
+ * </p>
+ */
+public enum UserField {
+    USR_NM("usrNm"),
+    USR_TEL("usrTel"),
+    USR_BIRTH("usrBirth");
+
+    public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    // API 파라미터 이름 (UserDecryptedDto의 속성 이름과 같음)
+    private final String name;
+
+    UserField(String name) {
+        this.name = name;
+    }
+
+    public String paramName() {
+        return name;
+    }
+
+    /**
+     * "usrNm,usrTel" 형식의 fields 파라미터를 필드 집합으로 변환합니다. 비어 있으면 모든 필드를 반환합니다.
+     * @throws IllegalArgumentException 알 수 없는 필드 이름이 있는 경우
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            selected.add(fromParamName(name));
+        }
+        return selected.isEmpty() ? ALL : selected;
+    }
+
+    private static UserField fromParamName(String name) {
+        for (UserField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("유효하지 않은 필드입니다: " + name + " (usrNm, usrTel, usrBirth 중 선택)");
+    }
+}
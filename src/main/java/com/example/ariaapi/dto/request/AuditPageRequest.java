@@ -2,11 +2,15 @@ package com.example.ariaapi.dto.request;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import com.example.ariaapi.util.CursorCodec;
 import lombok.Data;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
 @Data
 public class AuditPageRequest {
 
@@ -20,6 +24,12 @@ public class AuditPageRequest {
     // 감사로그의 기본 정렬 기준은 생성 날짜 내림차순입니다.
     private String sort = "createdAt,desc";
 
+    // 커서(keyset) 모드: cursor=true 이거나 after 토큰이 있으면 OFFSET과 COUNT 없이 (createdAt, logId) 기준으로 조회합니다.
+    private boolean cursor = false;
+
+    // 이전 응답의 nextCursor 값 (첫 페이지는 비워 둠)
+    private String after;
+
     public void setSort(String sort) {
         if (sort != null && !sort.isEmpty()) {
             this.sort = sort;
@@ -29,6 +39,47 @@ public class AuditPageRequest {
     public Pageable makePageRequest() {
         String[] sortParams = this.sort.split(",");
         String sortField = sortParams[0];
+
+        return PageRequest.of(page - 1, size, Sort.by(parseDirection(sortParams), sortField));
+    }
+
+    public boolean isCursorMode() {
+        return cursor || (after != null && !after.isEmpty());
+    }
+
+    /**
+     * 커서 모드의 정렬 방향을 반환합니다. 커서 모드는 createdAt 정렬만 지원하며, 같은 시각은 logId로 구분합니다.
+     * @throws IllegalArgumentException createdAt이 아닌 필드로 정렬을 요청한 경우
+     */
+    public Sort.Direction cursorDirection() {
+        String[] sortParams = this.sort.split(",");
+        if (!"createdAt".equals(sortParams[0])) {
+            throw new IllegalArgumentException("커서 모드는 createdAt 정렬만 지원합니다.");
+        }
+        return parseDirection(sortParams);
+    }
+
+    /**
+     * after 토큰에서 이전 페이지 마지막 감사로그의 (createdAt, logId)를 꺼냅니다. 첫 페이지이면 null을 반환합니다.
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public Cursor decodeAfter() {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        String[] keys = CursorCodec.decode(after, 2);
+        try {
+            return new Cursor(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    public static String encodeCursor(LocalDateTime lastCreatedAt, Long lastLogId) {
+        return CursorCodec.encode(lastCreatedAt.toString(), String.valueOf(lastLogId));
+    }
+
+    private static Sort.Direction parseDirection(String[] sortParams) {
         Sort.Direction direction = Sort.Direction.DESC;
 
         if (sortParams.length > 1) {
@@ -38,7 +89,9 @@ public class AuditPageRequest {
                 // 잘못된 정렬 방향이 들어왔을 경우, 기본값 사용
             }
         }
+        return direction;
+    }
 
-        return PageRequest.of(page - 1, size, Sort.by(direction, sortField));
+    public record Cursor(LocalDateTime createdAt, Long logId) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,18 @@
+package com.example.ariaapi.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchLookupRequest {
+    @NotEmpty(message = "조회할 ID 목록이 비어 있습니다.")
+    private List<Long> ids; // 복호화하여 조회할 사용자 ID 목록 (최대 app.users.batch-lookup.max-ids개, 중복은 한 번만 조회)
+}
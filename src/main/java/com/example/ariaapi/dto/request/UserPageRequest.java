@@ -2,10 +2,14 @@ package com.example.ariaapi.dto.request;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import com.example.ariaapi.dto.UserField;
+import com.example.ariaapi.util.CursorCodec;
 import lombok.Data;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
+import java.util.Set;
+
 @Data
 public class UserPageRequest {
 
@@ -19,6 +23,15 @@ public class UserPageRequest {
     // 기본 정렬 기준은 'id' 필드의 내림차순입니다.
     private String sort = "id,desc";
 
+    // 커서(keyset) 모드: cursor=true 이거나 after 토큰이 있으면 OFFSET과 COUNT 없이 id 기준으로 다음 페이지를 조회합니다.
+    private boolean cursor = false;
+
+    // 이전 응답의 nextCursor 값 (첫 페이지는 비워 둠)
+    private String after;
+
+    // 복호화할 필드 (예: fields=usrNm,usrTel). 비워 두면 모든 필드를 복호화합니다.
+    private String fields;
+
     // 사용자의 정렬 요청을 처리하는 로직
     public void setSort(String sort) {
         if (sort != null && !sort.isEmpty()) {
@@ -34,6 +47,56 @@ public class UserPageRequest {
         // sort 파라미터를 쉼표(,)로 분리합니다.
         String[] sortParams = this.sort.split(",");
         String sortField = sortParams[0];
+
+        // PageRequest는 0-based이므로 page-1로 설정합니다.
+        return PageRequest.of(page - 1, size, Sort.by(parseDirection(sortParams), sortField));
+    }
+
+    public boolean isCursorMode() {
+        return cursor || (after != null && !after.isEmpty());
+    }
+
+    /**
+     * 커서 모드의 정렬 방향을 반환합니다. 커서 모드는 id 정렬만 지원합니다.
+     * @throws IllegalArgumentException id가 아닌 필드로 정렬을 요청한 경우
+     */
+    public Sort.Direction cursorDirection() {
+        String[] sortParams = this.sort.split(",");
+        if (!"id".equals(sortParams[0])) {
+            throw new IllegalArgumentException("커서 모드는 id 정렬만 지원합니다.");
+        }
+        return parseDirection(sortParams);
+    }
+
+    /**
+     * after 토큰에서 이전 페이지의 마지막 id를 꺼냅니다. 첫 페이지이면 null을 반환합니다.
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public Long decodeAfterId() {
+        if (after == null || after.isEmpty()) {
+            return null;
+        }
+        String[] keys = CursorCodec.decode(after, 1);
+        try {
+            return Long.parseLong(keys[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+
+    /**
+     * fields 파라미터를 복호화할 필드 집합으로 변환합니다.
+     * @throws IllegalArgumentException 알 수 없는 필드 이름이 있는 경우
+     */
+    public Set<UserField> decodeFields() {
+        return UserField.parse(fields);
+    }
+
+    public static String encodeCursor(Long lastId) {
+        return CursorCodec.encode(String.valueOf(lastId));
+    }
+
+    private static Sort.Direction parseDirection(String[] sortParams) {
         Sort.Direction direction = Sort.Direction.DESC; // 기본 정렬 방향은 내림차순(DESC)
 
         // 정렬 방향이 지정되었는지 확인합니다.
@@ -45,8 +108,6 @@ public class UserPageRequest {
                 // 잘못된 정렬 방향이 들어왔을 경우, 기본값인 내림차순(DESC)을 사용합니다.
             }
         }
-
-        // PageRequest는 0-based이므로 page-1로 설정합니다.
-        return PageRequest.of(page - 1, size, Sort.by(direction, sortField));
+        return direction;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.example.ariaapi.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class KeyRotationProgressDto {
+    private int targetKeyId; // 재암호화 대상(가장 최근) 키 ID
+    private boolean running;
+    private String status; // RUNNING, STOPPED, COMPLETED, FAILED (한 번도 실행하지 않았으면 null)
+    private long lastId; // 이 ID까지는 모두 처리됨
+    private Long maxId; // 현재 user_table의 최대 ID
+    private double percent; // lastId / maxId 기준 진행률
+    private long processed;
+    private long reEncrypted;
+    private long failed;
+    private double rowsPerSecond; // 이번 실행의 평균 처리 속도
+    private LocalDateTime updatedAt;
+}
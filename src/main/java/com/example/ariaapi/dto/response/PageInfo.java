@@ -1,12 +1,15 @@
 package com.example.ariaapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageInfo {
-    private int page;
+    private Integer page;
     private int size;
-    private int totalPage;
-    private long totalElements;
+    private Integer totalPage; // 커서 모드에서는 COUNT를 하지 않으므로 null
+    private Long totalElements; // 커서 모드에서는 COUNT를 하지 않으므로 null
     private int numberOfElements;
-}
\ No newline at end of file
+    private boolean hasNext;
+}
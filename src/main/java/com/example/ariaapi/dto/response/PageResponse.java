@@ -1,15 +1,19 @@
 package com.example.ariaapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
     private List<T> results;
     private PageInfo pageInfo;
+    private String nextCursor; // 커서 모드에서 다음 페이지 요청의 after 값 (마지막 페이지이면 null)
 
     public PageResponse(Page<T> page) {
         this.results = page.getContent();
@@ -19,5 +23,18 @@ public class PageResponse<T> {
         this.pageInfo.setTotalPage(page.getTotalPages());  // 총 페이지 개수
         this.pageInfo.setTotalElements(page.getTotalElements()); // 총 원소 개수
         this.pageInfo.setNumberOfElements(page.getNumberOfElements()); // 현재 페이지에서 원소 개수
+        this.pageInfo.setHasNext(page.hasNext());
     }
-}
\ No newline at end of file
+
+    /**
+     * 커서 모드 응답. 전체 개수와 페이지 번호 없이 다음 페이지 존재 여부와 커서만 담습니다.
+     */
+    public PageResponse(Slice<T> slice, String nextCursor) {
+        this.results = slice.getContent();
+        this.pageInfo = new PageInfo();
+        this.pageInfo.setSize(slice.getSize());
+        this.pageInfo.setNumberOfElements(slice.getNumberOfElements());
+        this.pageInfo.setHasNext(slice.hasNext());
+        this.nextCursor = slice.hasNext() ? nextCursor : null;
+    }
+}
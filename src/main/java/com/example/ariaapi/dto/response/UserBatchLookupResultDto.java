@@ -0,0 +1,21 @@
+package com.example.ariaapi.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchLookupResultDto {
+
+    public static final String FOUND = "FOUND";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String DECRYPT_FAILED = "DECRYPT_FAILED";
+
+    private Long id; // 요청한 사용자 ID
+    private String status; // FOUND, NOT_FOUND, DECRYPT_FAILED
+    private UserDecryptedDto user; // 복호화된 사용자 (FOUND일 때만, 그 외에는 null)
+}
@@ -0,0 +1,22 @@
+package com.example.ariaapi.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class UserImportProgressDto {
+    private String filePath; // 가져오는 파일의 절대 경로
+    private boolean running;
+    private String status; // RUNNING, STOPPED, COMPLETED, FAILED (한 번도 실행하지 않았으면 null)
+    private long fileSize;
+    private long byteOffset; // 이 위치 앞의 줄은 모두 커밋됨
+    private double percent; // byteOffset / fileSize 기준 진행률
+    private long lineCount;
+    private long imported;
+    private long skipped; // 이미 등록된 전화번호라 건너뛴 사용자 수
+    private long invalid; // 형식이 잘못되어 건너뛴 줄 수
+    private String error;
+    private double rowsPerSecond; // 이번 실행의 평균 저장 속도
+    private LocalDateTime updatedAt;
+}
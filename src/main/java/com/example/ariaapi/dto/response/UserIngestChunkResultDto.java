@@ -0,0 +1,21 @@
+package com.example.ariaapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIngestChunkResultDto {
+    private int chunk; // 묶음 번호 (0부터)
+    private long firstRow; // 묶음의 첫 행 번호 (요청 배열의 0부터 시작하는 위치)
+    private int rows; // 묶음의 행 수
+    private int inserted; // 커밋된 행 수 (실패 시 0)
+    private String idRanges; // 저장된 ID 구간 (실패 시 null)
+    private String error; // 실패 이유 (성공 시 null)
+}
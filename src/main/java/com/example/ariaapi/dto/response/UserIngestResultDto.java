@@ -0,0 +1,28 @@
+package com.example.ariaapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserIngestResultDto {
+    private long requested; // 요청한 사용자 수
+    private long inserted; // 저장된 사용자 수
+    private Long failed; // 저장하지 못한 사용자 수 (묶음 단위 커밋일 때만)
+    private String idRanges; // 저장된 사용자 ID 구간 목록 (예: "101-150,201-230")
+    private long elapsedMillis; // 처리 시간
+    private List<UserIngestChunkResultDto> chunks; // 묶음별 결과 (묶음 단위 커밋일 때만)
+    private String error; // 요청 본문을 끝까지 읽지 못한 경우 그 이유 (앞의 묶음은 저장됨)
+
+    public UserIngestResultDto(long requested, long inserted, String idRanges, long elapsedMillis) {
+        this(requested, inserted, null, idRanges, elapsedMillis, null, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.ariaapi.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpsertResultDto {
+    private int requested; // 요청한 사용자 수
+    private int inserted; // 새로 저장된 사용자 수
+    private int updated; // 같은 전화번호의 기존 사용자를 갱신한 수
+    private int skipped; // 같은 전화번호의 기존 사용자가 있어 건너뛴 수 (onConflict=skip)
+    private int duplicates; // 같은 요청 안에서 전화번호가 겹쳐 뒤쪽 행으로 대체된 수
+    private long elapsedMillis; // 처리 시간
+    private List<UserUpsertRowResultDto> rows; // 요청 순서대로의 행별 결과
+}
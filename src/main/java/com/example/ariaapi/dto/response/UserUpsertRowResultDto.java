@@ -0,0 +1,22 @@
+package com.example.ariaapi.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserUpsertRowResultDto {
+
+    public static final String INSERTED = "INSERTED";
+    public static final String UPDATED = "UPDATED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String DUPLICATE = "DUPLICATE";
+
+    private int row; // 요청 배열에서의 위치 (0부터)
+    private Long id; // 저장된 사용자 ID (SKIPPED, DUPLICATE이면 null)
+    private String status; // INSERTED, UPDATED, SKIPPED(기존 행 유지), DUPLICATE(같은 요청의 뒤쪽 행이 대신 저장됨)
+}
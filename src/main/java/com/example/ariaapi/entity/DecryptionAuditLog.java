@@ -8,34 +8,43 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "decryption_audit_log_table", schema = "public")
+@Table(name = "decryption_audit_log_table", schema = "public",
+        indexes = @Index(name = "idx_audit_created_at_log_id", columnList = "created_at, log_id")) // 커서 페이지네이션용
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class DecryptionAuditLog {
 
+    public static final int USER_ID_LENGTH = 100;
+    public static final int IP_ADDRESS_LENGTH = 45;
+    public static final int PURPOSE_LENGTH = 500;
+    public static final int TARGET_DATA_ID_LENGTH = 4000; // target_data_id 최대 길이 (db/migration/006)
+
+    public static final String ID_SEQUENCE = "decryption_audit_log_table_seq"; // db/migration/007
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_id_generator")
+    @SequenceGenerator(name = "audit_log_id_generator", sequenceName = ID_SEQUENCE, allocationSize = 50) // 배치 INSERT 가능
     @Column(name = "log_id")
     private Long logId;
 
-    @Column(name = "user_id", length = 100) // 복호화를 시도한 사용자 식별자
+    @Column(name = "user_id", length = USER_ID_LENGTH) // 복호화를 시도한 사용자 식별자
     private String userId; // 현재 로그인 시스템 없으므로, 조회된 User ID 또는 "SYSTEM" 등
 
     @Column(name = "decryption_time", nullable = false) // 복호화 수행 일시
     private LocalDateTime decryptionTime;
 
-    @Column(name = "ip_address", length = 45) // 복호화 요청한 IP (IPv4/IPv6 지원)
+    @Column(name = "ip_address", length = IP_ADDRESS_LENGTH) // 복호화 요청한 IP (IPv4/IPv6 지원)
     private String ipAddress;
 
-    @Column(name = "purpose", length = 500) // 복호화 목적 (예: "화면조회", "보고용")
+    @Column(name = "purpose", length = PURPOSE_LENGTH) // 복호화 목적 (예: "화면조회", "보고용")
     private String purpose;
 
     @Column(nullable = false) // 복호화 성공 여부
     private Boolean success;
 
-    @Column(name = "target_data_id", length = 100) // 어떤 데이터(레코드)를 복호화했는지 식별키 (복호화된 User의 ID)
+    @Column(name = "target_data_id", length = TARGET_DATA_ID_LENGTH) // 어떤 데이터(레코드)를 복호화했는지 식별키 (복호화된 User의 ID, 일괄 조회 시 ID 구간 목록)
     private String targetDataId;
 
     @Column(name = "created_at", nullable = false) // 로그 생성 시각 (JPA @PrePersist 또는 생성자에서 설정)
@@ -0,0 +1,56 @@
+package com.example.ariaapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 키 교체 재암호화 작업의 진행 위치. 대상 키 ID마다 한 행을 두고, 중단 후 다시 시작하면 last_id 다음부터 이어서 처리합니다.
+ */
+@Entity
+@Table(name = "key_rotation_checkpoint", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
+public class KeyRotationCheckpoint {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_STOPPED = "STOPPED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(name = "target_key_id") // 재암호화 대상(새) 키 ID
+    private Integer targetKeyId;
+
+    @Column(name = "last_id", nullable = false) // 이 ID까지는 모두 처리됨 (워커가 병렬로 처리해도 빈틈 없이 끝난 위치만 기록)
+    private Long lastId;
+
+    @Column(name = "processed", nullable = false) // 확인한 행 수
+    private Long processed;
+
+    @Column(name = "re_encrypted", nullable = false) // 다시 암호화한 행 수
+    private Long reEncrypted;
+
+    @Column(name = "failed", nullable = false) // 복호화 실패로 건너뛴 행 수
+    private Long failed;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public KeyRotationCheckpoint(Integer targetKeyId) {
+        this.targetKeyId = targetKeyId;
+        this.lastId = 0L;
+        this.processed = 0L;
+        this.reEncrypted = 0L;
+        this.failed = 0L;
+        this.status = STATUS_RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,20 +1,34 @@
 package com.example.ariaapi.entity;
 
+import com.example.ariaapi.cache.DecryptedUserCacheListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "user_table", schema = "public")
+@Table(name = "user_table", schema = "public", indexes = {
+        // 블라인드 인덱스 검색 + id 커서 페이지네이션용 (usr_tel_hash는 unique 제약의 인덱스를 사용)
+        @Index(name = "idx_user_nm_hash_id", columnList = "usr_nm_hash, id"),
+        @Index(name = "idx_user_birth_hash_id", columnList = "usr_birth_hash, id"),
+        @Index(name = "idx_user_nm_hash_bin_id", columnList = "usr_nm_hash_bin, id"),
+        @Index(name = "idx_user_birth_hash_bin_id", columnList = "usr_birth_hash_bin, id")
+})
+@EntityListeners(DecryptedUserCacheListener.class) // 저장/수정/삭제 시 복호화 캐시 무효화
 @Getter
 @Setter
 public class User {
 
+    public static final String ID_SEQUENCE = "user_table_seq"; // db/migration/007
+    public static final int ID_ALLOCATION_SIZE = 50; // 시퀀스 증가폭 (nextval 한 번에 id 50개)
+
+    // IDENTITY는 INSERT 후에야 id를 알 수 있어 Hibernate가 JDBC 배치를 끄므로, 50개씩 미리 받아 두는 시퀀스를 사용합니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_generator")
+    @SequenceGenerator(name = "user_id_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @Column(name = "usr_nm", nullable = false, length = 512)
+    // 기존 "Base64(IV):Base64(암호문+인증태그)" 문자열 형식 암호문 (마이그레이션 완료 후 null)
+    @Column(name = "usr_nm", length = 512)
     private String usrNm;
 
     @Column(name = "usr_tel", length = 512)
@@ -23,6 +37,16 @@ public class User {
     @Column(name = "usr_birth", length = 512)
     private String usrBirth;
 
+    // 바이너리 봉투 형식 암호문 (bytea) - [버전][키 ID][IV][암호문+인증태그]
+    @Column(name = "usr_nm_enc")
+    private byte[] usrNmEnc;
+
+    @Column(name = "usr_tel_enc")
+    private byte[] usrTelEnc;
+
+    @Column(name = "usr_birth_enc")
+    private byte[] usrBirthEnc;
+
     @Column(name = "usr_nm_hash", length = 64)
     private String usrNmHash;
 
@@ -32,4 +56,18 @@ public class User {
     @Column(name = "usr_birth_hash", length = 64)
     private String usrBirthHash;
 
+    // 32바이트 bytea 검색용 해시 (app.blind-index.storage=BINARY일 때 위 문자열 컬럼 대신 사용)
+    @Column(name = "usr_nm_hash_bin")
+    private byte[] usrNmHashBin;
+
+    @Column(name = "usr_tel_hash_bin", unique = true)
+    private byte[] usrTelHashBin;
+
+    @Column(name = "usr_birth_hash_bin")
+    private byte[] usrBirthHashBin;
+
+    // 검색용 해시 컬럼의 형식 (null 또는 0 = 키 없는 SHA-256, 1 = HMAC-SHA256 블라인드 인덱스)
+    @Column(name = "blind_index_version")
+    private Short blindIndexVersion;
+
 }
\ No newline at end of file
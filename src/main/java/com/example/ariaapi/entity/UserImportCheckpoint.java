@@ -0,0 +1,74 @@
+package com.example.ariaapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자 파일 가져오기 작업의 진행 위치. 파일 경로마다 한 행을 두고, 중단 후 다시 시작하면 byte_offset부터 이어서 읽습니다.
+ * 파일 크기나 수정 시각이 기록과 다르면 다른 파일로 보고 이어서 읽지 않습니다.
+ */
+@Entity
+@Table(name = "user_import_checkpoint", schema = "public")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserImportCheckpoint {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_STOPPED = "STOPPED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final int ERROR_LENGTH = 1000;
+
+    @Id
+    @Column(name = "file_path", length = 1000) // 가져오는 파일의 절대 경로
+    private String filePath;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "file_last_modified", nullable = false) // 파일 수정 시각 (epoch millis)
+    private Long fileLastModified;
+
+    @Column(name = "byte_offset", nullable = false) // 이 위치 앞의 줄은 모두 커밋됨
+    private Long byteOffset;
+
+    @Column(name = "line_count", nullable = false) // 처리한 줄 수 (헤더, 빈 줄 포함)
+    private Long lineCount;
+
+    @Column(name = "imported", nullable = false) // 저장한 사용자 수
+    private Long imported;
+
+    @Column(name = "skipped", nullable = false) // 이미 등록된 전화번호라 건너뛴 사용자 수
+    private Long skipped;
+
+    @Column(name = "invalid", nullable = false) // 형식이 잘못되어 건너뛴 줄 수
+    private Long invalid;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "error", length = ERROR_LENGTH) // 실패했거나 건너뛴 줄의 마지막 오류
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserImportCheckpoint(String filePath, long fileSize, long fileLastModified) {
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.fileLastModified = fileLastModified;
+        this.byteOffset = 0L;
+        this.lineCount = 0L;
+        this.imported = 0L;
+        this.skipped = 0L;
+        this.invalid = 0L;
+        this.status = STATUS_RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
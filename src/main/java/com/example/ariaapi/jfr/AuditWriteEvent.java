@@ -0,0 +1,25 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 감사로그 기록 요청 한 건 (호출 스레드가 기다린 구간).
+ */
+@Name("com.example.ariaapi.AuditWrite")
+@Label("Audit Write")
+@Description("감사로그 기록 요청")
+@Category({"ARIA API", "Audit"})
+@StackTrace(false)
+public class AuditWriteEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    @Description("wal(WAL fsync), async(큐 적재), sync(REQUIRES_NEW 트랜잭션으로 DB 직접 저장)")
+    public String path;
+
+    @Label("Success")
+    public boolean success;
+}
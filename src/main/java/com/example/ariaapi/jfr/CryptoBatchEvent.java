@@ -0,0 +1,31 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * encryptAll/decryptAll 한 번. (병렬 처리 여부와 건수)
+ */
+@Name("com.example.ariaapi.CryptoBatch")
+@Label("ARIA Crypto Batch")
+@Description("여러 건을 한 번에 처리한 ARIA-GCM 암복호화")
+@Category({"ARIA API", "Crypto"})
+@StackTrace(false)
+public class CryptoBatchEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Parallel")
+    @Description("Fork/Join 풀에서 나누어 처리했는지 여부")
+    public boolean parallel;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,37 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ARIA-GCM 암복호화 한 건. (IV 생성, GCM 초기화 이벤트가 이 구간 안에 중첩되어 기록됩니다.)
+ */
+@Name("com.example.ariaapi.Crypto")
+@Label("ARIA Crypto")
+@Description("ARIA-GCM 암복호화 한 건")
+@Category({"ARIA API", "Crypto"})
+@StackTrace(false)
+public class CryptoEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("encrypt 또는 decrypt")
+    public String operation;
+
+    @Label("Format")
+    @Description("envelope(바이너리 봉투) 또는 legacy(Base64 문자열)")
+    public String format;
+
+    @Label("Key Id")
+    public int keyId;
+
+    @Label("Plaintext Size")
+    @DataAmount
+    public int bytes;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,23 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 풀에 유휴 cipher가 없어 새 GCM cipher를 만들고 키 스케줄과 GHASH 테이블을 계산한 구간.
+ * 자주 보이면 app.crypto.gcm.max-idle-contexts가 동시 요청 수보다 작은 것입니다.
+ */
+@Name("com.example.ariaapi.GcmInit")
+@Label("GCM Cipher Init")
+@Description("새 GCM cipher 생성 및 키 초기화")
+@Category({"ARIA API", "Crypto"})
+@StackTrace(false)
+public class GcmInitEvent extends jdk.jfr.Event {
+
+    @Label("Large Tables")
+    @Description("Tables64k 곱셈기 사용 여부")
+    public boolean largeTables;
+}
@@ -0,0 +1,26 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 검색용 해시(SHA-256 또는 HMAC-SHA256 블라인드 인덱스) 계산 한 건.
+ */
+@Name("com.example.ariaapi.Hash")
+@Label("Search Hash")
+@Description("검색용 해시 계산")
+@Category({"ARIA API", "Crypto"})
+@StackTrace(false)
+public class HashEvent extends jdk.jfr.Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Input Size")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,23 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * SecureRandom으로 IV를 생성한 구간. 엔트로피 부족 등으로 SecureRandom이 멈추면 이 이벤트가 길어집니다.
+ */
+@Name("com.example.ariaapi.IvGeneration")
+@Label("IV Generation")
+@Description("SecureRandom IV 생성")
+@Category({"ARIA API", "Crypto"})
+@StackTrace(false)
+public class IvGenerationEvent extends jdk.jfr.Event {
+
+    @Label("IV Size")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,24 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserService에서 호출한 리포지토리 조회/저장 한 번.
+ */
+@Name("com.example.ariaapi.RepositoryQuery")
+@Label("Repository Query")
+@Description("사용자 리포지토리 조회/저장")
+@Category({"ARIA API", "Database"})
+@StackTrace(false)
+public class RepositoryQueryEvent extends jdk.jfr.Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Rows")
+    public int rows;
+}
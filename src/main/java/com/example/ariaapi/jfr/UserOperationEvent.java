@@ -0,0 +1,31 @@
+package com.example.ariaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserService 요청 한 건. 리포지토리 조회, 암복호화, 감사로그 기록 이벤트가 이 구간 안에 중첩되어 기록됩니다.
+ */
+@Name("com.example.ariaapi.UserOperation")
+@Label("User Operation")
+@Description("UserService 요청 처리")
+@Category({"ARIA API", "Service"})
+@StackTrace(false)
+public class UserOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Batch Size")
+    @Description("처리한 사용자 수")
+    public int batchSize;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Success")
+    public boolean success;
+}
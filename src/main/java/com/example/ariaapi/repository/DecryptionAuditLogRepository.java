@@ -1,9 +1,26 @@
 package com.example.ariaapi.repository;
 
 import com.example.ariaapi.entity.DecryptionAuditLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 @Repository
 public interface DecryptionAuditLogRepository extends JpaRepository<DecryptionAuditLog, Long> {
-}
\ No newline at end of file
+
+    // 커서(keyset) 페이지네이션: Slice로 반환하므로 COUNT 쿼리 없이 size+1건만 조회합니다.
+    Slice<DecryptionAuditLog> findAllBy(Pageable pageable);
+
+    // (createdAt, logId) < (:createdAt, :logId) - createdAt 범위 조건을 함께 두어 (created_at, log_id) 인덱스를 범위 스캔합니다.
+    @Query("select a from DecryptionAuditLog a where a.createdAt <= :createdAt and (a.createdAt < :createdAt or a.logId < :logId) order by a.createdAt desc, a.logId desc")
+    Slice<DecryptionAuditLog> findSliceBefore(@Param("createdAt") LocalDateTime createdAt, @Param("logId") Long logId, Pageable pageable);
+
+    // (createdAt, logId) > (:createdAt, :logId)
+    @Query("select a from DecryptionAuditLog a where a.createdAt >= :createdAt and (a.createdAt > :createdAt or a.logId > :logId) order by a.createdAt asc, a.logId asc")
+    Slice<DecryptionAuditLog> findSliceAfter(@Param("createdAt") LocalDateTime createdAt, @Param("logId") Long logId, Pageable pageable);
+}
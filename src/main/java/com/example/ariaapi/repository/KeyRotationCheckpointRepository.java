@@ -0,0 +1,9 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.entity.KeyRotationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KeyRotationCheckpointRepository extends JpaRepository<KeyRotationCheckpoint, Integer> {
+}
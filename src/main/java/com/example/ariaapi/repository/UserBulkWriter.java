@@ -0,0 +1,197 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.entity.User;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JPA 엔티티를 거치지 않고 user_table에 대량으로 쓰는 JDBC 저장소.
+ * <p>
+ * 대량 등록은 PostgreSQL COPY ... FROM STDIN (FORMAT binary)로 한 스트림에 흘려보내므로,
+ * 영속성 컨텍스트, 행마다의 INSERT 문, 엔티티 리스너 비용이 없습니다.
+ * id는 JPA 저장과 같은 시퀀스에서 미리 받아 두므로 두 경로가 섞여도 겹치지 않습니다.
+ * COPY는 새 id로만 INSERT 하므로 복호화 캐시({@link com.example.ariaapi.cache.DecryptedUserCache})에 지울 항목이 없지만,
+ * {@link #upsert(List, boolean, boolean)}로 기존 행을 갱신한 경우에는 호출하는 쪽에서 캐시를 무효화해야 합니다.
+ * </p>
+ */
+@Component
+public class UserBulkWriter {
+
+    static final String COPY_COLUMNS = "id, usr_nm_enc, usr_tel_enc, usr_birth_enc, "
+            + "usr_nm_hash, usr_tel_hash, usr_birth_hash, "
+            + "usr_nm_hash_bin, usr_tel_hash_bin, usr_birth_hash_bin, blind_index_version";
+
+    private static final String COPY_SQL =
+            "COPY public.user_table (" + COPY_COLUMNS + ") FROM STDIN (FORMAT binary)";
+
+    private static final int COPY_COLUMN_COUNT = 11;
+
+    // 기존 행을 갱신할 때 id와 충돌 키를 제외한 모든 컬럼을 새 값으로 바꾸고, 기존 문자열 형식 암호문은 비웁니다.
+    private static final String UPSERT_UPDATE_SET = "usr_nm = NULL, usr_tel = NULL, usr_birth = NULL, "
+            + "usr_nm_enc = EXCLUDED.usr_nm_enc, usr_tel_enc = EXCLUDED.usr_tel_enc, usr_birth_enc = EXCLUDED.usr_birth_enc, "
+            + "usr_nm_hash = EXCLUDED.usr_nm_hash, usr_tel_hash = EXCLUDED.usr_tel_hash, usr_birth_hash = EXCLUDED.usr_birth_hash, "
+            + "usr_nm_hash_bin = EXCLUDED.usr_nm_hash_bin, usr_tel_hash_bin = EXCLUDED.usr_tel_hash_bin, "
+            + "usr_birth_hash_bin = EXCLUDED.usr_birth_hash_bin, blind_index_version = EXCLUDED.blind_index_version";
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval('public." + User.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    // COPY 바이너리 헤더: 시그니처 11바이트 + 플래그 int32 + 헤더 확장 길이 int32
+    private static final byte[] COPY_HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0,
+            0, 0, 0, 0,
+            0, 0, 0, 0
+    };
+    private static final byte[] COPY_TRAILER = {(byte) 0xFF, (byte) 0xFF}; // 필드 수 -1
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public UserBulkWriter(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 시퀀스에서 id를 count개 받아 옵니다. nextval 한 번이 {@link User#ID_ALLOCATION_SIZE}개를 예약하므로
+     * 쿼리는 한 번이며, 마지막 구간에서 쓰지 않은 id는 버려집니다. (id 사이에 빈 번호가 생길 수 있음)
+     */
+    public long[] reserveIds(int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+        List<Long> highs = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, blocks);
+        int n = 0;
+        for (long high : highs) {
+            // Hibernate pooled 방식과 같이 받은 값 v에 대해 (v - 50, v] 구간을 사용합니다.
+            for (long id = Math.max(1, high - User.ID_ALLOCATION_SIZE + 1); id <= high && n < count; id++) {
+                ids[n++] = id;
+            }
+        }
+        if (n < count) {
+            // 시퀀스가 시작 직후라 구간이 짧았던 경우(첫 값 1) 나머지를 다시 받습니다.
+            long[] rest = reserveIds(count - n);
+            System.arraycopy(rest, 0, ids, n, rest.length);
+        }
+        return ids;
+    }
+
+    /**
+     * 전화번호 블라인드 인덱스(unique)를 키로 여러 사용자를 다중 행 INSERT ... ON CONFLICT 한 문장으로 저장합니다.
+     * 한 문장 안에 같은 전화번호가 두 번 있으면 안 되므로 호출하는 쪽에서 미리 중복을 제거해야 합니다.
+     * @param users             id(새 id)와 암호문/해시가 채워진 사용자 (영속화하지 않음)
+     * @param binaryIndex       true면 usr_tel_hash_bin, false면 usr_tel_hash를 충돌 키로 사용
+     * @param updateOnConflict  true면 기존 행을 새 값으로 갱신(DO UPDATE), false면 기존 행을 그대로 둠(DO NOTHING)
+     * @return 새로 INSERT 되었거나 갱신된 행 (DO NOTHING으로 건너뛴 행은 포함되지 않음)
+     */
+    public List<UpsertedRow> upsert(List<User> users, boolean binaryIndex, boolean updateOnConflict) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(256 + users.size() * (COPY_COLUMN_COUNT * 3 + 4))
+                .append("INSERT INTO public.user_table (").append(COPY_COLUMNS).append(") VALUES ");
+        for (int i = 0; i < users.size(); i++) {
+            sql.append(i == 0 ? "(" : ", (");
+            for (int c = 0; c < COPY_COLUMN_COUNT; c++) {
+                sql.append(c == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        }
+        sql.append(" ON CONFLICT (").append(binaryIndex ? "usr_tel_hash_bin" : "usr_tel_hash").append(')')
+                .append(updateOnConflict ? " DO UPDATE SET " + UPSERT_UPDATE_SET : " DO NOTHING")
+                // xmax가 0이면 이 문장이 새로 INSERT 한 행, 아니면 충돌하여 갱신된 기존 행입니다.
+                .append(" RETURNING id, usr_tel_hash, usr_tel_hash_bin, (xmax = 0) AS inserted");
+
+        return jdbcTemplate.query(sql.toString(), ps -> {
+            int index = 1;
+            for (User user : users) {
+                ps.setLong(index++, user.getId());
+                ps.setBytes(index++, user.getUsrNmEnc());
+                ps.setBytes(index++, user.getUsrTelEnc());
+                ps.setBytes(index++, user.getUsrBirthEnc());
+                ps.setString(index++, user.getUsrNmHash());
+                ps.setString(index++, user.getUsrTelHash());
+                ps.setString(index++, user.getUsrBirthHash());
+                ps.setBytes(index++, user.getUsrNmHashBin());
+                ps.setBytes(index++, user.getUsrTelHashBin());
+                ps.setBytes(index++, user.getUsrBirthHashBin());
+                if (user.getBlindIndexVersion() != null) {
+                    ps.setShort(index++, user.getBlindIndexVersion());
+                } else {
+                    ps.setNull(index++, Types.SMALLINT);
+                }
+            }
+        }, (rs, rowNum) -> new UpsertedRow(rs.getLong("id"), rs.getString("usr_tel_hash"),
+                rs.getBytes("usr_tel_hash_bin"), rs.getBoolean("inserted")));
+    }
+
+    /**
+     * 현재 트랜잭션의 커넥션으로 COPY를 시작합니다. 반드시 트랜잭션 안에서 호출해야 하며,
+     * 커밋 전까지 다른 세션에는 보이지 않습니다.
+     */
+    public CopySession beginCopy() throws SQLException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("COPY must run inside a transaction.");
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        CopySession session = new CopySession(copyIn);
+        session.write(COPY_HEADER, COPY_HEADER.length);
+        return session;
+    }
+
+    /**
+     * upsert 결과 행. inserted가 false면 같은 전화번호의 기존 행(id)이 갱신된 것입니다.
+     */
+    public record UpsertedRow(long id, String usrTelHash, byte[] usrTelHashBin, boolean inserted) {
+    }
+
+    /**
+     * 진행 중인 COPY 하나. {@link #finish()}로 끝내지 못하고 닫히면 COPY를 취소합니다.
+     */
+    public static final class CopySession implements AutoCloseable {
+
+        private final CopyIn copyIn;
+
+        private CopySession(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        public void write(UserCopyRows rows) throws SQLException {
+            write(rows.array(), rows.size());
+        }
+
+        private void write(byte[] bytes, int length) throws SQLException {
+            if (length > 0) {
+                copyIn.writeToCopy(bytes, 0, length);
+            }
+        }
+
+        /**
+         * @return 서버가 기록한 행 수
+         */
+        public long finish() throws SQLException {
+            write(COPY_TRAILER, COPY_TRAILER.length);
+            return copyIn.endCopy();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
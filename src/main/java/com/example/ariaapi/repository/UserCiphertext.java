@@ -0,0 +1,14 @@
+package com.example.ariaapi.repository;
+
+/**
+ * 복호화에 필요한 암호문 컬럼만 골라 읽은 사용자 projection.
+ * <p>
+ * 필드마다 바이너리 봉투 컬럼(usr_*_enc)과 아직 마이그레이션되지 않은 기존 문자열 암호문 컬럼(usr_*)을 함께 읽으며,
+ * 선택하지 않은 필드({@link com.example.ariaapi.dto.UserField})는 두 값 모두 null입니다. 검색용 해시 컬럼은 읽지 않습니다.
+ * </p>
+ */
+public record UserCiphertext(Long id,
+                             byte[] usrNmEnc, String usrNm,
+                             byte[] usrTelEnc, String usrTel,
+                             byte[] usrBirthEnc, String usrBirth) {
+}
@@ -0,0 +1,26 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.dto.UserField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 선택한 필드의 암호문 컬럼만 읽는 {@link UserRepository} 조회 fragment.
+ * 필드 조합이 요청마다 달라지므로 고정된 인터페이스 projection 대신 Criteria multiselect로 컬럼을 고릅니다.
+ */
+public interface UserCiphertextRepository {
+
+    Optional<UserCiphertext> findCiphertextById(Long id, Set<UserField> fields);
+
+    Page<UserCiphertext> findCiphertextPage(Set<UserField> fields, Pageable pageable);
+
+    /**
+     * 커서(keyset) 페이지네이션: afterId 다음 size건을 id 순서로 조회합니다. (afterId가 null이면 처음부터, COUNT 없음)
+     */
+    Slice<UserCiphertext> findCiphertextAfter(Long afterId, Sort.Direction direction, int size, Set<UserField> fields);
+}
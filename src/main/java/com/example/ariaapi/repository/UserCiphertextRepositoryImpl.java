@@ -0,0 +1,147 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.dto.UserField;
+import com.example.ariaapi.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link UserCiphertextRepository} 구현. 선택한 필드의 봉투/기존 암호문 컬럼과 id만 SELECT 합니다.
+ */
+@Transactional(readOnly = true)
+public class UserCiphertextRepositoryImpl implements UserCiphertextRepository {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<UserCiphertext> findCiphertextById(Long id, Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        query.multiselect(selections(root, fields)).where(cb.equal(root.get(ID), id));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(toCiphertext(rows.get(0), fields));
+    }
+
+    @Override
+    public Page<UserCiphertext> findCiphertextPage(Set<UserField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        query.multiselect(selections(root, fields)).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<UserCiphertext> content = toCiphertexts(typedQuery.getResultList(), fields);
+        // 마지막 페이지처럼 COUNT 없이 전체 개수를 알 수 있으면 COUNT 쿼리를 생략합니다.
+        return PageableExecutionUtils.getPage(content, pageable, this::countUsers);
+    }
+
+    @Override
+    public Slice<UserCiphertext> findCiphertextAfter(Long afterId, Sort.Direction direction, int size,
+                                                     Set<UserField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        query.multiselect(selections(root, fields))
+                .orderBy(direction.isAscending() ? cb.asc(root.get(ID)) : cb.desc(root.get(ID)));
+        if (afterId != null) {
+            Predicate keyset = direction.isAscending()
+                    ? cb.greaterThan(root.get(ID), afterId)
+                    : cb.lessThan(root.get(ID), afterId);
+            query.where(keyset);
+        }
+
+        // 다음 페이지가 있는지 알기 위해 size+1건을 조회합니다.
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        List<UserCiphertext> content = toCiphertexts(hasNext ? rows.subList(0, size) : rows, fields);
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(direction, ID)), hasNext);
+    }
+
+    private long countUsers() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(User.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> selections(Root<User> root, Set<UserField> fields) {
+        List<Selection<?>> selections = new ArrayList<>(1 + fields.size() * 2);
+        selections.add(root.get(ID).alias(ID));
+        for (UserField field : fields) {
+            selections.add(root.get(envelopeAttribute(field)).alias(envelopeAttribute(field)));
+            selections.add(root.get(legacyAttribute(field)).alias(legacyAttribute(field)));
+        }
+        return selections;
+    }
+
+    private static List<UserCiphertext> toCiphertexts(List<Tuple> rows, Set<UserField> fields) {
+        List<UserCiphertext> ciphertexts = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            ciphertexts.add(toCiphertext(row, fields));
+        }
+        return ciphertexts;
+    }
+
+    private static UserCiphertext toCiphertext(Tuple row, Set<UserField> fields) {
+        return new UserCiphertext(
+                row.get(ID, Long.class),
+                envelope(row, fields, UserField.USR_NM), legacy(row, fields, UserField.USR_NM),
+                envelope(row, fields, UserField.USR_TEL), legacy(row, fields, UserField.USR_TEL),
+                envelope(row, fields, UserField.USR_BIRTH), legacy(row, fields, UserField.USR_BIRTH));
+    }
+
+    private static byte[] envelope(Tuple row, Set<UserField> fields, UserField field) {
+        return fields.contains(field) ? row.get(envelopeAttribute(field), byte[].class) : null;
+    }
+
+    private static String legacy(Tuple row, Set<UserField> fields, UserField field) {
+        return fields.contains(field) ? row.get(legacyAttribute(field), String.class) : null;
+    }
+
+    // 필드별 엔티티 속성 이름 (바이너리 봉투 컬럼, 아직 마이그레이션되지 않은 기존 문자열 암호문 컬럼)
+    private static String envelopeAttribute(UserField field) {
+        return switch (field) {
+            case USR_NM -> "usrNmEnc";
+            case USR_TEL -> "usrTelEnc";
+            case USR_BIRTH -> "usrBirthEnc";
+        };
+    }
+
+    private static String legacyAttribute(UserField field) {
+        return switch (field) {
+            case USR_NM -> "usrNm";
+            case USR_TEL -> "usrTel";
+            case USR_BIRTH -> "usrBirth";
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * user_table 행을 PostgreSQL COPY 바이너리 형식으로 이어 담는 버퍼.
+ * <p>
+ * 행마다 [필드 수 int16] 뒤에 필드별 [길이 int32][값]을 기록하며, null은 길이 -1로 표시합니다.
+ * 컬럼 순서는 {@link UserBulkWriter#COPY_COLUMNS}와 같아야 합니다. 암호화/해시 단계에서 묶음마다 하나씩 만들어
+ * 인코딩까지 마친 뒤 {@link UserBulkWriter.CopySession}으로 그대로 흘려보냅니다. 여러 스레드가 동시에 사용하면 안 됩니다.
+ * </p>
+ */
+public final class UserCopyRows {
+
+    private static final short FIELD_COUNT = 11;
+    private static final int NULL_LENGTH = -1;
+
+    private byte[] buffer;
+    private int size;
+    private int rows;
+
+    public UserCopyRows(int expectedRows) {
+        // 암호문 3개(약 30~60바이트)와 해시 3개(32~44바이트)를 기준으로 한 행 약 300바이트
+        this.buffer = new byte[Math.max(256, expectedRows * 300)];
+    }
+
+    /**
+     * 암호화/해시가 채워진 사용자 한 명을 행으로 추가합니다. (엔티티는 값을 담는 용도로만 사용하며 영속화하지 않음)
+     */
+    public void add(long id, User user) {
+        putShort(FIELD_COUNT);
+        putLongField(id);
+        putBytesField(user.getUsrNmEnc());
+        putBytesField(user.getUsrTelEnc());
+        putBytesField(user.getUsrBirthEnc());
+        putTextField(user.getUsrNmHash());
+        putTextField(user.getUsrTelHash());
+        putTextField(user.getUsrBirthHash());
+        putBytesField(user.getUsrNmHashBin());
+        putBytesField(user.getUsrTelHashBin());
+        putBytesField(user.getUsrBirthHashBin());
+        putShortField(user.getBlindIndexVersion());
+        rows++;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    byte[] array() {
+        return buffer;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void putLongField(long value) {
+        putInt(Long.BYTES);
+        ensureCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void putShortField(Short value) {
+        if (value == null) {
+            putInt(NULL_LENGTH);
+            return;
+        }
+        putInt(Short.BYTES);
+        putShort(value);
+    }
+
+    private void putTextField(String value) {
+        putBytesField(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private void putBytesField(byte[] value) {
+        if (value == null) {
+            putInt(NULL_LENGTH);
+            return;
+        }
+        putInt(value.length);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    private void putShort(short value) {
+        ensureCapacity(Short.BYTES);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + additional, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ariaapi.repository;
+
+import com.example.ariaapi.entity.UserImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportCheckpointRepository extends JpaRepository<UserImportCheckpoint, String> {
+}
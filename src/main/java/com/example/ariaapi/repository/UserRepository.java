@@ -1,17 +1,86 @@
 package com.example.ariaapi.repository;
 
 import com.example.ariaapi.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserCiphertextRepository {
 
-    // 해시 값으로 사용자를 찾는 메소드들
-    Optional<User> findByUsrNmHash(String usrNmHash);
-    Optional<User> findByUsrTelHash(String usrTelHash);
-    Optional<User> findByUsrBirthHash(String usrBirthHash);
+    // 블라인드 인덱스 검색: 이름/생년월일은 여러 명이 일치할 수 있으므로 id 커서로 나누어 조회합니다.
+    // (마이그레이션 중에는 HMAC 인덱스와 기존 SHA-256 인덱스를 함께 넘깁니다.)
+    Slice<User> findByUsrNmHashInAndIdGreaterThan(Collection<String> usrNmHashes, Long id, Pageable pageable);
+    Slice<User> findByUsrTelHashInAndIdGreaterThan(Collection<String> usrTelHashes, Long id, Pageable pageable);
+    Slice<User> findByUsrBirthHashInAndIdGreaterThan(Collection<String> usrBirthHashes, Long id, Pageable pageable);
+
+    // app.blind-index.storage=BINARY: bytea 컬럼과, 아직 변환되지 않은 문자열 컬럼을 함께 조회합니다.
+    @Query("select u from User u where (u.usrNmHashBin in :binary or u.usrNmHash in :text) and u.id > :afterId")
+    Slice<User> findByNameIndexAfter(@Param("text") Collection<String> text, @Param("binary") Collection<byte[]> binary,
+                                     @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select u from User u where (u.usrTelHashBin in :binary or u.usrTelHash in :text) and u.id > :afterId")
+    Slice<User> findByTelIndexAfter(@Param("text") Collection<String> text, @Param("binary") Collection<byte[]> binary,
+                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select u from User u where (u.usrBirthHashBin in :binary or u.usrBirthHash in :text) and u.id > :afterId")
+    Slice<User> findByBirthIndexAfter(@Param("text") Collection<String> text, @Param("binary") Collection<byte[]> binary,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByUsrTelHashIn(Collection<String> usrTelHashes);
+
+    // 주어진 문자열 전화번호 인덱스 중 이미 저장된 값
+    @Query("select u.usrTelHash from User u where u.usrTelHash in :hashes")
+    List<String> findUsrTelHashesIn(@Param("hashes") Collection<String> hashes);
+
+    @Query("select count(u) > 0 from User u where u.usrTelHashBin in :binary or u.usrTelHash in :text")
+    boolean existsByTelIndex(@Param("text") Collection<String> text, @Param("binary") Collection<byte[]> binary);
+
+    // 블라인드 인덱스 마이그레이션 대상 (아직 HMAC 인덱스로 옮기지 않은 행)
+    @Query("select u from User u where u.id > :afterId and (u.blindIndexVersion is null or u.blindIndexVersion < :version) order by u.id asc")
+    List<User> findBlindIndexOutdatedAfter(@Param("afterId") Long afterId, @Param("version") short version, Pageable pageable);
+
+    // 키 교체 재암호화: afterId 이후 ID만 순서대로 조회합니다. (PK 인덱스만 읽음)
+    @Query("select u.id from User u where u.id > :afterId order by u.id asc")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
+
+    // 키 교체 재암호화: 재암호화하는 동안 온라인 수정이 끼어들어 덮어쓰지 않도록 행 잠금을 잡고 조회합니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id in :ids")
+    List<User> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 기존 문자열 형식 암호문이 남아 있는 사용자를 ID 순서로 afterId 이후부터 조회합니다. (바이너리 봉투 마이그레이션용)
+    @Query("select u from User u where u.id > :afterId and (u.usrNm is not null or u.usrTel is not null or u.usrBirth is not null) order by u.id asc")
+    List<User> findLegacyCiphertextAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 커서(keyset) 페이지네이션: Slice로 반환하므로 COUNT 쿼리 없이 size+1건만 조회합니다.
+    Slice<User> findAllBy(Pageable pageable);
+
+    Slice<User> findByIdLessThan(Long id, Pageable pageable);
+
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // 전체 사용자를 ID 순서로 읽는 전진 전용 커서 (읽기 전용 트랜잭션 안에서 사용, 고정 fetch size로 나누어 가져옴)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id asc")
+    Stream<User> streamAllOrderById();
 
 }
@@ -1,26 +1,43 @@
 package com.example.ariaapi.service;
 
+import com.example.ariaapi.crypto.AriaEnvelope;
+import com.example.ariaapi.crypto.AriaGcmCipherContext;
+import com.example.ariaapi.crypto.AriaKeyRegistry;
+import com.example.ariaapi.crypto.CryptoBatchTask;
+import com.example.ariaapi.crypto.CryptoMetrics;
+import com.example.ariaapi.crypto.CryptoMetrics.Operation;
+import com.example.ariaapi.crypto.CounterIvGenerator;
+import com.example.ariaapi.crypto.IvGenerator;
+import com.example.ariaapi.crypto.IvStrategy;
+import com.example.ariaapi.crypto.PlaintextArena;
+import com.example.ariaapi.crypto.RandomIvGenerator;
+import com.example.ariaapi.jfr.CryptoBatchEvent;
+import com.example.ariaapi.jfr.CryptoEvent;
+import com.example.ariaapi.jfr.IvGenerationEvent;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.bouncycastle.crypto.InvalidCipherTextException;
-import org.bouncycastle.crypto.engines.ARIAEngine;
-import org.bouncycastle.crypto.modes.GCMBlockCipher;
-import org.bouncycastle.crypto.modes.GCMModeCipher;
-import org.bouncycastle.crypto.params.AEADParameters;
-import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
 import java.security.KeyStore;
-import java.security.SecureRandom;
 import java.security.Security;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class AriaCryptoService {
@@ -41,17 +58,57 @@ public class AriaCryptoService {
     @Value("${app.keystore.key-password}")
     private String keyPasswordString; // String으로 주입받음
 
+    // true이면 GHASH에 Tables64k 곱셈기를 사용합니다 (cipher 인스턴스당 64KB, 기본값은 Tables4k)
+    @Value("${app.crypto.gcm.large-tables:false}")
+    private boolean gcmLargeTables;
+
+    // 재사용을 위해 보관할 최대 유휴 cipher 인스턴스 수
+    @Value("${app.crypto.gcm.max-idle-contexts:64}")
+    private int gcmMaxIdleContexts;
+
+    // app.keystore.key-alias 키의 ID (기존 문자열 형식 암호문도 이 키로 만들어진 것으로 간주)
+    @Value("${app.crypto.key-id:1}")
+    private int keyId;
+
+    // 키 교체 시 추가로 로드할 키 목록 "키ID:alias,키ID:alias" (새로 암호화할 때는 ID가 가장 큰 키를 사용)
+    @Value("${app.crypto.additional-keys:}")
+    private String additionalKeys;
+
     private final ResourceLoader resourceLoader;
     private SecretKey ariaSecretKey;
+    private AriaGcmCipherContext cipherContext; // app.keystore.key-alias 키의 암복호화 컨텍스트 (기존 문자열 형식용)
+    private final AriaKeyRegistry keyRegistry = new AriaKeyRegistry(); // 키 ID별 컨텍스트 (봉투 형식용)
+
+    private static final int GCM_IV_LENGTH = AriaGcmCipherContext.GCM_IV_LENGTH;
+
+    // IV 생성 방식 (SHARED_DRBG, STRIPED_DRBG, THREAD_LOCAL_DRBG, COUNTER)
+    @Value("${app.crypto.iv.strategy:STRIPED_DRBG}")
+    private IvStrategy ivStrategy;
+
+    // COUNTER 방식: IV 고정 필드에 쓸 인스턴스 ID (같은 키를 쓰는 인스턴스마다 달라야 함)와 카운터 예약 파일/구간 크기
+    @Value("${app.crypto.iv.instance-id:-1}")
+    private long ivInstanceId;
+
+    @Value("${app.crypto.iv.counter-file:./iv-counter/instance.ctr}")
+    private String ivCounterFile;
+
+    @Value("${app.crypto.iv.counter-block-size:1000000}")
+    private long ivCounterBlockSize;
 
-    private static final int GCM_IV_LENGTH = 12;
-    private static final int GCM_TAG_LENGTH_BITS = 128;
+    // 시작 시(@PostConstruct) app.crypto.iv.strategy에 맞게 한 번만 만듭니다.
+    private IvGenerator ivGenerator;
 
-    private final SecureRandom secureRandom;
+    // 대량 암복호화(encryptAll/decryptAll)에 사용하는 전용 Fork/Join 풀과 병렬 처리 기준 건수
+    private final ForkJoinPool cryptoPool;
+    private final int parallelThreshold;
 
-    public AriaCryptoService(ResourceLoader resourceLoader) {
+    public AriaCryptoService(ResourceLoader resourceLoader,
+                             @Value("${app.crypto.bulk.parallelism:0}") int parallelism,
+                             @Value("${app.crypto.bulk.parallel-threshold:256}") int parallelThreshold) {
         this.resourceLoader = resourceLoader;
-        this.secureRandom = new SecureRandom();
+        // parallelism이 0 이하이면 사용 가능한 코어 수만큼 워커를 둡니다.
+        this.cryptoPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
 
         // Bouncy Castle 프로바이더 등록 (애플리케이션 시작 시 한 번만 실행)
         if (Security.getProvider("BC") == null) {
@@ -60,6 +117,21 @@ public class AriaCryptoService {
         }
     }
 
+    /**
+     * KeyStore 없이 주어진 키로 동작하는 인스턴스를 만듭니다. (JMH 벤치마크 및 테스트 전용)
+     * @param secretKey ARIA 비밀 키
+     * @param keyId     바이너리 봉투에 기록할 키 ID
+     */
+    static AriaCryptoService withKey(SecretKey secretKey, int keyId) {
+        AriaCryptoService service = new AriaCryptoService(new DefaultResourceLoader(), 0, 256);
+        service.keyId = keyId;
+        service.ariaSecretKey = secretKey;
+        service.ivGenerator = RandomIvGenerator.striped();
+        service.cipherContext = new AriaGcmCipherContext(secretKey, false, 64);
+        service.keyRegistry.register(keyId, service.cipherContext);
+        return service;
+    }
+
     /**
      * KeyStore에서 ARIA 비밀 키를 로드합니다.
      * 이 메소드는 Spring에 의해 모든 @Value 필드가 주입된 후 @PostConstruct에 의해 자동으로 호출됩니다.
@@ -67,6 +139,49 @@ public class AriaCryptoService {
      */
     @PostConstruct // <-- 이 어노테이션에 의해 자동으로 호출됩니다.
     private void loadAriaKeyFromKeyStore() {
+        this.ivGenerator = createIvGenerator();
+        try {
+            this.ariaSecretKey = loadAriaKey(keyAlias);
+            this.cipherContext = new AriaGcmCipherContext(this.ariaSecretKey, gcmLargeTables, gcmMaxIdleContexts);
+            keyRegistry.register(keyId, cipherContext);
+
+            // 키 교체용 추가 키: "2:myAriaKey2,3:myAriaKey3"
+            if (additionalKeys != null && !additionalKeys.isBlank()) {
+                for (String entry : additionalKeys.split(",")) {
+                    String[] parts = entry.trim().split(":");
+                    if (parts.length != 2) {
+                        throw new IllegalStateException("Invalid app.crypto.additional-keys entry (expected keyId:alias): " + entry);
+                    }
+                    SecretKey additionalKey = loadAriaKey(parts[1].trim());
+                    keyRegistry.register(Integer.parseInt(parts[0].trim()), new AriaGcmCipherContext(additionalKey, gcmLargeTables, gcmMaxIdleContexts));
+                }
+            }
+
+            System.out.println("ARIA Key loaded successfully from KeyStore. Key ids: " + keyRegistry.keyIds()
+                    + ", write key id: " + keyRegistry.currentKeyId() + ", Server Port Check: " + serverPortCheck); // 디버깅용 출력
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load ARIA key from KeyStore: " + e.getMessage(), e);
+        }
+    }
+
+    private SecretKey loadAriaKey(String alias) throws Exception {
+        SecretKey secretKey = loadSecretKey(alias);
+        if (!secretKey.getAlgorithm().equalsIgnoreCase("ARIA")) {
+            throw new IllegalStateException("Loaded key is not an ARIA key: " + secretKey.getAlgorithm() + " (alias: " + alias + ")");
+        }
+        if (secretKey.getEncoded().length * 8 != 192) {
+            System.err.println("Warning: ARIA key size is not 192 bits. Actual: " + (secretKey.getEncoded().length * 8) + " bits. (alias: " + alias + ")");
+        }
+        return secretKey;
+    }
+
+    /**
+     * 설정된 KeyStore에서 주어진 alias의 비밀 키를 읽습니다. (키 비밀번호는 app.keystore.key-password 사용)
+     * @param alias KeyStore 안의 키 alias
+     * @return 비밀 키
+     * @throws IllegalStateException 해당 alias의 키가 없는 경우
+     */
+    SecretKey loadSecretKey(String alias) throws Exception {
         char[] keyStorePassword = null;
         char[] keyPassword = null;
 
@@ -81,23 +196,12 @@ public class AriaCryptoService {
                 ks.load(is, keyStorePassword);
             }
 
-            KeyStore.SecretKeyEntry skEntry = (KeyStore.SecretKeyEntry) ks.getEntry(keyAlias, new KeyStore.PasswordProtection(keyPassword));
+            KeyStore.SecretKeyEntry skEntry = (KeyStore.SecretKeyEntry) ks.getEntry(alias, new KeyStore.PasswordProtection(keyPassword));
 
             if (skEntry == null) {
-                throw new IllegalStateException("ARIA Key not found in KeyStore with alias: " + keyAlias);
-            }
-            this.ariaSecretKey = skEntry.getSecretKey();
-
-            if (!this.ariaSecretKey.getAlgorithm().equalsIgnoreCase("ARIA")) {
-                throw new IllegalStateException("Loaded key is not an ARIA key: " + this.ariaSecretKey.getAlgorithm());
-            }
-            if (this.ariaSecretKey.getEncoded().length * 8 != 192) {
-                System.err.println("Warning: ARIA key size is not 192 bits. Actual: " + (this.ariaSecretKey.getEncoded().length * 8) + " bits.");
+                throw new IllegalStateException("Key not found in KeyStore with alias: " + alias);
             }
-
-            System.out.println("ARIA Key loaded successfully from KeyStore. Server Port Check: " + serverPortCheck); // 디버깅용 출력
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load ARIA key from KeyStore: " + e.getMessage(), e);
+            return skEntry.getSecretKey();
         } finally {
             // 보안을 위해 char[] 배열은 사용 후 명시적으로 지웁니다.
             if (keyStorePassword != null) Arrays.fill(keyStorePassword, '\0');
@@ -105,6 +209,26 @@ public class AriaCryptoService {
         }
     }
 
+    /**
+     * ARIA 키에서 용도별 하위 키를 유도합니다. (HMAC-SHA256(ARIA 키, label))
+     * 원본 ARIA 키를 다른 컴포넌트에 넘기지 않고, 용도마다 서로 다른 키를 쓰기 위해 사용합니다.
+     * 키를 교체해도 유도 결과가 바뀌지 않도록 항상 app.keystore.key-alias 키에서 유도합니다.
+     * @param label 용도를 구분하는 문자열 (예: "blind-index-v1")
+     * @return 32바이트 하위 키 (사용 후 호출자가 지워야 함)
+     */
+    byte[] deriveSubKey(String label) {
+        byte[] keyBytes = ariaSecretKey.getEncoded();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keyBytes, "HmacSHA256"));
+            return mac.doFinal(label.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive sub key: " + e.getMessage(), e);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
     /**
      * 평문을 ARIA GCM 방식으로 암호화하고 Base64로 인코딩하여 반환합니다.
      * 반환되는 문자열은 "Base64(IV):Base64(암호문+인증태그)" 형식입니다.
@@ -113,39 +237,28 @@ public class AriaCryptoService {
      * @throws Exception 암호화 중 오류 발생 시
      */
     public String encrypt(String plainText) throws Exception {
-        byte[] keyBytes = ariaSecretKey.getEncoded();
-        byte[] iv = generateRandomIvBytes();
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] iv = generateIvBytes();
         byte[] messageBytes = plainText.getBytes(StandardCharsets.UTF_8);
 
-        // AAD (Associated Data) - 필요에 따라 여기에 실제 데이터를 넣을 수 있습니다.
-        // 예를 들어, 요청 ID, 사용자 ID 등 암호화되지 않지만 무결성 검증에 포함될 데이터
-        // 여기서는 예시를 위해 빈 바이트 배열을 사용합니다.
-        byte[] aad = new byte[0]; // 비어있는 AAD
-
-        GCMModeCipher cipher = GCMBlockCipher.newInstance(new ARIAEngine());
-
-        // 초기화 (암호화 모드, 키, IV, AAD)
-        cipher.init(true, new AEADParameters(new KeyParameter(keyBytes), GCM_TAG_LENGTH_BITS, iv, aad));
-
-        // 암호화된 데이터 + 인증 태그를 담을 배열 크기
-        byte[] encryptedAndTaggedData = new byte[cipher.getOutputSize(messageBytes.length)];
-
-        // 데이터 처리
-        int processedBytes = cipher.processBytes(messageBytes, 0, messageBytes.length, encryptedAndTaggedData, 0);
-
+        byte[] encryptedAndTaggedData;
         try {
-            // 최종 블록 처리 및 인증 태그 생성
-            processedBytes += cipher.doFinal(encryptedAndTaggedData, processedBytes);
+            // 키 스케줄과 GHASH 테이블이 준비된 컨텍스트를 재사용하여 암호화 + 인증 태그 생성
+            encryptedAndTaggedData = cipherContext.encrypt(iv, messageBytes, 0, messageBytes.length);
         } catch (InvalidCipherTextException e) {
+            CryptoMetrics.recordFailure(Operation.ENCRYPT, e);
+            commitCryptoEvent(event, "encrypt", "legacy", keyId, messageBytes.length, false);
             throw new Exception("ARIA GCM authentication tag generation failed: " + e.getMessage(), e);
         }
 
-        // 실제 암호화된 데이터 + 태그 길이만큼 잘라 반환
-        byte[] finalEncryptedData = Arrays.copyOfRange(encryptedAndTaggedData, 0, processedBytes);
-
         // IV와 암호화된 데이터를 Base64로 인코딩하여 결합 후 반환
-        return Base64.getEncoder().encodeToString(iv) + ":" +
-                Base64.getEncoder().encodeToString(finalEncryptedData);
+        String combined = Base64.getEncoder().encodeToString(iv) + ":" +
+                Base64.getEncoder().encodeToString(encryptedAndTaggedData);
+        CryptoMetrics.recordCrypto(Operation.ENCRYPT, messageBytes.length, start);
+        commitCryptoEvent(event, "encrypt", "legacy", keyId, messageBytes.length, true);
+        return combined;
     }
 
     /**
@@ -155,50 +268,293 @@ public class AriaCryptoService {
      * @throws Exception 복호화 중 오류 발생 시 (인증 실패 포함)
      */
     public String decrypt(String encryptedCombinedData) throws Exception {
-        byte[] keyBytes = ariaSecretKey.getEncoded();
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] plainBytes;
+        try {
+            // 저장된 데이터에서 IV와 암호문+태그 분리
+            String[] parts = encryptedCombinedData.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid encrypted data format. Expected IV:CiphertextWithTag.");
+            }
+            byte[] iv = Base64.getDecoder().decode(parts[0]);
+            byte[] cipherTextWithTag = Base64.getDecoder().decode(parts[1]);
+
+            try {
+                // 복호화 및 인증 태그 검증
+                plainBytes = cipherContext.decrypt(iv, cipherTextWithTag, 0, cipherTextWithTag.length);
+            } catch (InvalidCipherTextException e) {
+                // 이 예외는 암호문이 변조되었거나 키/IV/AAD가 일치하지 않아 인증 태그 검증에 실패했을 때 발생
+                throw new Exception("ARIA GCM authentication tag verification failed (Ciphertext might be tampered or keys/IV/AAD incorrect).", e);
+            }
+        } catch (Exception e) {
+            CryptoMetrics.recordFailure(Operation.DECRYPT, e);
+            commitCryptoEvent(event, "decrypt", "legacy", keyId, 0, false);
+            throw e;
+        }
+
+        CryptoMetrics.recordCrypto(Operation.DECRYPT, plainBytes.length, start);
+        commitCryptoEvent(event, "decrypt", "legacy", keyId, plainBytes.length, true);
+        return new String(plainBytes, StandardCharsets.UTF_8);
+    }
 
-        // 저장된 데이터에서 IV와 암호문+태그 분리
-        String[] parts = encryptedCombinedData.split(":");
-        if (parts.length != 2) {
-            throw new IllegalArgumentException("Invalid encrypted data format. Expected IV:CiphertextWithTag.");
+    /**
+     * 평문을 ARIA GCM 방식으로 암호화하여 바이너리 봉투 형식으로 반환합니다.
+     * 반환되는 배열은 [버전][키 ID][IV][암호문+인증태그] 형식입니다. ({@link AriaEnvelope} 참고)
+     * @param plainText 암호화할 원문
+     * @return 바이너리 봉투 형식의 암호문
+     * @throws Exception 암호화 중 오류 발생 시
+     */
+    public byte[] encryptToEnvelope(String plainText) throws Exception {
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] iv = generateIvBytes();
+        byte[] messageBytes = plainText.getBytes(StandardCharsets.UTF_8);
+
+        // 헤더와 암호문+태그를 한 배열에 바로 기록하여 중간 복사를 없앱니다.
+        // 새로 암호화할 때는 항상 가장 최근 키를 사용합니다.
+        int writeKeyId = keyRegistry.currentKeyId();
+        byte[] envelope = new byte[AriaEnvelope.envelopeLength(messageBytes.length)];
+        AriaEnvelope.writeHeader(envelope, writeKeyId, iv);
+        try {
+            keyRegistry.context(writeKeyId).encryptInto(iv, messageBytes, 0, messageBytes.length, envelope, AriaEnvelope.HEADER_LENGTH);
+        } catch (InvalidCipherTextException e) {
+            CryptoMetrics.recordFailure(Operation.ENCRYPT, e);
+            commitCryptoEvent(event, "encrypt", "envelope", writeKeyId, messageBytes.length, false);
+            throw new Exception("ARIA GCM authentication tag generation failed: " + e.getMessage(), e);
         }
-        byte[] iv = Base64.getDecoder().decode(parts[0]);
-        byte[] cipherTextWithTag = Base64.getDecoder().decode(parts[1]);
+        CryptoMetrics.recordCrypto(Operation.ENCRYPT, messageBytes.length, start);
+        commitCryptoEvent(event, "encrypt", "envelope", writeKeyId, messageBytes.length, true);
+        return envelope;
+    }
 
-        // AAD (Associated Data) - 암호화할 때와 동일한 AAD를 사용해야 합니다.
-        byte[] aad = new byte[0]; // 암호화할 때와 동일한 빈 AAD 사용
+    /**
+     * 바이너리 봉투 형식의 암호문을 복호화하여 평문을 반환합니다. 문자열 분리나 Base64 디코딩을 하지 않습니다.
+     * @param envelope [버전][키 ID][IV][암호문+인증태그] 형식의 암호문
+     * @return 복호화된 평문 문자열
+     * @throws Exception 복호화 중 오류 발생 시 (인증 실패, 알 수 없는 버전/키 ID 포함)
+     */
+    public String decryptEnvelope(byte[] envelope) throws Exception {
+        byte[] plainBytes = new byte[envelope != null ? plainTextLength(envelope) : 0];
+        try {
+            int length = decryptEnvelopeInto(envelope, plainBytes, 0);
+            return new String(plainBytes, 0, length, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(plainBytes, (byte) 0); // 평문 바이트는 남기지 않습니다.
+        }
+    }
+
+    /**
+     * 바이너리 봉투 형식의 암호문을 복호화하여 UTF-8 평문 바이트를 output의 offset 위치부터 기록합니다.
+     * 평문을 String으로 만들지 않고 응답에 바로 쓰기 위한 것으로, 기록된 평문은 호출자가 사용 후 지워야 합니다.
+     * output에는 {@link #plainTextLength(byte[])} 바이트의 공간이 있어야 하며, 인증에 실패하면 기록된 평문은 지워집니다.
+     * @return 기록한 평문 바이트 수
+     * @throws Exception 복호화 중 오류 발생 시 (인증 실패, 알 수 없는 버전/키 ID 포함)
+     */
+    public int decryptEnvelopeInto(byte[] envelope, byte[] output, int offset) throws Exception {
+        CryptoEvent event = new CryptoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int length;
+        try {
+            AriaEnvelope.validate(envelope);
+            AriaGcmCipherContext context = keyRegistry.context(AriaEnvelope.keyId(envelope)); // 키 ID로 바로 찾음
+            byte[] iv = Arrays.copyOfRange(envelope, AriaEnvelope.IV_OFFSET, AriaEnvelope.HEADER_LENGTH);
+
+            try {
+                length = context.decryptInto(iv, envelope, AriaEnvelope.HEADER_LENGTH, envelope.length - AriaEnvelope.HEADER_LENGTH, output, offset);
+            } catch (InvalidCipherTextException e) {
+                throw new Exception("ARIA GCM authentication tag verification failed (Ciphertext might be tampered or keys/IV/AAD incorrect).", e);
+            }
+        } catch (Exception e) {
+            CryptoMetrics.recordFailure(Operation.DECRYPT, e);
+            commitCryptoEvent(event, "decrypt", "envelope", envelope != null && envelope.length > AriaEnvelope.KEY_ID_OFFSET ? AriaEnvelope.keyId(envelope) : -1, 0, false);
+            throw e;
+        }
+        CryptoMetrics.recordCrypto(Operation.DECRYPT, length, start);
+        commitCryptoEvent(event, "decrypt", "envelope", AriaEnvelope.keyId(envelope), length, true);
+        return length;
+    }
+
+    /**
+     * 봉투 길이로 계산한 평문 바이트 수. (헤더와 인증 태그를 뺀 길이)
+     */
+    public static int plainTextLength(byte[] envelope) {
+        return Math.max(0, envelope.length - AriaEnvelope.HEADER_LENGTH - AriaGcmCipherContext.GCM_TAG_LENGTH);
+    }
 
-        // GCMBlockCipher 객체 생성
-        GCMModeCipher cipher = GCMBlockCipher.newInstance(new ARIAEngine());
+    /**
+     * 기존 "Base64(IV):Base64(암호문+인증태그)" 형식의 암호문을 다시 암호화하지 않고 바이너리 봉투 형식으로 변환합니다.
+     * 기존 암호문은 현재 키로 만들어진 것으로 간주합니다.
+     * @param legacyCipherText 기존 형식의 암호문
+     * @return 바이너리 봉투 형식의 암호문
+     */
+    public byte[] legacyToEnvelope(String legacyCipherText) {
+        return AriaEnvelope.fromLegacy(legacyCipherText, keyId);
+    }
 
-        // 초기화 (복호화 모드, 키, IV, AAD)
-        cipher.init(false, new AEADParameters(new KeyParameter(keyBytes), GCM_TAG_LENGTH_BITS, iv, aad));
+    /**
+     * 새로 암호화할 때 사용하는 가장 최근 키의 ID를 반환합니다.
+     */
+    public int currentKeyId() {
+        return keyRegistry.currentKeyId();
+    }
 
-        // 복호화된 데이터를 담을 배열 크기
-        byte[] outputData = new byte[cipher.getOutputSize(cipherTextWithTag.length)];
+    /**
+     * 로드된 모든 키의 ID를 반환합니다.
+     */
+    public List<Integer> keyIds() {
+        return keyRegistry.keyIds();
+    }
 
-        // 데이터 처리
-        int processedBytes = cipher.processBytes(cipherTextWithTag, 0, cipherTextWithTag.length, outputData, 0);
+    /**
+     * 바이너리 봉투가 가장 최근 키로 암호화되어 있는지 확인합니다. (재암호화 대상 판별용)
+     */
+    public boolean isCurrentKey(byte[] envelope) {
+        return envelope.length > AriaEnvelope.KEY_ID_OFFSET && AriaEnvelope.keyId(envelope) == keyRegistry.currentKeyId();
+    }
+
+    /**
+     * 여러 평문을 한 번에 바이너리 봉투 형식으로 암호화합니다. 결과 리스트는 입력과 같은 순서이며, null 입력은 null로 반환됩니다.
+     * 건수가 app.crypto.bulk.parallel-threshold 이상이면 전용 Fork/Join 풀에서 코어 수만큼 나누어 처리하고,
+     * 그보다 적으면 호출한 스레드에서 바로 처리합니다.
+     * @param plainTexts 암호화할 원문 목록
+     * @return 바이너리 봉투 형식의 암호문 목록
+     * @throws Exception 하나라도 암호화에 실패한 경우
+     */
+    public List<byte[]> encryptAll(List<String> plainTexts) throws Exception {
+        return processAll("encrypt", plainTexts, this::encryptToEnvelope);
+    }
 
+    /**
+     * 여러 바이너리 봉투 형식의 암호문을 한 번에 복호화합니다. 결과 리스트는 입력과 같은 순서이며, null 입력은 null로 반환됩니다.
+     * 병렬 처리 기준은 {@link #encryptAll(List)}과 같습니다.
+     * @param envelopes 바이너리 봉투 형식의 암호문 목록
+     * @return 복호화된 평문 목록
+     * @throws Exception 하나라도 복호화에 실패한 경우 (인증 실패 포함)
+     */
+    public List<String> decryptAll(List<byte[]> envelopes) throws Exception {
+        return processAll("decrypt", envelopes, this::decryptEnvelope);
+    }
+
+    /**
+     * arena에 준비된 암호문을 모두 복호화하여 평문을 각 칸에 직접 기록합니다. (String을 만들지 않음)
+     * 병렬 처리 기준은 {@link #encryptAll(List)}과 같으며, 칸마다 다른 위치에 기록하므로 여러 스레드가 나누어 처리합니다.
+     * @throws Exception 하나라도 복호화에 실패한 경우 (인증 실패 포함, 실패한 칸의 평문은 지워짐)
+     */
+    public void decryptAllInto(PlaintextArena arena) throws Exception {
+        processRange("decrypt", arena.size(), slot -> decryptSlot(arena, slot));
+    }
+
+    /**
+     * arena의 한 칸을 복호화하여 기록합니다. null 암호문의 칸은 그대로 둡니다.
+     */
+    public void decryptSlot(PlaintextArena arena, int slot) throws Exception {
+        byte[] envelope = arena.envelope(slot);
+        if (envelope != null) {
+            arena.setLength(slot, decryptEnvelopeInto(envelope, arena.array(), arena.offset(slot)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, R> List<R> processAll(String operation, List<T> inputs, CryptoBatchTask.CryptoFunction<T, R> function) throws Exception {
+        Object[] results = new Object[inputs.size()];
+        processRange(operation, inputs.size(), i -> {
+            T input = inputs.get(i);
+            if (input != null) {
+                results[i] = function.apply(input);
+            }
+        });
+        return (List<R>) Arrays.asList(results);
+    }
+
+    /**
+     * 인덱스 [0, size)를 처리합니다. 하나라도 실패하면 모든 조각이 끝난 뒤에 처음 실패한 예외를 던집니다.
+     */
+    private void processRange(String operation, int size, CryptoBatchTask.IndexFunction function) throws Exception {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        boolean parallel = size >= parallelThreshold && cryptoPool.getParallelism() > 1;
+        CryptoBatchEvent event = new CryptoBatchEvent();
+        event.begin();
+        boolean success = false;
         try {
-            // 최종 블록 처리 및 인증 태그 검증
-            processedBytes += cipher.doFinal(outputData, processedBytes);
-        } catch (InvalidCipherTextException e) {
-            // 이 예외는 암호문이 변조되었거나 키/IV/AAD가 일치하지 않아 인증 태그 검증에 실패했을 때 발생
-            throw new Exception("ARIA GCM authentication tag verification failed (Ciphertext might be tampered or keys/IV/AAD incorrect).", e);
+            if (!parallel) {
+                CryptoBatchTask.applyRange(function, 0, size, failure);
+            } else {
+                // 워커당 4개 정도의 조각이 돌아가도록 나누어 작업 훔치기(work stealing)로 부하를 고르게 맞춥니다.
+                int leafSize = Math.max(64, size / (cryptoPool.getParallelism() * 4));
+                cryptoPool.invoke(new CryptoBatchTask(function, 0, size, leafSize, failure));
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            success = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.batchSize = size;
+                event.parallel = parallel;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * JFR 암복호화 이벤트를 마무리합니다. 기록이 꺼져 있거나 임계 시간보다 짧으면 필드를 채우지 않고 버립니다.
+     */
+    private static void commitCryptoEvent(CryptoEvent event, String operation, String format, int keyId, int bytes, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.format = format;
+            event.keyId = keyId;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
         }
+    }
 
-        // 실제 복호화된 평문 길이만큼 잘라 반환
-        return new String(Arrays.copyOfRange(outputData, 0, processedBytes), StandardCharsets.UTF_8); // UTF-8 경고 제거
+    @PreDestroy
+    private void shutdownCryptoPool() {
+        cryptoPool.shutdown();
+        if (ivGenerator instanceof CounterIvGenerator counterIvGenerator) {
+            counterIvGenerator.close(); // 예약 파일 락 해제
+        }
     }
 
     /**
-     * 안전한 무작위 IV(Initialization Vector) 바이트 배열을 생성합니다.
-     * GCM_IV_LENGTH 만큼의 바이트 배열을 생성합니다.
+     * IV(Initialization Vector) 바이트 배열을 생성합니다.
+     * GCM_IV_LENGTH 만큼의 바이트 배열을 app.crypto.iv.strategy 방식으로 채웁니다.
      */
-    private byte[] generateRandomIvBytes() {
+    private byte[] generateIvBytes() {
+        IvGenerationEvent event = new IvGenerationEvent();
+        event.begin();
         byte[] bytes = new byte[GCM_IV_LENGTH];
-        secureRandom.nextBytes(bytes);
+        ivGenerator.nextIv(bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = GCM_IV_LENGTH;
+            event.commit();
+        }
         return bytes;
     }
-}
\ No newline at end of file
+
+    private IvGenerator createIvGenerator() {
+        return switch (ivStrategy) {
+            case SHARED_DRBG -> RandomIvGenerator.shared();
+            case STRIPED_DRBG -> RandomIvGenerator.striped();
+            case THREAD_LOCAL_DRBG -> RandomIvGenerator.perThread();
+            case COUNTER -> {
+                if (ivInstanceId < 0 || ivInstanceId > 0xFFFFFFFFL) {
+                    throw new IllegalStateException("app.crypto.iv.instance-id must be between 0 and " + 0xFFFFFFFFL + " for the COUNTER IV strategy.");
+                }
+                System.out.println("IV 생성 방식: COUNTER (instance-id: " + ivInstanceId + ", 예약 파일: " + ivCounterFile + ")");
+                yield new CounterIvGenerator((int) ivInstanceId, Paths.get(ivCounterFile), ivCounterBlockSize);
+            }
+        };
+    }
+}
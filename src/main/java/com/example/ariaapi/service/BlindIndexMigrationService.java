@@ -0,0 +1,146 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기존 키 없는 SHA-256 검색용 해시를 HMAC-SHA256 블라인드 인덱스로 다시 계산하는 백그라운드 마이그레이션.
+ * <p>
+ * 해시는 평문이 있어야 다시 계산할 수 있으므로 각 행을 복호화한 뒤 인덱스를 갱신하고
+ * blind_index_version을 올립니다. user_table을 ID 순서로 chunk-size 건씩 별도 트랜잭션으로 처리하며,
+ * 이미 옮긴 행은 조회 대상에서 빠지므로 중단 후 다시 실행해도 안전합니다.
+ * 완료된 뒤에는 app.blind-index.legacy-fallback=false로 두어 검색 시 기존 인덱스 조회를 끕니다.
+ * 복호화를 수반하므로 마이그레이션 전체에 대해 감사로그를 한 건 남깁니다.
+ * </p>
+ */
+@Service
+public class BlindIndexMigrationService {
+
+    private final UserRepository userRepository;
+    private final AriaCryptoService ariaCryptoService;
+    private final BlindIndexService blindIndexService;
+    private final DecryptionAuditService decryptionAuditService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.migration.blind-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.migration.blind-index.chunk-size:500}")
+    private int chunkSize;
+
+    // 청크 사이 대기 시간 (온라인 트래픽에 주는 부하를 줄이기 위함)
+    @Value("${app.migration.blind-index.pause-millis:50}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public BlindIndexMigrationService(UserRepository userRepository, AriaCryptoService ariaCryptoService,
+                                      BlindIndexService blindIndexService, DecryptionAuditService decryptionAuditService,
+                                      TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.ariaCryptoService = ariaCryptoService;
+        this.blindIndexService = blindIndexService;
+        this.decryptionAuditService = decryptionAuditService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 마이그레이션을 백그라운드 스레드에서 시작합니다. 이미 실행 중이면 아무 것도 하지 않습니다.
+     */
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "blind-index-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+    }
+
+    private void run() {
+        long lastId = 0L;
+        long migrated = 0L;
+        boolean success = false;
+        System.out.println("블라인드 인덱스 마이그레이션 시작 (청크 크기: " + chunkSize + ")");
+        try {
+            while (running.get()) {
+                long afterId = lastId;
+                long[] chunk = transactionTemplate.execute(status -> migrateChunk(afterId));
+                if (chunk == null || chunk[0] == 0) {
+                    break;
+                }
+                migrated += chunk[1];
+                lastId = chunk[2];
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            success = true;
+            System.out.println("블라인드 인덱스 마이그레이션 종료: " + migrated + "건 변환 (마지막 ID: " + lastId + ")");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("!!! [오류] 블라인드 인덱스 마이그레이션 중단 (마지막 ID: " + lastId + "): " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            running.set(false);
+            decryptionAuditService.logDecryptionAttempt(
+                    "SYSTEM",
+                    "127.0.0.1",
+                    "블라인드 인덱스 마이그레이션",
+                    success,
+                    "블라인드 인덱스 재계산: " + migrated + "명"
+            );
+        }
+    }
+
+    /**
+     * afterId 이후 한 청크의 검색용 해시를 다시 계산합니다.
+     * @return [조회한 행 수, 변환한 행 수, 청크의 마지막 ID]
+     */
+    private long[] migrateChunk(long afterId) {
+        List<User> users = userRepository.findBlindIndexOutdatedAfter(afterId, BlindIndexService.CURRENT_VERSION, PageRequest.of(0, chunkSize));
+        long migrated = 0;
+        for (User user : users) {
+            try {
+                String usrNm = decryptField(user.getUsrNmEnc(), user.getUsrNm());
+                String usrTel = decryptField(user.getUsrTelEnc(), user.getUsrTel());
+                String usrBirth = decryptField(user.getUsrBirthEnc(), user.getUsrBirth());
+                blindIndexService.applyIndexes(user, usrNm, usrTel, usrBirth);
+                migrated++;
+            } catch (Exception e) {
+                // 복호화할 수 없는 행은 기존 인덱스 그대로 두고 건너뜁니다. (legacy-fallback 동안은 계속 검색됨)
+                System.err.println("복호화 실패로 블라인드 인덱스 마이그레이션 건너뜀 (ID: " + user.getId() + "): " + e.getMessage());
+            }
+        }
+        return new long[]{users.size(), migrated, users.isEmpty() ? afterId : users.get(users.size() - 1).getId()};
+    }
+
+    private String decryptField(byte[] envelope, String legacyCipherText) throws Exception {
+        if (envelope != null) {
+            return ariaCryptoService.decryptEnvelope(envelope);
+        }
+        return legacyCipherText != null ? ariaCryptoService.decrypt(legacyCipherText) : null;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.crypto.CryptoMetrics;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.jfr.HashEvent;
+import com.example.ariaapi.util.HashingUtil;
+import com.example.ariaapi.util.IdlePool;
+import com.example.ariaapi.util.Utf8Buffer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 암호화된 컬럼을 검색하기 위한 키 기반(HMAC-SHA256) 블라인드 인덱스를 만드는 서비스.
+ * <p>
+ * 키 없는 SHA-256은 DB만 유출되어도 이름/생년월일처럼 값의 범위가 좁은 데이터를 사전 대입으로 되돌릴 수 있으므로,
+ * 별도 비밀 키로 HMAC을 계산합니다. 키는 app.keystore.index-key-alias로 지정한 KeyStore 항목을 쓰고,
+ * 지정하지 않으면 ARIA 키에서 용도별 하위 키를 유도합니다.
+ * 같은 값이라도 컬럼마다 다른 인덱스가 나오도록 컬럼 이름을 함께 넣어 계산합니다.
+ * </p>
+ * <p>
+ * 기존 SHA-256 인덱스를 HMAC으로 옮기는 동안(app.blind-index.legacy-fallback=true)에는
+ * 검색 시 두 인덱스를 모두 조회합니다.
+ * </p>
+ * <p>
+ * app.blind-index.storage=BINARY이면 Base64 문자열(44자) 대신 32바이트 bytea 컬럼(usr_*_hash_bin)에 저장하여
+ * 저장 공간과 인덱스 크기를 줄입니다. 기존 문자열 컬럼에 남아 있는 행도 찾을 수 있도록 검색은 두 컬럼을 모두 조회합니다.
+ * HMAC 엔진과 UTF-8 버퍼는 풀에 보관해 두고 재사용합니다. (가상 스레드 모드에서도 요청마다 새로 만들지 않음)
+ * </p>
+ */
+@Service
+public class BlindIndexService {
+
+    // user_table.blind_index_version 값 (null 또는 0 = 기존 SHA-256, 1 = HMAC-SHA256)
+    public static final short LEGACY_VERSION = 0;
+    public static final short CURRENT_VERSION = 1;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String DERIVATION_LABEL = "aria-api/blind-index/v1";
+
+    private final AriaCryptoService ariaCryptoService;
+
+    // 블라인드 인덱스 전용 HMAC 키의 KeyStore alias (비어 있으면 ARIA 키에서 유도)
+    @Value("${app.keystore.index-key-alias:}")
+    private String indexKeyAlias;
+
+    // 마이그레이션이 끝나기 전까지 기존 SHA-256 인덱스로도 검색합니다.
+    @Value("${app.blind-index.legacy-fallback:true}")
+    private boolean legacyFallback;
+
+    // 검색용 해시 저장 형식: TEXT(Base64 문자열 컬럼) 또는 BINARY(32바이트 bytea 컬럼)
+    @Value("${app.blind-index.storage:TEXT}")
+    private Storage storage;
+
+    private SecretKeySpec indexKey;
+    private static final int MAX_IDLE_MAC_STATES = 64;
+
+    private final IdlePool<MacState> macStates = new IdlePool<>(() -> new MacState(indexKey), MAX_IDLE_MAC_STATES);
+
+    public BlindIndexService(AriaCryptoService ariaCryptoService) {
+        this.ariaCryptoService = ariaCryptoService;
+    }
+
+    @PostConstruct
+    private void loadIndexKey() {
+        byte[] keyBytes = null;
+        try {
+            if (indexKeyAlias != null && !indexKeyAlias.isEmpty()) {
+                SecretKey secretKey = ariaCryptoService.loadSecretKey(indexKeyAlias);
+                keyBytes = secretKey.getEncoded();
+                System.out.println("블라인드 인덱스 키를 KeyStore에서 로드했습니다. (alias: " + indexKeyAlias + ")");
+            } else {
+                keyBytes = ariaCryptoService.deriveSubKey(DERIVATION_LABEL);
+                System.out.println("블라인드 인덱스 키를 ARIA 키에서 유도했습니다.");
+            }
+            // SecretKeySpec은 전달받은 배열을 복사합니다.
+            this.indexKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load blind index key: " + e.getMessage(), e);
+        } finally {
+            if (keyBytes != null) Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    public boolean isLegacyFallback() {
+        return legacyFallback;
+    }
+
+    public boolean isBinaryStorage() {
+        return storage == Storage.BINARY;
+    }
+
+    /**
+     * 저장용 블라인드 인덱스를 계산합니다.
+     * @param field 인덱스를 만들 컬럼
+     * @param value 평문 값
+     * @return Base64로 인코딩된 HMAC-SHA256 (값이 비어 있으면 null)
+     */
+    public String index(Field field, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        MacState state = macStates.borrow();
+        try {
+            state.mac(field, value);
+            return Base64.getEncoder().encodeToString(state.hash);
+        } finally {
+            macStates.release(state);
+        }
+    }
+
+    /**
+     * 저장용 블라인드 인덱스를 32바이트 배열로 계산합니다. (bytea 컬럼용)
+     * @return HMAC-SHA256 (값이 비어 있으면 null)
+     */
+    public byte[] indexBytes(Field field, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        MacState state = macStates.borrow();
+        try {
+            state.mac(field, value);
+            return state.hash.clone();
+        } finally {
+            macStates.release(state);
+        }
+    }
+
+    /**
+     * 평문으로 사용자의 검색용 해시 컬럼을 저장 형식(app.blind-index.storage)에 맞게 채우고 버전을 기록합니다.
+     * 다른 형식의 컬럼은 비웁니다.
+     */
+    public void applyIndexes(User user, String usrNm, String usrTel, String usrBirth) {
+        if (isBinaryStorage()) {
+            user.setUsrNmHashBin(indexBytes(Field.NAME, usrNm));
+            user.setUsrTelHashBin(indexBytes(Field.TEL, usrTel));
+            user.setUsrBirthHashBin(indexBytes(Field.BIRTH, usrBirth));
+            user.setUsrNmHash(null);
+            user.setUsrTelHash(null);
+            user.setUsrBirthHash(null);
+        } else {
+            user.setUsrNmHash(index(Field.NAME, usrNm));
+            user.setUsrTelHash(index(Field.TEL, usrTel));
+            user.setUsrBirthHash(index(Field.BIRTH, usrBirth));
+            user.setUsrNmHashBin(null);
+            user.setUsrTelHashBin(null);
+            user.setUsrBirthHashBin(null);
+        }
+        user.setBlindIndexVersion(CURRENT_VERSION);
+    }
+
+    /**
+     * 검색에 사용할 인덱스 값들을 반환합니다.
+     * 문자열 컬럼용 값은 항상 포함하고, BINARY 저장 형식이면 bytea 컬럼용 값도 포함합니다.
+     * 마이그레이션 중에는 기존 SHA-256 인덱스도 함께 반환합니다.
+     */
+    public SearchTokens searchTokens(Field field, String keyword) {
+        String index = index(field, keyword);
+        if (index == null) {
+            return new SearchTokens(List.of(), List.of());
+        }
+        List<String> text = legacyFallback ? List.of(index, HashingUtil.sha256(keyword)) : List.of(index);
+        if (!isBinaryStorage()) {
+            return new SearchTokens(text, List.of());
+        }
+        byte[] binaryIndex = indexBytes(field, keyword);
+        List<byte[]> binary = legacyFallback ? List.of(binaryIndex, HashingUtil.sha256Bytes(keyword)) : List.of(binaryIndex);
+        return new SearchTokens(text, binary);
+    }
+
+    /**
+     * 검색에 사용할 인덱스 값. text는 usr_*_hash 문자열 컬럼, binary는 usr_*_hash_bin bytea 컬럼 조회용입니다.
+     */
+    public record SearchTokens(List<String> text, List<byte[]> binary) {
+
+        public boolean isEmpty() {
+            return text.isEmpty();
+        }
+    }
+
+    /**
+     * 검색용 해시 저장 형식.
+     */
+    public enum Storage {
+        TEXT,
+        BINARY
+    }
+
+    /**
+     * 풀에 보관하여 재사용하는 HMAC 엔진과 버퍼. (한 번에 한 스레드만 사용)
+     */
+    private static final class MacState {
+
+        private final Mac mac;
+        private final Utf8Buffer input = new Utf8Buffer();
+        private final byte[] hash = new byte[HashingUtil.SHA256_LENGTH];
+
+        MacState(SecretKeySpec key) {
+            try {
+                this.mac = Mac.getInstance(HMAC_ALGORITHM);
+                this.mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 블라인드 인덱스를 계산할 수 없습니다.", e);
+            }
+        }
+
+        void mac(Field field, String value) {
+            HashEvent event = new HashEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int length = input.encode(value);
+            try {
+                mac.update(field.columnBytes);
+                mac.update((byte) 0); // 컬럼 이름과 값의 경계
+                mac.update(input.array(), 0, length);
+                mac.doFinal(hash, 0);
+            } catch (GeneralSecurityException e) {
+                mac.reset();
+                throw new IllegalStateException("HMAC-SHA256 블라인드 인덱스를 계산할 수 없습니다.", e);
+            } finally {
+                input.wipe(length); // 평문 바이트는 남기지 않습니다.
+            }
+            CryptoMetrics.recordHash(CryptoMetrics.Hash.HMAC, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = "hmac-sha256";
+                event.bytes = length;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 블라인드 인덱스를 만드는 검색 대상 컬럼.
+     */
+    public enum Field {
+        NAME("usrNm", "usr_nm_hash"),
+        TEL("usrTel", "usr_tel_hash"),
+        BIRTH("usrBirth", "usr_birth_hash");
+
+        private final String type;
+        private final byte[] columnBytes;
+
+        Field(String type, String column) {
+            this.type = type;
+            this.columnBytes = column.getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 검색 API의 type 파라미터(usrNm, usrTel, usrBirth)를 컬럼으로 변환합니다.
+         * @throws IllegalArgumentException 검색 유형이 유효하지 않을 경우
+         */
+        public static Field fromType(String type) {
+            for (Field field : values()) {
+                if (field.type.equals(type)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("유효하지 않은 검색 유형입니다: " + type);
+        }
+    }
+}
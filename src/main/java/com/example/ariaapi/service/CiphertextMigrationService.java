@@ -0,0 +1,136 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기존 "Base64(IV):Base64(암호문+인증태그)" 문자열 암호문을 바이너리 봉투 형식(bytea)으로 옮기는 백그라운드 마이그레이션.
+ * <p>
+ * user_table을 ID 순서로 chunk-size 건씩 읽어 각 청크를 별도 트랜잭션으로 변환합니다.
+ * 다시 암호화하지 않고 IV와 암호문만 옮겨 담으므로 키 연산이 필요 없으며,
+ * 변환 중에도 조회 경로는 두 형식을 모두 읽을 수 있으므로 서비스를 멈출 필요가 없습니다.
+ * 이미 변환된 행은 조회 대상에서 빠지므로 중단 후 다시 실행해도 안전합니다.
+ * </p>
+ */
+@Service
+public class CiphertextMigrationService {
+
+    private final UserRepository userRepository;
+    private final AriaCryptoService ariaCryptoService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.migration.ciphertext-envelope.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.migration.ciphertext-envelope.chunk-size:500}")
+    private int chunkSize;
+
+    // 청크 사이 대기 시간 (온라인 트래픽에 주는 부하를 줄이기 위함)
+    @Value("${app.migration.ciphertext-envelope.pause-millis:50}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public CiphertextMigrationService(UserRepository userRepository, AriaCryptoService ariaCryptoService,
+                                      TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.ariaCryptoService = ariaCryptoService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 마이그레이션을 백그라운드 스레드에서 시작합니다. 이미 실행 중이면 아무 것도 하지 않습니다.
+     */
+    public void start() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "ciphertext-envelope-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+    }
+
+    private void run() {
+        long lastId = 0L;
+        long migrated = 0L;
+        System.out.println("암호문 바이너리 봉투 마이그레이션 시작 (청크 크기: " + chunkSize + ")");
+        try {
+            while (running.get()) {
+                long afterId = lastId;
+                long[] chunk = transactionTemplate.execute(status -> migrateChunk(afterId));
+                if (chunk == null || chunk[0] == 0) {
+                    break;
+                }
+                migrated += chunk[0];
+                lastId = chunk[1];
+                if (pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            }
+            System.out.println("암호문 바이너리 봉투 마이그레이션 종료: " + migrated + "건 변환 (마지막 ID: " + lastId + ")");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("!!! [오류] 암호문 마이그레이션 중단 (마지막 ID: " + lastId + "): " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * afterId 이후 한 청크를 변환합니다.
+     * @return [처리한 행 수, 청크의 마지막 ID]
+     */
+    private long[] migrateChunk(long afterId) {
+        List<User> users = userRepository.findLegacyCiphertextAfter(afterId, PageRequest.of(0, chunkSize));
+        for (User user : users) {
+            try {
+                if (user.getUsrNm() != null) {
+                    if (user.getUsrNmEnc() == null) {
+                        user.setUsrNmEnc(ariaCryptoService.legacyToEnvelope(user.getUsrNm()));
+                    }
+                    user.setUsrNm(null);
+                }
+                if (user.getUsrTel() != null) {
+                    if (user.getUsrTelEnc() == null) {
+                        user.setUsrTelEnc(ariaCryptoService.legacyToEnvelope(user.getUsrTel()));
+                    }
+                    user.setUsrTel(null);
+                }
+                if (user.getUsrBirth() != null) {
+                    if (user.getUsrBirthEnc() == null) {
+                        user.setUsrBirthEnc(ariaCryptoService.legacyToEnvelope(user.getUsrBirth()));
+                    }
+                    user.setUsrBirth(null);
+                }
+            } catch (IllegalArgumentException e) {
+                // 형식이 깨진 행은 기존 형식 그대로 두고 건너뜁니다. (조회 시 복호화 실패로 표시됨)
+                System.err.println("암호문 형식 오류로 마이그레이션 건너뜀 (ID: " + user.getId() + "): " + e.getMessage());
+            }
+        }
+        return new long[]{users.size(), users.isEmpty() ? afterId : users.get(users.size() - 1).getId()};
+    }
+}
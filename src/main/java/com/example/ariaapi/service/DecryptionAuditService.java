@@ -1,56 +1,178 @@
 package com.example.ariaapi.service;
 
+import com.example.ariaapi.audit.AuditLogWriter;
+import com.example.ariaapi.audit.AuditWriteAheadLog;
 import com.example.ariaapi.entity.DecryptionAuditLog;
+import com.example.ariaapi.jfr.AuditWriteEvent;
 import com.example.ariaapi.repository.DecryptionAuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.annotation.Propagation;
+import java.util.concurrent.TimeUnit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 @Service
 public class DecryptionAuditService {
 
+    private static final String TRUNCATED_SUFFIX = "...";
+
     private final DecryptionAuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditWriteAheadLog auditWriteAheadLog;
+    private final TransactionTemplate requiresNewTransaction; // 동기 기록 시 조회 트랜잭션과 분리하기 위한 REQUIRES_NEW 템플릿
+
+    // 기록 경로(wal, async, sync)별 감사로그 기록 소요 시간 (호출 스레드 기준)과 원인별 실패 횟수
+    private final Timer walWriteTimer;
+    private final Timer asyncWriteTimer;
+    private final Timer syncWriteTimer;
+    private final Counter walFailureCounter;
+    private final Counter syncFailureCounter;
 
     @Autowired
-    public DecryptionAuditService(DecryptionAuditLogRepository auditLogRepository) {
+    public DecryptionAuditService(DecryptionAuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter,
+                                  AuditWriteAheadLog auditWriteAheadLog, PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.auditWriteAheadLog = auditWriteAheadLog;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.walWriteTimer = writeTimer(meterRegistry, "wal");
+        this.asyncWriteTimer = writeTimer(meterRegistry, "async");
+        this.syncWriteTimer = writeTimer(meterRegistry, "sync");
+        this.walFailureCounter = failureCounter(meterRegistry, "wal");
+        this.syncFailureCounter = failureCounter(meterRegistry, "db");
+    }
+
+    private static Timer writeTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("aria.audit.write")
+                .description("감사로그 기록 요청 소요 시간 (path: wal=WAL fsync, async=큐 적재, sync=DB 직접 저장)")
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("aria.audit.write.failures")
+                .description("감사로그 기록 실패 횟수 (cause: wal=WAL 기록 실패 후 DB로 대체, db=DB 저장 실패)")
+                .tag("cause", cause)
+                .register(meterRegistry);
     }
 
     /**
      * 복호화 시도에 대한 감사로그를 기록합니다.
+     * WAL이 켜져 있으면(app.audit.wal.enabled) 로컬 WAL에 fsync까지 마친 뒤 반환하고 DB 반영은 백그라운드에서 수행하며,
+     * 비동기 writer가 켜져 있으면(app.audit.async.enabled) 큐에 넣고 바로 반환합니다.
+     * 둘 다 꺼져 있거나 WAL 기록에 실패하면 별도 트랜잭션(REQUIRES_NEW)으로 즉시 저장합니다.
+     * 호출자가 넘긴 문자열은 컬럼 길이에 맞게 자르므로, 긴 값 하나 때문에 WAL/큐의 배치 반영이 실패하지 않습니다.
      * @param userId 복호화를 시도한 사용자 식별자
      * @param ipAddress 요청자의 IP 주소
      * @param purpose 복호화 목적
      * @param success 복호화 성공 여부
      * @param targetDataId 복호화 대상 데이터의 식별자 (예: User ID)
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logDecryptionAttempt(String userId, String ipAddress, String purpose, boolean success, String targetDataId) {
         DecryptionAuditLog log = new DecryptionAuditLog();
-        log.setUserId(userId);
-        log.setIpAddress(ipAddress);
-        log.setPurpose(purpose);
+        log.setUserId(truncate(userId, DecryptionAuditLog.USER_ID_LENGTH));
+        log.setIpAddress(truncate(ipAddress, DecryptionAuditLog.IP_ADDRESS_LENGTH));
+        log.setPurpose(truncate(purpose, DecryptionAuditLog.PURPOSE_LENGTH));
         log.setSuccess(success);
-        log.setTargetDataId(targetDataId);
+        log.setTargetDataId(truncate(targetDataId, DecryptionAuditLog.TARGET_DATA_ID_LENGTH));
         log.setDecryptionTime(LocalDateTime.now()); // 현재 시간 기록
         log.setCreatedAt(LocalDateTime.now()); // 생성 시간 기록
 
+        long start = System.nanoTime();
+        if (auditWriteAheadLog.isEnabled()) {
+            AuditWriteEvent walEvent = new AuditWriteEvent();
+            walEvent.begin();
+            try {
+                auditWriteAheadLog.append(log);
+                walWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                commitAuditEvent(walEvent, "wal", true);
+                return;
+            } catch (Exception e) {
+                // 감사로그는 누락될 수 없으므로 WAL 기록에 실패하면 DB에 직접 기록합니다.
+                walFailureCounter.increment();
+                commitAuditEvent(walEvent, "wal", false);
+                System.err.println("!!! [오류] 감사로그 WAL 기록 실패, DB에 직접 기록합니다: " + e.getMessage());
+            }
+        } else if (auditLogWriter.isEnabled()) {
+            AuditWriteEvent asyncEvent = new AuditWriteEvent();
+            asyncEvent.begin();
+            auditLogWriter.submit(log);
+            asyncWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commitAuditEvent(asyncEvent, "async", true);
+            return;
+        }
+
+        AuditWriteEvent syncEvent = new AuditWriteEvent();
+        syncEvent.begin();
         try {
-            auditLogRepository.save(log);
+            requiresNewTransaction.executeWithoutResult(status -> auditLogRepository.save(log));
+            syncWriteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commitAuditEvent(syncEvent, "sync", true);
             System.out.println("감사로그 저장 성공: " + log.getLogId());
             System.out.flush();
         } catch (Exception e) {
+            syncFailureCounter.increment();
+            commitAuditEvent(syncEvent, "sync", false);
             System.err.println("!!! [오류] 감사로그 저장 실패: " + e.getMessage());
             e.printStackTrace();
             System.err.flush();
         }
     }
 
+    /**
+     * 컬럼 길이를 넘는 값은 앞부분만 남기고, 잘렸음을 알 수 있도록 끝에 "..."을 붙입니다.
+     */
+    static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = maxLength - TRUNCATED_SUFFIX.length();
+        if (Character.isHighSurrogate(value.charAt(end - 1))) {
+            end--; // 서로게이트 쌍을 반으로 자르지 않음
+        }
+        return value.substring(0, end) + TRUNCATED_SUFFIX;
+    }
+
+    private static void commitAuditEvent(AuditWriteEvent event, String path, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.success = success;
+            event.commit();
+        }
+    }
+
     public Page<DecryptionAuditLog> getAllAuditLogs(Pageable pageable) {
         return auditLogRepository.findAll(pageable);
     }
+
+    /**
+     * 커서(keyset) 방식으로 (createdAt, logId) 다음 페이지의 감사로그를 조회합니다. COUNT 쿼리를 실행하지 않습니다.
+     * @param afterCreatedAt 이전 페이지 마지막 감사로그의 생성 시각 (첫 페이지는 null)
+     * @param afterLogId     이전 페이지 마지막 감사로그의 ID (첫 페이지는 null)
+     * @param direction      createdAt 정렬 방향 (같은 시각은 logId로 같은 방향 정렬)
+     */
+    public Slice<DecryptionAuditLog> getAuditLogsAfter(LocalDateTime afterCreatedAt, Long afterLogId, Sort.Direction direction, int size) {
+        if (afterCreatedAt == null) {
+            return auditLogRepository.findAllBy(PageRequest.of(0, size, Sort.by(direction, "createdAt", "logId")));
+        }
+        Pageable pageable = PageRequest.of(0, size);
+        return direction.isAscending()
+                ? auditLogRepository.findSliceAfter(afterCreatedAt, afterLogId, pageable)
+                : auditLogRepository.findSliceBefore(afterCreatedAt, afterLogId, pageable);
+    }
 }
@@ -0,0 +1,301 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.dto.response.KeyRotationProgressDto;
+import com.example.ariaapi.entity.KeyRotationCheckpoint;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.KeyRotationCheckpointRepository;
+import com.example.ariaapi.repository.UserRepository;
+import com.example.ariaapi.util.SimpleRateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 키 교체 후 예전 키로 암호화된 user_table 행을 가장 최근 키로 다시 암호화하는 백그라운드 작업.
+ * <p>
+ * 조정 스레드가 user_table의 ID를 keyset 방식(id &gt; lastId)으로 chunk-size 건씩 읽어 워커 스레드에 나눠 주고,
+ * 각 워커는 자기 청크를 별도 트랜잭션에서 행 잠금을 잡고 다시 암호화합니다.
+ * 봉투의 키 ID가 이미 최근 키인 필드는 건너뛰고, 기존 문자열 형식 암호문은 최근 키의 봉투로 바꿉니다.
+ * 평문은 그대로이므로 블라인드 인덱스는 다시 계산하지 않습니다.
+ * </p>
+ * <p>
+ * 온라인 지연에 주는 영향을 줄이기 위해 전체 처리량을 rows-per-second로 제한합니다.
+ * 진행 위치는 워커 묶음이 모두 끝날 때마다 key_rotation_checkpoint 테이블에 기록하므로,
+ * 중단되거나 서버가 재시작되어도 다시 시작하면 이어서 처리합니다.
+ * 복호화를 수반하므로 실행마다 감사로그를 한 건 남깁니다.
+ * </p>
+ */
+@Service
+public class KeyRotationService {
+
+    private final UserRepository userRepository;
+    private final KeyRotationCheckpointRepository checkpointRepository;
+    private final AriaCryptoService ariaCryptoService;
+    private final DecryptionAuditService decryptionAuditService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.rotation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.rotation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.rotation.workers:2}")
+    private int workers;
+
+    // 초당 최대 처리 행 수 (0 이하이면 제한 없음)
+    @Value("${app.rotation.rows-per-second:2000}")
+    private double rowsPerSecond;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 진행 상황 조회용 (실행 중에는 조정 스레드만 갱신)
+    private volatile KeyRotationCheckpoint current;
+    private volatile long runStartedNanos;
+    private volatile long runProcessed;
+
+    public KeyRotationService(UserRepository userRepository, KeyRotationCheckpointRepository checkpointRepository,
+                              AriaCryptoService ariaCryptoService, DecryptionAuditService decryptionAuditService,
+                              TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.ariaCryptoService = ariaCryptoService;
+        this.decryptionAuditService = decryptionAuditService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            start();
+        }
+    }
+
+    /**
+     * 재암호화를 백그라운드 스레드에서 시작합니다. 이미 실행 중이면 false를 반환합니다.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread coordinator = new Thread(this::run, "key-rotation");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return true;
+    }
+
+    /**
+     * 실행 중인 재암호화를 멈춥니다. 진행 중인 워커 묶음까지 끝낸 뒤 위치를 기록하고 종료합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 현재(가장 최근) 키 기준의 진행 상황을 반환합니다.
+     */
+    public KeyRotationProgressDto getProgress() {
+        int targetKeyId = ariaCryptoService.currentKeyId();
+        KeyRotationCheckpoint checkpoint = current;
+        if (checkpoint == null || !checkpoint.getTargetKeyId().equals(targetKeyId)) {
+            checkpoint = checkpointRepository.findById(targetKeyId).orElse(null);
+        }
+
+        KeyRotationProgressDto progress = new KeyRotationProgressDto();
+        progress.setTargetKeyId(targetKeyId);
+        progress.setRunning(running.get());
+        Long maxId = userRepository.findMaxId();
+        progress.setMaxId(maxId);
+        if (checkpoint != null) {
+            progress.setStatus(checkpoint.getStatus());
+            progress.setLastId(checkpoint.getLastId());
+            progress.setProcessed(checkpoint.getProcessed());
+            progress.setReEncrypted(checkpoint.getReEncrypted());
+            progress.setFailed(checkpoint.getFailed());
+            progress.setUpdatedAt(checkpoint.getUpdatedAt());
+            if (maxId == null || maxId == 0 || KeyRotationCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+                progress.setPercent(100.0);
+            } else {
+                progress.setPercent(Math.min(100.0, checkpoint.getLastId() * 100.0 / maxId));
+            }
+        }
+        if (running.get()) {
+            double elapsedSeconds = (System.nanoTime() - runStartedNanos) / 1_000_000_000.0;
+            progress.setRowsPerSecond(elapsedSeconds > 0 ? runProcessed / elapsedSeconds : 0.0);
+        }
+        return progress;
+    }
+
+    private void run() {
+        int targetKeyId = ariaCryptoService.currentKeyId();
+        KeyRotationCheckpoint checkpoint = checkpointRepository.findById(targetKeyId)
+                .orElseGet(() -> new KeyRotationCheckpoint(targetKeyId));
+        checkpoint.setStatus(KeyRotationCheckpoint.STATUS_RUNNING);
+        current = checkpoint = saveCheckpoint(checkpoint);
+        runStartedNanos = System.nanoTime();
+        runProcessed = 0L;
+
+        int workerCount = Math.max(1, workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "key-rotation-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        SimpleRateLimiter rateLimiter = new SimpleRateLimiter(rowsPerSecond);
+        long reEncrypted = 0L;
+        String status = KeyRotationCheckpoint.STATUS_FAILED;
+        System.out.println("키 교체 재암호화 시작 (대상 키 ID: " + targetKeyId + ", 시작 ID: " + checkpoint.getLastId()
+                + ", 청크 크기: " + chunkSize + ", 워커: " + workerCount + ", 초당 최대: " + rowsPerSecond + "건)");
+        try {
+            boolean finished = false;
+            while (running.get() && !finished) {
+                // 워커 수만큼 청크를 나눠 주고 모두 끝날 때까지 기다립니다.
+                long afterId = checkpoint.getLastId();
+                List<Long> chunkLastIds = new ArrayList<>();
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < workerCount; i++) {
+                    List<Long> ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        finished = true;
+                        break;
+                    }
+                    rateLimiter.acquire(ids.size());
+                    futures.add(executor.submit(() -> transactionTemplate.execute(tx -> reEncryptChunk(ids))));
+                    afterId = ids.get(ids.size() - 1);
+                    chunkLastIds.add(afterId);
+                }
+
+                // 앞에서부터 빈틈 없이 끝난 청크까지만 진행 위치로 기록합니다.
+                ExecutionException failure = null;
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        long[] result = futures.get(i).get();
+                        if (failure == null) {
+                            checkpoint.setLastId(chunkLastIds.get(i));
+                            checkpoint.setProcessed(checkpoint.getProcessed() + result[0]);
+                            checkpoint.setReEncrypted(checkpoint.getReEncrypted() + result[1]);
+                            checkpoint.setFailed(checkpoint.getFailed() + result[2]);
+                            runProcessed += result[0];
+                            reEncrypted += result[1];
+                        }
+                    } catch (ExecutionException e) {
+                        if (failure == null) failure = e;
+                    }
+                }
+                current = checkpoint = saveCheckpoint(checkpoint);
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+            status = finished ? KeyRotationCheckpoint.STATUS_COMPLETED : KeyRotationCheckpoint.STATUS_STOPPED;
+            System.out.println("키 교체 재암호화 " + (finished ? "완료" : "중지") + ": 이번 실행에서 " + reEncrypted
+                    + "건 재암호화 (마지막 ID: " + checkpoint.getLastId() + ")");
+        } catch (InterruptedException e) {
+            status = KeyRotationCheckpoint.STATUS_STOPPED;
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("!!! [오류] 키 교체 재암호화 중단 (마지막 ID: " + checkpoint.getLastId() + "): " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            executor.shutdownNow();
+            checkpoint.setStatus(status);
+            try {
+                current = saveCheckpoint(checkpoint);
+            } catch (Exception e) {
+                System.err.println("!!! [오류] 키 교체 진행 위치 기록 실패: " + e.getMessage());
+            }
+            running.set(false);
+            decryptionAuditService.logDecryptionAttempt(
+                    "SYSTEM",
+                    "127.0.0.1",
+                    "키 교체 재암호화",
+                    !KeyRotationCheckpoint.STATUS_FAILED.equals(status),
+                    "키 교체 재암호화: " + reEncrypted + "명 (키 ID: " + targetKeyId + ")"
+            );
+        }
+    }
+
+    private KeyRotationCheckpoint saveCheckpoint(KeyRotationCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    /**
+     * 한 청크를 가장 최근 키로 다시 암호화합니다. 변경 내용은 트랜잭션 커밋 시 UPDATE 배치로 반영됩니다.
+     * @return [확인한 행 수, 재암호화한 행 수, 복호화 실패 행 수]
+     */
+    private long[] reEncryptChunk(List<Long> ids) {
+        List<User> users = userRepository.findAllByIdForUpdate(ids);
+        long reEncrypted = 0;
+        long failed = 0;
+        for (User user : users) {
+            try {
+                boolean changed = false;
+                byte[] nm = reEncrypt(user.getUsrNmEnc(), user.getUsrNm());
+                if (nm != null) {
+                    user.setUsrNmEnc(nm);
+                    user.setUsrNm(null);
+                    changed = true;
+                }
+                byte[] tel = reEncrypt(user.getUsrTelEnc(), user.getUsrTel());
+                if (tel != null) {
+                    user.setUsrTelEnc(tel);
+                    user.setUsrTel(null);
+                    changed = true;
+                }
+                byte[] birth = reEncrypt(user.getUsrBirthEnc(), user.getUsrBirth());
+                if (birth != null) {
+                    user.setUsrBirthEnc(birth);
+                    user.setUsrBirth(null);
+                    changed = true;
+                }
+                if (changed) {
+                    reEncrypted++;
+                }
+            } catch (Exception e) {
+                // 복호화할 수 없는 행은 그대로 두고 건너뜁니다. (예전 키를 제거하기 전에 failed 건수를 확인)
+                failed++;
+                System.err.println("복호화 실패로 재암호화 건너뜀 (ID: " + user.getId() + "): " + e.getMessage());
+            }
+        }
+        return new long[]{users.size(), reEncrypted, failed};
+    }
+
+    /**
+     * 필드가 가장 최근 키가 아닌 키로 암호화되어 있으면 가장 최근 키로 다시 암호화한 봉투를 반환합니다. 바꿀 필요가 없으면 null.
+     */
+    private byte[] reEncrypt(byte[] envelope, String legacyCipherText) throws Exception {
+        String plainText;
+        if (envelope != null) {
+            if (ariaCryptoService.isCurrentKey(envelope)) {
+                return null;
+            }
+            plainText = ariaCryptoService.decryptEnvelope(envelope);
+        } else if (legacyCipherText != null) {
+            plainText = ariaCryptoService.decrypt(legacyCipherText);
+        } else {
+            return null;
+        }
+        return ariaCryptoService.encryptToEnvelope(plainText); // 새 암호화는 항상 가장 최근 키를 사용
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.crypto.PlaintextArena;
+import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.UserRepository;
+import com.example.ariaapi.util.IdlePool;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 복호화된 전체 사용자를 NDJSON(한 줄에 JSON 객체 하나)으로 스트리밍 내보내는 서비스.
+ * <p>
+ * user_table을 ID 순서의 전진 전용 커서로 읽고, batch-size 건씩 묶어 복호화하는 동안 다음 묶음을 읽도록
+ * 파이프라인으로 처리합니다. 읽은 엔티티는 바로 영속성 컨텍스트에서 분리하고 묶음마다 응답으로 흘려보내므로
+ * 테이블 크기와 관계없이 메모리 사용량이 일정합니다. 내보내기 전체에 대해 감사로그는 한 건만 남깁니다.
+ * </p>
+ * <p>
+ * 복호화 결과는 String이나 DTO로 만들지 않고, 묶음마다 풀에서 꺼낸 {@link PlaintextArena}에 UTF-8 바이트로 기록한 뒤
+ * JsonGenerator에 그대로 씁니다. 쓰고 난 arena는 0으로 지워 풀에 돌려주므로 행 수에 비례한 할당이 생기지 않습니다.
+ * </p>
+ * <p>
+ * 묶음 복호화는 JVM 공용 ForkJoinPool이 아닌 내보내기 전용 executor(app.export.decrypt-threads)에서 실행하므로,
+ * 긴 내보내기가 공용 풀을 쓰는 다른 작업을 밀어내거나 조회 API의 복호화 lane을 차지하지 않습니다.
+ * 이미 응답을 흘려보내는 중에 거절되면 안 되므로 조회 lane(BULK)처럼 큐가 가득 찼다고 거절하지 않으며,
+ * 내보내기 한 건당 대기 중인 묶음은 하나뿐이라 큐 길이는 동시에 실행 중인 내보내기 수를 넘지 않습니다.
+ * </p>
+ */
+@Service
+public class UserExportService {
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final DecryptionAuditService decryptionAuditService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    // 묶음 복호화 스레드 수 (0 이면 CPU 코어 수의 1/4, 최소 1)
+    @Value("${app.export.decrypt-threads:0}")
+    private int decryptThreads;
+
+    private ThreadPoolExecutor decryptExecutor;
+
+    private static final int FIELDS_PER_USER = 3;
+    private static final String DECRYPTION_FAILED = "[복호화 실패]";
+
+    // 미리 인코딩해 둔 JSON 필드 이름
+    private static final SerializedString FIELD_ID = new SerializedString("id");
+    private static final SerializedString FIELD_USR_NM = new SerializedString("usrNm");
+    private static final SerializedString FIELD_USR_TEL = new SerializedString("usrTel");
+    private static final SerializedString FIELD_USR_BIRTH = new SerializedString("usrBirth");
+
+    private static final int MAX_IDLE_ARENAS = 8;
+
+    // 복호화 중인 묶음과 쓰는 중인 묶음이 하나씩이므로 내보내기 한 건당 arena 두 개를 번갈아 사용합니다.
+    private final IdlePool<PlaintextArena> arenas = new IdlePool<>(PlaintextArena::new, MAX_IDLE_ARENAS);
+
+    public UserExportService(UserRepository userRepository, UserService userService,
+                             DecryptionAuditService decryptionAuditService, ObjectMapper objectMapper,
+                             EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.decryptionAuditService = decryptionAuditService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void start() {
+        int threads = decryptThreads > 0 ? decryptThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger sequence = new AtomicInteger();
+        decryptExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-decrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // executor.pool.size, executor.queued 등 (name=export.decrypt)
+        new ExecutorServiceMetrics(decryptExecutor, "export.decrypt", Tags.empty()).bindTo(meterRegistry);
+        System.out.println("내보내기 복호화 executor 시작 (스레드: " + threads + ")");
+    }
+
+    @PreDestroy
+    public void stop() {
+        decryptExecutor.shutdown();
+        try {
+            if (!decryptExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                decryptExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 전체 사용자를 복호화하여 NDJSON으로 출력 스트림에 씁니다.
+     * @param out       응답 출력 스트림 (닫지 않음)
+     * @param ipAddress 요청자의 IP 주소
+     * @param purpose   복호화의 목적
+     * @return 내보낸 사용자 수
+     */
+    @Transactional(readOnly = true)
+    public long exportDecryptedUsers(OutputStream out, String ipAddress, String purpose) throws IOException {
+        boolean success = false;
+        long exported = 0;
+        CompletableFuture<PlaintextArena> pending = null;
+        PlaintextArena pendingArena = null;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<User> users = userRepository.streamAllOrderById()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<User> iterator = users.iterator();
+            List<User> pendingBatch = null;
+            while (iterator.hasNext()) {
+                List<User> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    User user = iterator.next();
+                    entityManager.detach(user); // 영속성 컨텍스트에 쌓이지 않도록 바로 분리
+                    batch.add(user);
+                }
+                // 이 묶음을 복호화하는 동안 이전 묶음을 쓰고 다음 묶음을 읽습니다.
+                PlaintextArena arena = arenas.borrow();
+                CompletableFuture<PlaintextArena> previous = pending;
+                PlaintextArena previousArena = pendingArena;
+                List<User> previousBatch = pendingBatch;
+                pending = CompletableFuture.supplyAsync(() -> userService.decryptUsersInto(batch, arena), decryptExecutor);
+                pendingArena = arena;
+                pendingBatch = batch;
+                if (previous != null) {
+                    exported += writeBatch(generator, previousBatch, awaitDecrypted(previous, previousArena));
+                }
+            }
+            if (pending != null) {
+                CompletableFuture<PlaintextArena> last = pending;
+                PlaintextArena lastArena = pendingArena;
+                pending = null;
+                exported += writeBatch(generator, pendingBatch, awaitDecrypted(last, lastArena));
+            }
+            success = true;
+            return exported;
+        } catch (CompletionException e) {
+            throw new IOException("사용자 내보내기 중 복호화 작업이 실패했습니다.", e.getCause());
+        } finally {
+            if (pending != null) {
+                // 쓰지 못한 묶음도 복호화가 끝나면 (실패로 끝나더라도) 평문을 지웁니다.
+                PlaintextArena unwritten = pendingArena;
+                pending.whenComplete((decrypted, error) -> releaseArena(unwritten));
+            }
+            decryptionAuditService.logDecryptionAttempt(
+                    "SYSTEM",
+                    ipAddress,
+                    purpose != null && !purpose.isEmpty() ? purpose : "목적 지정 안됨",
+                    success,
+                    "전체 내보내기: " + exported + "명"
+            );
+        }
+    }
+
+    /**
+     * 묶음의 복호화가 끝나기를 기다립니다. 복호화 작업이 실패하면 일부 칸에 남은 평문을 지우고 arena를 반납한 뒤 다시 던집니다.
+     */
+    private PlaintextArena awaitDecrypted(CompletableFuture<PlaintextArena> decryption, PlaintextArena arena) {
+        try {
+            return decryption.join();
+        } catch (CompletionException e) {
+            releaseArena(arena);
+            throw e;
+        }
+    }
+
+    /**
+     * 복호화된 묶음을 한 줄에 한 명씩 씁니다. 평문은 arena의 UTF-8 바이트를 그대로 generator에 넘기고,
+     * 다 쓴 뒤에는 arena를 지워 풀에 돌려줍니다. (필드 이름과 형식은 {@link UserDecryptedDto} 직렬화 결과와 같음)
+     */
+    private int writeBatch(JsonGenerator generator, List<User> users, PlaintextArena arena) throws IOException {
+        try {
+            for (int i = 0; i < users.size(); i++) {
+                int base = i * FIELDS_PER_USER;
+                // 필드 하나라도 복호화에 실패하면 기존과 같이 모든 필드를 "[복호화 실패]"로 표시합니다.
+                boolean failed = arena.isFailed(base) || arena.isFailed(base + 1) || arena.isFailed(base + 2);
+                generator.writeStartObject();
+                generator.writeFieldName(FIELD_ID);
+                generator.writeNumber(users.get(i).getId());
+                writePlainText(generator, FIELD_USR_NM, arena, base, failed);
+                writePlainText(generator, FIELD_USR_TEL, arena, base + 1, failed);
+                writePlainText(generator, FIELD_USR_BIRTH, arena, base + 2, failed);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush(); // 묶음마다 응답으로 흘려보냅니다.
+            return users.size();
+        } finally {
+            releaseArena(arena);
+        }
+    }
+
+    private static void writePlainText(JsonGenerator generator, SerializedString name, PlaintextArena arena, int slot, boolean failed) throws IOException {
+        generator.writeFieldName(name);
+        if (failed) {
+            generator.writeString(DECRYPTION_FAILED);
+        } else if (arena.isNull(slot)) {
+            generator.writeNull();
+        } else {
+            // 이스케이프가 필요한 문자만 처리하며 String으로 디코딩/재인코딩하지 않습니다.
+            generator.writeUTF8String(arena.array(), arena.offset(slot), arena.length(slot));
+        }
+    }
+
+    private void releaseArena(PlaintextArena arena) {
+        arena.wipe();
+        arenas.release(arena);
+    }
+}
@@ -0,0 +1,581 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserImportProgressDto;
+import com.example.ariaapi.dto.response.UserUpsertResultDto;
+import com.example.ariaapi.entity.UserImportCheckpoint;
+import com.example.ariaapi.repository.UserImportCheckpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 서버에 놓인 대용량 사용자 파일(CSV 또는 NDJSON)을 암호화하여 user_table에 가져오는 작업.
+ * <p>
+ * 파일을 FileChannel로 read-buffer-bytes씩 읽어 재사용 버퍼 안에서 줄을 나누고, chunk-size 줄씩 묶어
+ * 암호화/블라인드 인덱스 계산/COPY 인코딩을 병렬로 준비합니다({@link UserIngestService}와 같은 단계).
+ * 준비된 묶음은 파일 순서대로 COPY로 저장하며, 같은 트랜잭션에서 user_import_checkpoint의 byte_offset을
+ * 그 묶음의 끝으로 옮기므로 저장된 행과 진행 위치가 항상 함께 커밋됩니다.
+ * 중단되거나 실패한 뒤 다시 시작하면 마지막으로 커밋된 위치부터 읽으므로 같은 행을 두 번 저장하지 않습니다.
+ * </p>
+ * <p>
+ * 이미 등록된 전화번호가 포함된 묶음은 전화번호 기준 upsert(기존 사용자는 건너뜀)로 다시 저장합니다.
+ * 다른 형식(블라인드 인덱스 마이그레이션 전의 SHA-256 인덱스, BINARY 저장 시 문자열 컬럼)으로 등록된 전화번호도 건너뛰고 skipped로 셉니다.
+ * 형식이 잘못된 줄은 건너뛰고 invalid 건수와 오류를 기록합니다.
+ * 관리 API(/api/admin/user-import)의 백그라운드 스레드 또는 명령행({@code UserImportRunner})에서 실행합니다.
+ * </p>
+ */
+@Service
+public class UserImportService {
+
+    private static final String CSV_HEADER = "usrNm,usrTel,usrBirth";
+    private static final int CSV_FIELDS = 3;
+
+    private final UserIngestService userIngestService;
+    private final UserImportCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.chunk-size:2000}")
+    private int chunkSize;
+
+    // 파일을 한 번에 읽는 크기 (한 줄이 이보다 길면 가져오기 실패)
+    @Value("${app.import.read-buffer-bytes:4194304}")
+    private int readBufferBytes;
+
+    // 동시에 암호화/인코딩하는 묶음 수 (0 이면 CPU 코어 수)
+    @Value("${app.import.pipeline-depth:0}")
+    private int pipelineDepth;
+
+    // 관리 API로 가져올 수 있는 파일의 디렉터리
+    @Value("${app.import.directory:./import}")
+    private String directory;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 진행 상황 조회용 (실행 중에는 가져오기 스레드만 갱신)
+    private volatile UserImportCheckpoint current;
+    private volatile long runStartedNanos;
+    private volatile long runImported;
+
+    public UserImportService(UserIngestService userIngestService, UserImportCheckpointRepository checkpointRepository,
+                             TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.userIngestService = userIngestService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * app.import.directory 안의 파일 경로로 바꿉니다.
+     * @throws IllegalArgumentException 디렉터리 밖을 가리키거나 파일이 없는 경우
+     */
+    public Path resolveInImportDirectory(String fileName) {
+        Path base = Paths.get(directory).toAbsolutePath().normalize();
+        Path file = base.resolve(fileName).normalize();
+        if (!file.startsWith(base) || file.equals(base)) {
+            throw new IllegalArgumentException("가져오기 디렉터리(" + base + ") 안의 파일만 지정할 수 있습니다.");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("파일을 찾을 수 없습니다: " + fileName);
+        }
+        return file;
+    }
+
+    /**
+     * 가져오기를 백그라운드 스레드에서 시작(또는 마지막 위치부터 재개)합니다. 이미 실행 중이면 false를 반환합니다.
+     * @param restart true면 진행 위치를 버리고 파일 처음부터 다시 가져옴
+     */
+    public boolean start(Path file, boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Path target = file.toAbsolutePath().normalize();
+        current = checkpointRepository.findById(target.toString()).orElse(null);
+        Thread worker = new Thread(() -> run(target, restart), "user-import");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    /**
+     * 가져오기를 호출한 스레드에서 끝날 때까지 실행합니다. (명령행 실행용)
+     * @return 실행이 끝난 뒤의 진행 상황
+     * @throws IllegalStateException 이미 다른 가져오기가 실행 중인 경우
+     */
+    public UserImportProgressDto runImport(Path file, boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("사용자 파일 가져오기가 이미 실행 중입니다.");
+        }
+        Path target = file.toAbsolutePath().normalize();
+        run(target, restart);
+        return getProgress(target);
+    }
+
+    /**
+     * 실행 중인 가져오기를 멈춥니다. 준비 중인 묶음까지 저장한 뒤 위치를 기록하고 종료합니다.
+     */
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 파일의 진행 상황을 반환합니다.
+     * @param file 조회할 파일 (null이면 마지막으로 시작한 가져오기)
+     */
+    public UserImportProgressDto getProgress(Path file) {
+        UserImportCheckpoint checkpoint = current;
+        if (file != null) {
+            String filePath = file.toAbsolutePath().normalize().toString();
+            if (checkpoint == null || !checkpoint.getFilePath().equals(filePath)) {
+                checkpoint = checkpointRepository.findById(filePath).orElse(null);
+            }
+        }
+
+        UserImportProgressDto progress = new UserImportProgressDto();
+        progress.setRunning(running.get());
+        if (checkpoint != null) {
+            progress.setFilePath(checkpoint.getFilePath());
+            progress.setStatus(checkpoint.getStatus());
+            progress.setFileSize(checkpoint.getFileSize());
+            progress.setByteOffset(checkpoint.getByteOffset());
+            progress.setLineCount(checkpoint.getLineCount());
+            progress.setImported(checkpoint.getImported());
+            progress.setSkipped(checkpoint.getSkipped());
+            progress.setInvalid(checkpoint.getInvalid());
+            progress.setError(checkpoint.getError());
+            progress.setUpdatedAt(checkpoint.getUpdatedAt());
+            if (checkpoint.getFileSize() == 0 || UserImportCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+                progress.setPercent(100.0);
+            } else {
+                progress.setPercent(Math.min(100.0, checkpoint.getByteOffset() * 100.0 / checkpoint.getFileSize()));
+            }
+        }
+        if (running.get()) {
+            double elapsedSeconds = (System.nanoTime() - runStartedNanos) / 1_000_000_000.0;
+            progress.setRowsPerSecond(elapsedSeconds > 0 ? runImported / elapsedSeconds : 0.0);
+        }
+        return progress;
+    }
+
+    private void run(Path file, boolean restart) {
+        runStartedNanos = System.nanoTime();
+        runImported = 0L;
+        UserImportCheckpoint checkpoint = null;
+        String status = UserImportCheckpoint.STATUS_FAILED;
+        String error = null;
+        try {
+            String filePath = file.toString();
+            long fileSize = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            checkpoint = checkpointRepository.findById(filePath).orElse(null);
+            boolean sameFile = checkpoint != null
+                    && checkpoint.getFileSize() == fileSize && checkpoint.getFileLastModified() == lastModified;
+            if (checkpoint != null && !restart) {
+                if (!sameFile && checkpoint.getByteOffset() > 0) {
+                    // 기록된 위치가 다른 내용의 중간일 수 있으므로 이어서 읽지 않습니다.
+                    throw new IllegalStateException("마지막 실행 이후 파일이 바뀌었습니다. 처음부터 가져오려면 restart를 지정하세요.");
+                }
+                if (sameFile && UserImportCheckpoint.STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+                    System.out.println("사용자 파일 가져오기가 이미 완료된 파일입니다: " + filePath);
+                    current = checkpoint;
+                    status = UserImportCheckpoint.STATUS_COMPLETED;
+                    error = checkpoint.getError();
+                    return;
+                }
+            }
+            if (checkpoint == null || restart || !sameFile) {
+                checkpoint = new UserImportCheckpoint(filePath, fileSize, lastModified);
+            }
+            checkpoint.setStatus(UserImportCheckpoint.STATUS_RUNNING);
+            checkpoint.setError(null);
+            current = checkpoint = saveCheckpoint(checkpoint);
+
+            boolean finished = importFrom(file, checkpoint);
+            status = finished ? UserImportCheckpoint.STATUS_COMPLETED : UserImportCheckpoint.STATUS_STOPPED;
+            checkpoint = current;
+            error = checkpoint.getError();
+            System.out.println("사용자 파일 가져오기 " + (finished ? "완료" : "중지") + ": 이번 실행에서 " + runImported
+                    + "명 저장 (위치: " + checkpoint.getByteOffset() + "/" + checkpoint.getFileSize() + " bytes, "
+                    + (System.nanoTime() - runStartedNanos) / 1_000_000 + " ms)");
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            System.err.println("!!! [오류] 사용자 파일 가져오기 중단 (" + file + "): " + error);
+            cause.printStackTrace();
+            if (checkpoint != null) {
+                // 실패한 묶음에서 바꾼 값은 롤백되었으므로 마지막으로 커밋된 위치를 다시 읽습니다.
+                checkpoint = checkpointRepository.findById(checkpoint.getFilePath()).orElse(checkpoint);
+            }
+        } finally {
+            if (checkpoint != null) {
+                checkpoint.setStatus(status);
+                checkpoint.setError(truncate(error));
+                try {
+                    current = saveCheckpoint(checkpoint);
+                } catch (Exception e) {
+                    System.err.println("!!! [오류] 사용자 파일 가져오기 진행 위치 기록 실패: " + e.getMessage());
+                }
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * 진행 위치부터 파일 끝까지 묶음 단위로 가져옵니다.
+     * @return 파일 끝까지 가져왔으면 true, 중지 요청으로 멈췄으면 false
+     */
+    private boolean importFrom(Path file, UserImportCheckpoint checkpoint) throws IOException {
+        Format format = Format.of(file);
+        int depth = pipelineDepth > 0 ? pipelineDepth : Runtime.getRuntime().availableProcessors();
+        System.out.println("사용자 파일 가져오기 시작 (" + file + ", 형식: " + format + ", 시작 위치: "
+                + checkpoint.getByteOffset() + "/" + checkpoint.getFileSize() + " bytes, 묶음 크기: " + chunkSize
+                + ", 동시 준비 묶음: " + depth + ")");
+        ArrayDeque<PendingImport> pending = new ArrayDeque<>();
+        try (LineReader reader = new LineReader(file, checkpoint.getByteOffset(), checkpoint.getLineCount(),
+                readBufferBytes, format, objectMapper.readerFor(UserCreateDto.class))) {
+            boolean finished = false;
+            while (running.get()) {
+                ImportChunk chunk = reader.nextChunk(chunkSize);
+                if (chunk == null) {
+                    finished = true;
+                    break;
+                }
+                // 준비된 묶음부터 순서대로 저장하는 동안 뒤의 묶음들이 병렬로 암호화됩니다.
+                pending.addLast(new PendingImport(chunk, chunk.users().isEmpty()
+                        ? CompletableFuture.completedFuture(null)
+                        : userIngestService.submitEncode(chunk.users(), false)));
+                if (pending.size() >= depth) {
+                    commit(checkpoint, pending.removeFirst());
+                }
+            }
+            // 중지 요청을 받았어도 이미 읽은 묶음은 저장합니다.
+            while (!pending.isEmpty()) {
+                commit(checkpoint, pending.removeFirst());
+            }
+            return finished;
+        } finally {
+            // 실패로 빠져나온 경우 남은 묶음의 작업이 끝날 때까지 기다리지 않고 결과를 버립니다.
+            pending.forEach(p -> p.encoded().cancel(false));
+        }
+    }
+
+    /**
+     * 준비된 묶음을 저장하고, 같은 트랜잭션에서 진행 위치를 묶음의 끝으로 옮깁니다.
+     */
+    private void commit(UserImportCheckpoint checkpoint, PendingImport pending) {
+        ImportChunk chunk = pending.chunk();
+        try {
+            UserIngestService.EncodedChunk encoded = awaitEncoded(pending.encoded());
+            transactionTemplate.executeWithoutResult(status -> {
+                long inserted = encoded != null ? userIngestService.copyEncoded(encoded) : 0;
+                advance(checkpoint, chunk, inserted, 0);
+            });
+        } catch (IllegalStateException e) {
+            // 이미 등록된 전화번호(또는 파일 안의 중복)가 있어 COPY가 롤백되었습니다. 기존 사용자는 건너뛰고 다시 저장합니다.
+            // (인코딩 단계는 다른 형식의 인덱스만 확인하므로 같은 형식의 기존 전화번호는 COPY의 unique 제약 위반으로 드러남)
+            // 다른 형식(기존 SHA-256 인덱스 등)으로 등록된 전화번호는 upsert가 거절하므로 먼저 빼고 건너뛴 것으로 셉니다.
+            transactionTemplate.executeWithoutResult(status -> {
+                List<UserCreateDto> users = userIngestService.withoutTelsRegisteredInOtherFormat(chunk.users());
+                int otherFormat = chunk.users().size() - users.size();
+                if (otherFormat > 0) {
+                    checkpoint.setError(chunk.endLine() + "번째 줄까지의 묶음에서 다른 형식으로 등록된 전화번호 "
+                            + otherFormat + "건을 건너뛰었습니다.");
+                }
+                UserUpsertResultDto result = userIngestService.upsert(users, false);
+                advance(checkpoint, chunk, result.getInserted(), result.getSkipped() + result.getDuplicates() + otherFormat);
+            });
+        }
+    }
+
+    /**
+     * 묶음의 인코딩이 끝날 때까지 기다립니다. 인코딩 단계에서 던진 예외(예: 이미 등록된 전화번호)는 그대로 다시 던집니다.
+     */
+    private static UserIngestService.EncodedChunk awaitEncoded(CompletableFuture<UserIngestService.EncodedChunk> encoded) {
+        try {
+            return encoded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void advance(UserImportCheckpoint checkpoint, ImportChunk chunk, long inserted, long skipped) {
+        checkpoint.setByteOffset(chunk.endOffset());
+        checkpoint.setLineCount(chunk.endLine());
+        checkpoint.setImported(checkpoint.getImported() + inserted);
+        checkpoint.setSkipped(checkpoint.getSkipped() + skipped);
+        checkpoint.setInvalid(checkpoint.getInvalid() + chunk.invalid());
+        if (chunk.error() != null) {
+            checkpoint.setError(truncate(chunk.error()));
+        }
+        current = saveCheckpoint(checkpoint);
+        runImported += inserted;
+    }
+
+    private UserImportCheckpoint saveCheckpoint(UserImportCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= UserImportCheckpoint.ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, UserImportCheckpoint.ERROR_LENGTH);
+    }
+
+    /**
+     * 한 줄을 CSV 필드로 나눕니다. 큰따옴표로 감싼 필드 안의 쉼표와 두 번 쓴 큰따옴표("")를 처리합니다.
+     * @throws IllegalArgumentException 필드가 usrNm,usrTel,usrBirth 세 개가 아니거나 따옴표가 닫히지 않은 경우
+     */
+    static UserCreateDto parseCsv(String line) {
+        List<String> fields = new ArrayList<>(CSV_FIELDS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 큰따옴표가 있습니다.");
+        }
+        fields.add(field.toString());
+        if (fields.size() != CSV_FIELDS) {
+            throw new IllegalArgumentException("필드가 " + CSV_FIELDS + "개(" + CSV_HEADER + ")여야 하지만 "
+                    + fields.size() + "개입니다.");
+        }
+        return new UserCreateDto(fields.get(0), fields.get(1), fields.get(2));
+    }
+
+    /**
+     * 파일 확장자로 정하는 가져오기 형식.
+     */
+    enum Format {
+        // usrNm,usrTel,usrBirth (첫 줄이 이 헤더면 건너뜀)
+        CSV,
+        // 한 줄에 UserCreateDto JSON 객체 하나
+        NDJSON;
+
+        static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다 (.csv, .ndjson, .jsonl): " + file.getFileName());
+        }
+    }
+
+    /**
+     * 파일에서 읽은 한 묶음. endOffset은 묶음의 마지막 줄 다음 위치, endLine은 그 위치까지의 줄 수입니다.
+     */
+    private record ImportChunk(List<UserCreateDto> users, long endOffset, long endLine, int invalid, String error) {
+    }
+
+    private record PendingImport(ImportChunk chunk, CompletableFuture<UserIngestService.EncodedChunk> encoded) {
+    }
+
+    /**
+     * FileChannel을 지정한 위치부터 고정 크기 버퍼로 읽으며 줄을 나누는 리더.
+     * 줄은 버퍼 안에서 바로 파싱하고, 버퍼 끝에 걸친 줄은 남은 부분을 앞으로 옮긴 뒤 이어서 읽습니다.
+     */
+    private static final class LineReader implements Closeable {
+
+        private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final Format format;
+        private final ObjectReader jsonReader;
+
+        private long bufferOffset; // buffer[0]의 파일 위치
+        private long lineNumber; // 지금까지 읽은 줄 수
+        private int scanFrom; // 줄바꿈을 아직 찾지 않은 버퍼 위치
+        private boolean eof;
+        private int lineStart;
+        private int lineEnd;
+
+        LineReader(Path file, long offset, long lineNumber, int bufferBytes, Format format, ObjectReader jsonReader)
+                throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.channel.position(offset);
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+            this.buffer.limit(0);
+            this.bufferOffset = offset;
+            this.lineNumber = lineNumber;
+            this.format = format;
+            this.jsonReader = jsonReader;
+        }
+
+        /**
+         * 최대 maxUsers명을 읽습니다. 건너뛴 줄(헤더, 빈 줄, 잘못된 줄)만 있는 묶음도 진행 위치를 위해 반환합니다.
+         * @return 파일 끝이면 null
+         */
+        ImportChunk nextChunk(int maxUsers) throws IOException {
+            List<UserCreateDto> users = new ArrayList<>(maxUsers);
+            int lines = 0;
+            int invalid = 0;
+            String error = null;
+            while (users.size() < maxUsers && nextLine()) {
+                lines++;
+                lineNumber++;
+                long lineOffset = bufferOffset + lineStart;
+                byte[] bytes = buffer.array();
+                int start = lineStart;
+                int end = lineEnd;
+                if (end > start && bytes[end - 1] == '\r') {
+                    end--;
+                }
+                if (lineOffset == 0 && startsWith(bytes, start, end, UTF8_BOM)) {
+                    start += UTF8_BOM.length;
+                }
+                if (isBlank(bytes, start, end)) {
+                    continue;
+                }
+                try {
+                    if (format == Format.CSV) {
+                        String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                        if (lineOffset == 0 && line.trim().equalsIgnoreCase(CSV_HEADER)) {
+                            continue;
+                        }
+                        users.add(parseCsv(line));
+                    } else {
+                        UserCreateDto user = jsonReader.readValue(bytes, start, end - start);
+                        if (user == null) {
+                            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+                        }
+                        users.add(user);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    invalid++;
+                    if (error == null) {
+                        error = lineNumber + "번째 줄을 건너뛰었습니다: " + e.getMessage();
+                    }
+                }
+            }
+            if (lines == 0) {
+                return null;
+            }
+            return new ImportChunk(users, bufferOffset + buffer.position(), lineNumber, invalid, error);
+        }
+
+        /**
+         * 다음 줄의 위치를 lineStart/lineEnd(줄바꿈 제외)에 담습니다.
+         * @return 더 읽을 줄이 없으면 false
+         * @throws IllegalStateException 한 줄이 버퍼보다 긴 경우
+         */
+        private boolean nextLine() throws IOException {
+            while (true) {
+                byte[] bytes = buffer.array();
+                int start = buffer.position();
+                int limit = buffer.limit();
+                for (int i = scanFrom; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        lineStart = start;
+                        lineEnd = i;
+                        buffer.position(i + 1);
+                        scanFrom = i + 1;
+                        return true;
+                    }
+                }
+                scanFrom = limit;
+                if (eof) {
+                    if (start == limit) {
+                        return false;
+                    }
+                    // 줄바꿈 없이 끝나는 마지막 줄
+                    lineStart = start;
+                    lineEnd = limit;
+                    buffer.position(limit);
+                    return true;
+                }
+                if (start == 0 && limit == buffer.capacity()) {
+                    throw new IllegalStateException((lineNumber + 1) + "번째 줄이 읽기 버퍼("
+                            + buffer.capacity() + " bytes)보다 깁니다.");
+                }
+                // 남은 부분을 버퍼 앞으로 옮기고 이어서 읽습니다.
+                bufferOffset += start;
+                scanFrom -= start;
+                buffer.compact();
+                int read = channel.read(buffer);
+                buffer.flip();
+                if (read < 0) {
+                    eof = true;
+                }
+            }
+        }
+
+        private static boolean startsWith(byte[] bytes, int start, int end, byte[] prefix) {
+            if (end - start < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (bytes[start + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isBlank(byte[] bytes, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (bytes[i] != ' ' && bytes[i] != '\t') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
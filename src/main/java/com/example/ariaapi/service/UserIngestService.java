@@ -0,0 +1,581 @@
+package com.example.ariaapi.service;
+
+import com.example.ariaapi.cache.DecryptedUserCache;
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserIngestChunkResultDto;
+import com.example.ariaapi.dto.response.UserIngestResultDto;
+import com.example.ariaapi.dto.response.UserUpsertResultDto;
+import com.example.ariaapi.dto.response.UserUpsertRowResultDto;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.UserBulkWriter;
+import com.example.ariaapi.repository.UserCopyRows;
+import com.example.ariaapi.util.IdRanges;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대량 사용자 등록(온보딩) 서비스.
+ * <p>
+ * 요청을 chunk-size 건씩 나누어 암호화, 블라인드 인덱스 계산, COPY 바이너리 인코딩까지를 병렬 단계에서 처리하고,
+ * 인코딩이 끝난 묶음부터 순서대로 하나의 COPY 스트림({@link UserBulkWriter})에 흘려보냅니다.
+ * 동시에 준비하는 묶음은 pipeline-depth개로 제한하여 요청 크기와 관계없이 인코딩 버퍼 사용량이 일정합니다.
+ * 병렬 단계는 DB를 쓰지 않는 작업만 전용 스레드 풀에서 실행하고, 전화번호 중복 확인과 id 예약은 묶음을 넘기기 전에
+ * 호출한 스레드에서 합니다. (묶음마다 커넥션을 따로 잡지 않으며, 단일 트랜잭션 등록에서는 그 트랜잭션의 커넥션을 사용)
+ * JPA 엔티티를 영속화하지 않으며, 응답으로는 저장한 사용자 수와 ID 구간만 반환합니다.
+ * </p>
+ * <p>
+ * {@link #ingest(Iterator)}는 전체가 하나의 트랜잭션이므로, 전화번호 중복 등으로 한 행이라도 실패하면 모두 롤백됩니다.
+ * {@link #ingestInChunks(InputStream)}는 요청 본문을 스트리밍으로 파싱하며 묶음마다 따로 커밋합니다.
+ * 이미 등록된 전화번호를 다시 보낼 수 있는 경우에는 {@link #upsert(List, boolean)}를 사용합니다.
+ * </p>
+ */
+@Service
+public class UserIngestService {
+
+    private static final int FIELDS_PER_USER = 3;
+    private static final String UNIQUE_VIOLATION = "23505"; // PostgreSQL SQLSTATE
+
+    private final AriaCryptoService ariaCryptoService;
+    private final BlindIndexService blindIndexService;
+    private final UserService userService;
+    private final UserBulkWriter userBulkWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final DecryptedUserCache decryptedUserCache;
+
+    @Value("${app.users.ingest.chunk-size:2000}")
+    private int chunkSize;
+
+    // 동시에 암호화/인코딩하는 묶음 수 (0 이면 CPU 코어 수)
+    @Value("${app.users.ingest.pipeline-depth:0}")
+    private int pipelineDepth;
+
+    // 병렬 단계(암호화, 인코딩) 전용 스레드 풀 (pipeline-depth개)
+    private ExecutorService encodeExecutor;
+
+    @Value("${app.users.upsert.max-rows:10000}")
+    private int upsertMaxRows;
+
+    // INSERT ... ON CONFLICT 한 문장에 담는 행 수 (행마다 파라미터 11개, PostgreSQL 한도 32767개)
+    @Value("${app.users.upsert.statement-rows:500}")
+    private int upsertStatementRows;
+
+    public UserIngestService(AriaCryptoService ariaCryptoService, BlindIndexService blindIndexService,
+                             UserService userService, UserBulkWriter userBulkWriter,
+                             TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                             DecryptedUserCache decryptedUserCache) {
+        this.ariaCryptoService = ariaCryptoService;
+        this.blindIndexService = blindIndexService;
+        this.userService = userService;
+        this.userBulkWriter = userBulkWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.decryptedUserCache = decryptedUserCache;
+    }
+
+    @PostConstruct
+    private void startEncodeExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        encodeExecutor = Executors.newFixedThreadPool(pipelineDepth(), runnable -> {
+            Thread thread = new Thread(runnable, "user-ingest-encode-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void stopEncodeExecutor() {
+        encodeExecutor.shutdownNow();
+    }
+
+    private int pipelineDepth() {
+        return pipelineDepth > 0 ? pipelineDepth : Runtime.getRuntime().availableProcessors();
+    }
+
+    public UserIngestResultDto ingest(List<UserCreateDto> dtoList) {
+        return ingest(dtoList.iterator());
+    }
+
+    /**
+     * 사용자들을 암호화하여 COPY로 일괄 등록합니다.
+     * @param users 등록할 사용자 (순서대로 한 번만 읽음)
+     * @return 요청/저장 건수와 저장된 ID 구간
+     * @throws IllegalStateException 이미 등록된 전화번호가 있는 경우
+     */
+    public UserIngestResultDto ingest(Iterator<UserCreateDto> users) {
+        long start = System.nanoTime();
+        IdCollector ids = new IdCollector();
+        long[] requested = new long[1];
+        Long inserted = transactionTemplate.execute(status -> {
+            try {
+                return copyAll(users, ids, requested);
+            } catch (SQLException e) {
+                throw translate(e);
+            }
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("사용자 일괄 등록 완료: " + inserted + "명 (" + elapsedMillis + " ms)");
+        return new UserIngestResultDto(requested[0], inserted != null ? inserted : 0, ids.toRanges(), elapsedMillis);
+    }
+
+    private long copyAll(Iterator<UserCreateDto> users, IdCollector ids, long[] requested) throws SQLException {
+        int depth = pipelineDepth();
+        ArrayDeque<CompletableFuture<EncodedChunk>> pending = new ArrayDeque<>();
+        try (UserBulkWriter.CopySession copy = userBulkWriter.beginCopy()) {
+            try {
+                while (users.hasNext()) {
+                    List<UserCreateDto> chunk = new ArrayList<>(chunkSize);
+                    while (chunk.size() < chunkSize && users.hasNext()) {
+                        chunk.add(users.next());
+                    }
+                    requested[0] += chunk.size();
+                    pending.addLast(submitEncode(chunk, true));
+                    // 준비된 묶음부터 순서대로 쓰는 동안 뒤의 묶음들이 병렬로 암호화됩니다.
+                    if (pending.size() >= depth) {
+                        writeChunk(copy, pending.removeFirst().join(), ids);
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    writeChunk(copy, pending.removeFirst().join(), ids);
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            } finally {
+                // 실패로 빠져나온 경우 남은 묶음의 작업이 끝날 때까지 기다리지 않고 결과를 버립니다.
+                pending.forEach(future -> future.cancel(false));
+            }
+            return copy.finish();
+        }
+    }
+
+    /**
+     * JSON 배열 요청 본문을 한 번에 읽지 않고 원소 하나씩 파싱하며, 묶음마다 따로 커밋합니다.
+     * <p>
+     * 요청 크기와 관계없이 메모리에는 준비 중인 묶음(pipeline-depth개)만 올라갑니다.
+     * 한 묶음이 실패(전화번호 중복 등)해도 그 묶음만 롤백되고 앞뒤 묶음은 그대로 저장되며,
+     * 결과는 묶음별로 보고합니다. 본문 중간에 JSON 형식 오류가 있으면 그 앞까지 읽은 행만 처리하고 멈춥니다.
+     * </p>
+     * @param body JSON 배열 형식의 요청 본문 (닫지 않음)
+     * @throws IllegalArgumentException 본문이 JSON 배열로 시작하지 않는 경우
+     */
+    public UserIngestResultDto ingestInChunks(InputStream body) throws IOException {
+        long start = System.nanoTime();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("요청 본문은 JSON 배열이어야 합니다.");
+            }
+            UserCreateDtoReader users = new UserCreateDtoReader(parser, objectMapper.readerFor(UserCreateDto.class));
+
+            int depth = pipelineDepth();
+            ArrayDeque<PendingChunk> pending = new ArrayDeque<>();
+            List<UserIngestChunkResultDto> results = new ArrayList<>();
+            long requested = 0;
+            String error = null;
+            boolean more = true;
+            while (more) {
+                List<UserCreateDto> chunk = new ArrayList<>(chunkSize);
+                try {
+                    while (chunk.size() < chunkSize && users.hasNext()) {
+                        chunk.add(users.next());
+                    }
+                    more = chunk.size() == chunkSize;
+                } catch (RuntimeException e) {
+                    error = (requested + chunk.size()) + "번째 행 다음부터 요청 본문을 읽을 수 없습니다: " + e.getMessage();
+                    more = false;
+                }
+                if (!chunk.isEmpty()) {
+                    pending.addLast(new PendingChunk(results.size() + pending.size(), requested, chunk.size(),
+                            submitEncode(chunk, true)));
+                    requested += chunk.size();
+                }
+                if (pending.size() >= depth) {
+                    results.add(commitChunk(pending.removeFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                results.add(commitChunk(pending.removeFirst()));
+            }
+
+            long inserted = 0;
+            for (UserIngestChunkResultDto result : results) {
+                inserted += result.getInserted();
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("사용자 묶음 단위 등록 완료: " + inserted + "/" + requested + "명, 묶음 " + results.size()
+                    + "개 (" + elapsedMillis + " ms)");
+            // 전체 ID 구간은 모으지 않고 묶음별로만 보고합니다. (행 수에 비례하는 메모리를 쓰지 않음)
+            return new UserIngestResultDto(requested, inserted, requested - inserted, null, elapsedMillis, results, error);
+        }
+    }
+
+    /**
+     * 전화번호가 다른 형식(기존 SHA-256 인덱스, BINARY 저장 시 문자열 컬럼)으로 이미 등록된 사용자를 뺀 목록을 반환합니다.
+     * {@link #upsert(List, boolean)}는 이런 사용자를 갱신할 수 없어 묶음 전체를 거절하므로, 건너뛰어도 되는 경우 먼저 걸러냅니다.
+     */
+    List<UserCreateDto> withoutTelsRegisteredInOtherFormat(List<UserCreateDto> dtoList) {
+        List<String> usrTels = new ArrayList<>();
+        for (UserCreateDto dto : dtoList) {
+            if (emptyToNull(dto.getUsrTel()) != null) {
+                usrTels.add(dto.getUsrTel());
+            }
+        }
+        Set<String> registered = userService.findTelsRegisteredInOtherFormat(usrTels);
+        if (registered.isEmpty()) {
+            return dtoList;
+        }
+        List<UserCreateDto> remaining = new ArrayList<>(dtoList.size());
+        for (UserCreateDto dto : dtoList) {
+            if (dto.getUsrTel() == null || !registered.contains(dto.getUsrTel())) {
+                remaining.add(dto);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * 전화번호 블라인드 인덱스를 키로 사용자들을 upsert 합니다. 같은 요청을 다시 보내도 한 번의 호출로 끝납니다.
+     * <p>
+     * 요청 안에서 전화번호가 겹치면 뒤쪽 행만 저장하고(앞쪽은 DUPLICATE), 나머지를 statement-rows건씩
+     * INSERT ... ON CONFLICT 문장으로 한 트랜잭션 안에서 저장합니다. 전화번호가 없는 행은 항상 새로 저장됩니다.
+     * 갱신된 사용자는 복호화 캐시에서 즉시, 그리고 커밋 후에 한 번 더 무효화합니다.
+     * </p>
+     * @param dtoList          저장할 사용자 (최대 app.users.upsert.max-rows건)
+     * @param updateOnConflict true면 기존 사용자를 새 값으로 갱신, false면 기존 사용자를 그대로 두고 건너뜀
+     * @return 건수와 요청 순서대로의 행별 결과 (INSERTED, UPDATED, SKIPPED, DUPLICATE)
+     * @throws IllegalArgumentException 요청 건수가 최대 건수를 넘는 경우
+     * @throws IllegalStateException    전화번호가 다른 형식(기존 SHA-256 등)으로 이미 등록되어 있는 경우
+     */
+    public UserUpsertResultDto upsert(List<UserCreateDto> dtoList, boolean updateOnConflict) {
+        if (dtoList.size() > upsertMaxRows) {
+            throw new IllegalArgumentException("한 번에 최대 " + upsertMaxRows + "명까지 저장할 수 있습니다.");
+        }
+        long start = System.nanoTime();
+        boolean binaryIndex = blindIndexService.isBinaryStorage();
+        String[] statuses = new String[dtoList.size()];
+        Long[] ids = new Long[dtoList.size()];
+
+        // 1. 블라인드 인덱스를 먼저 계산하여 요청 안의 중복 전화번호를 제거합니다. (마지막 행 우선)
+        List<User> users = new ArrayList<>(dtoList.size());
+        Map<Object, Integer> rowByTel = new HashMap<>();
+        for (int i = 0; i < dtoList.size(); i++) {
+            UserCreateDto dto = dtoList.get(i);
+            User user = new User();
+            blindIndexService.applyIndexes(user, dto.getUsrNm(), dto.getUsrTel(), dto.getUsrBirth());
+            users.add(user);
+            Object telKey = telKey(user.getUsrTelHash(), user.getUsrTelHashBin(), binaryIndex);
+            if (telKey != null) {
+                Integer previous = rowByTel.put(telKey, i);
+                if (previous != null) {
+                    statuses[previous] = UserUpsertRowResultDto.DUPLICATE;
+                }
+            }
+        }
+        List<Integer> rows = new ArrayList<>(dtoList.size());
+        List<String> usrTels = new ArrayList<>();
+        for (int i = 0; i < dtoList.size(); i++) {
+            if (statuses[i] == null) {
+                rows.add(i);
+                if (emptyToNull(dtoList.get(i).getUsrTel()) != null) {
+                    usrTels.add(dtoList.get(i).getUsrTel());
+                }
+            }
+        }
+        // 같은 형식의 기존 행은 갱신 대상이므로 다른 형식의 컬럼만 확인합니다.
+        userService.checkTelsNotRegisteredInOtherFormat(usrTels, false);
+
+        // 2. 남은 행을 한 번에 암호화하고 새 id를 붙입니다. (갱신된 행은 기존 id를 유지하며 받은 id는 버려짐)
+        List<String> plainTexts = new ArrayList<>(rows.size() * FIELDS_PER_USER);
+        for (int row : rows) {
+            UserCreateDto dto = dtoList.get(row);
+            plainTexts.add(emptyToNull(dto.getUsrNm()));
+            plainTexts.add(emptyToNull(dto.getUsrTel()));
+            plainTexts.add(emptyToNull(dto.getUsrBirth()));
+        }
+        List<byte[]> cipherTexts;
+        try {
+            cipherTexts = ariaCryptoService.encryptAll(plainTexts);
+        } catch (Exception e) {
+            System.err.println("upsert 중 암호화 오류 발생: " + e.getMessage());
+            throw new RuntimeException("사용자 데이터를 암호화할 수 없습니다.", e);
+        }
+        long[] newIds = userBulkWriter.reserveIds(rows.size());
+        Map<Long, Integer> rowByNewId = new HashMap<>();
+        List<User> pending = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            User user = users.get(rows.get(i));
+            user.setId(newIds[i]);
+            user.setUsrNmEnc(cipherTexts.get(i * FIELDS_PER_USER));
+            user.setUsrTelEnc(cipherTexts.get(i * FIELDS_PER_USER + 1));
+            user.setUsrBirthEnc(cipherTexts.get(i * FIELDS_PER_USER + 2));
+            rowByNewId.put(newIds[i], rows.get(i));
+            pending.add(user);
+        }
+
+        // 3. statement-rows건씩 INSERT ... ON CONFLICT 문장으로 저장합니다.
+        List<Long> updatedIds = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < pending.size(); from += upsertStatementRows) {
+                List<User> statement = pending.subList(from, Math.min(from + upsertStatementRows, pending.size()));
+                for (UserBulkWriter.UpsertedRow result : userBulkWriter.upsert(statement, binaryIndex, updateOnConflict)) {
+                    Integer row = result.inserted()
+                            ? rowByNewId.get(result.id())
+                            : rowByTel.get(telKey(result.usrTelHash(), result.usrTelHashBin(), binaryIndex));
+                    if (row == null) {
+                        continue;
+                    }
+                    statuses[row] = result.inserted() ? UserUpsertRowResultDto.INSERTED : UserUpsertRowResultDto.UPDATED;
+                    ids[row] = result.id();
+                    if (!result.inserted()) {
+                        updatedIds.add(result.id());
+                    }
+                }
+            }
+            updatedIds.forEach(decryptedUserCache::invalidate);
+        });
+        // 커밋 전에 다른 요청이 이전 값을 다시 캐시에 올렸을 수 있으므로 커밋 후 한 번 더 무효화합니다.
+        updatedIds.forEach(decryptedUserCache::invalidate);
+
+        int inserted = 0;
+        int updated = 0;
+        int skipped = 0;
+        int duplicates = 0;
+        List<UserUpsertRowResultDto> results = new ArrayList<>(dtoList.size());
+        for (int i = 0; i < dtoList.size(); i++) {
+            String rowStatus = statuses[i] != null ? statuses[i] : UserUpsertRowResultDto.SKIPPED; // DO NOTHING으로 반환되지 않은 행
+            switch (rowStatus) {
+                case UserUpsertRowResultDto.INSERTED -> inserted++;
+                case UserUpsertRowResultDto.UPDATED -> updated++;
+                case UserUpsertRowResultDto.DUPLICATE -> duplicates++;
+                default -> skipped++;
+            }
+            results.add(new UserUpsertRowResultDto(i, ids[i], rowStatus));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("사용자 upsert 완료: 추가 " + inserted + ", 갱신 " + updated + ", 건너뜀 " + skipped
+                + ", 중복 " + duplicates + " (" + elapsedMillis + " ms)");
+        return new UserUpsertResultDto(dtoList.size(), inserted, updated, skipped, duplicates, elapsedMillis, results);
+    }
+
+    /**
+     * 전화번호 블라인드 인덱스를 요청 안의 중복 확인과 결과 매칭에 쓰는 키로 바꿉니다. (전화번호가 없으면 null)
+     */
+    private static Object telKey(String usrTelHash, byte[] usrTelHashBin, boolean binaryIndex) {
+        if (binaryIndex) {
+            return usrTelHashBin != null ? ByteBuffer.wrap(usrTelHashBin) : null;
+        }
+        return usrTelHash;
+    }
+
+    /**
+     * 준비된 묶음 하나를 별도 트랜잭션의 COPY로 저장하고 커밋합니다. 실패하면 그 묶음만 롤백하고 결과에 이유를 남깁니다.
+     */
+    private UserIngestChunkResultDto commitChunk(PendingChunk chunk) {
+        try {
+            EncodedChunk encoded = chunk.encoded().join();
+            long inserted = copyEncoded(encoded);
+            return new UserIngestChunkResultDto(chunk.index(), chunk.firstRow(), chunk.rows(),
+                    (int) inserted, IdRanges.compact(encoded.ids(), encoded.ids().length), null);
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            System.err.println("사용자 묶음 " + chunk.index() + " 저장 실패: " + cause.getMessage());
+            return new UserIngestChunkResultDto(chunk.index(), chunk.firstRow(), chunk.rows(), 0, null,
+                    cause instanceof IllegalStateException ? cause.getMessage() : "묶음을 저장할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 인코딩된 묶음 하나를 COPY로 저장합니다. 이미 트랜잭션 안이면 그 트랜잭션에 참여하므로,
+     * 파일 가져오기 작업처럼 진행 위치 기록과 함께 커밋할 수 있습니다.
+     * @return 저장된 행 수
+     * @throws IllegalStateException 이미 등록된 전화번호가 포함된 경우
+     */
+    long copyEncoded(EncodedChunk encoded) {
+        Long inserted = transactionTemplate.execute(status -> {
+            try (UserBulkWriter.CopySession copy = userBulkWriter.beginCopy()) {
+                copy.write(encoded.rows());
+                return copy.finish();
+            } catch (SQLException e) {
+                throw translate(e);
+            }
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * COPY 오류를 서비스 예외로 바꿉니다. usr_tel_hash unique 제약 위반은 {@link IllegalStateException}입니다.
+     */
+    private static RuntimeException translate(SQLException e) {
+        if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+            // 요청 안의 중복 또는 이미 등록된 전화번호
+            return new IllegalStateException("이미 등록된 전화번호가 포함되어 있습니다.", e);
+        }
+        System.err.println("사용자 일괄 등록(COPY) 중 오류 발생: " + e.getMessage());
+        return new RuntimeException("사용자를 일괄 등록할 수 없습니다.", e);
+    }
+
+    private static void writeChunk(UserBulkWriter.CopySession copy, EncodedChunk chunk, IdCollector ids) throws SQLException {
+        copy.write(chunk.rows());
+        ids.addAll(chunk.ids());
+    }
+
+    /**
+     * 한 묶음의 전화번호 중복 확인과 id 예약을 호출한 스레드에서 마친 뒤, 암호화와 인코딩만 전용 스레드 풀에 넘깁니다.
+     * 확인이나 예약이 실패하면 실패한 future를 반환하므로, 묶음 단위 등록에서는 그 묶음만 실패로 보고됩니다.
+     * @param includeCurrentColumn BINARY 저장 형식일 때 지금 저장하는 bytea 컬럼도 확인할지 여부
+     *                             (false면 다른 형식만 확인하고, 같은 형식의 중복은 COPY의 unique 제약 위반으로 드러남)
+     */
+    CompletableFuture<EncodedChunk> submitEncode(List<UserCreateDto> chunk, boolean includeCurrentColumn) {
+        long[] ids;
+        try {
+            List<String> usrTels = new ArrayList<>();
+            for (UserCreateDto dto : chunk) {
+                if (emptyToNull(dto.getUsrTel()) != null) {
+                    usrTels.add(dto.getUsrTel());
+                }
+            }
+            userService.checkTelsNotRegisteredInOtherFormat(usrTels, includeCurrentColumn);
+            ids = userBulkWriter.reserveIds(chunk.size());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.supplyAsync(() -> encode(chunk, ids), encodeExecutor);
+    }
+
+    /**
+     * 병렬 단계: 한 묶음을 암호화하고 블라인드 인덱스를 계산하여 미리 받은 id로 COPY 바이너리 행을 인코딩합니다.
+     * DB를 쓰지 않습니다.
+     */
+    private EncodedChunk encode(List<UserCreateDto> chunk, long[] ids) {
+        List<String> plainTexts = new ArrayList<>(chunk.size() * FIELDS_PER_USER);
+        for (UserCreateDto dto : chunk) {
+            plainTexts.add(emptyToNull(dto.getUsrNm()));
+            plainTexts.add(emptyToNull(dto.getUsrTel()));
+            plainTexts.add(emptyToNull(dto.getUsrBirth()));
+        }
+
+        List<byte[]> cipherTexts;
+        try {
+            cipherTexts = ariaCryptoService.encryptAll(plainTexts);
+        } catch (Exception e) {
+            System.err.println("일괄 등록 중 암호화 오류 발생: " + e.getMessage());
+            throw new RuntimeException("사용자 데이터를 암호화할 수 없습니다.", e);
+        }
+
+        UserCopyRows rows = new UserCopyRows(chunk.size());
+        User user = new User(); // 행마다 값을 담아 인코딩하는 용도로만 재사용 (영속화하지 않음)
+        for (int i = 0; i < chunk.size(); i++) {
+            int base = i * FIELDS_PER_USER;
+            user.setUsrNmEnc(cipherTexts.get(base));
+            user.setUsrTelEnc(cipherTexts.get(base + 1));
+            user.setUsrBirthEnc(cipherTexts.get(base + 2));
+            blindIndexService.applyIndexes(user, plainTexts.get(base), plainTexts.get(base + 1), plainTexts.get(base + 2));
+            rows.add(ids[i], user);
+        }
+        return new EncodedChunk(rows, ids);
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    record EncodedChunk(UserCopyRows rows, long[] ids) {
+    }
+
+    private record PendingChunk(int index, long firstRow, int rows, CompletableFuture<EncodedChunk> encoded) {
+    }
+
+    /**
+     * JSON 배열의 원소를 하나씩 UserCreateDto로 읽는 반복자. 원소를 읽을 때마다 그 객체만큼만 파싱합니다.
+     */
+    private static final class UserCreateDtoReader implements Iterator<UserCreateDto> {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private JsonToken next;
+
+        UserCreateDtoReader(JsonParser parser, ObjectReader reader) {
+            this.parser = parser;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = parser.nextToken();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (next != JsonToken.START_OBJECT && next != JsonToken.END_ARRAY) {
+                    throw new IllegalArgumentException("배열의 원소는 JSON 객체여야 합니다.");
+                }
+            }
+            return next == JsonToken.START_OBJECT;
+        }
+
+        @Override
+        public UserCreateDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            try {
+                return reader.readValue(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 저장한 ID를 박싱 없이 모아 두었다가 구간 목록으로 만듭니다.
+     */
+    private static final class IdCollector {
+
+        private long[] ids = new long[1024];
+        private int size;
+
+        void addAll(long[] chunkIds) {
+            if (size + chunkIds.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + chunkIds.length, ids.length * 2));
+            }
+            System.arraycopy(chunkIds, 0, ids, size, chunkIds.length);
+            size += chunkIds.length;
+        }
+
+        String toRanges() {
+            return IdRanges.compact(ids, size);
+        }
+    }
+}
@@ -1,21 +1,47 @@
 package com.example.ariaapi.service;
 
+import com.example.ariaapi.cache.DecryptedUserCache;
+import com.example.ariaapi.crypto.CryptoRequestExecutor;
+import com.example.ariaapi.crypto.PlaintextArena;
+import com.example.ariaapi.dto.UserField;
+import com.example.ariaapi.entity.DecryptionAuditLog;
 import com.example.ariaapi.entity.User;
 import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserBatchLookupResultDto;
 import com.example.ariaapi.dto.response.UserDecryptedDto;
 import com.example.ariaapi.dto.response.UserSearchResponseDto;
 import com.example.ariaapi.exception.DecryptionException;
+import com.example.ariaapi.jfr.RepositoryQueryEvent;
+import com.example.ariaapi.jfr.UserOperationEvent;
+import com.example.ariaapi.repository.UserCiphertext;
 import com.example.ariaapi.repository.UserRepository;
 import com.example.ariaapi.util.HashingUtil;
-import jakarta.persistence.EntityNotFoundException;
+import com.example.ariaapi.util.IdRanges;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,145 +51,375 @@ public class UserService {
     private final UserRepository userRepository;
     private final AriaCryptoService ariaCryptoService;
     private final DecryptionAuditService decryptionAuditService;
+    private final BlindIndexService blindIndexService;
+    private final DecryptedUserCache decryptedUserCache;
+    private final CryptoRequestExecutor cryptoRequestExecutor;
+
+    private static final int FIELDS_PER_USER = 3; // 사용자당 암호화 필드 수 (이름, 전화번호, 생년월일)
+    private static final int TEL_CHECK_BATCH_SIZE = 1000; // 중복 전화번호 확인 쿼리 한 번에 넣는 전화번호 수 (바인드 파라미터 한도 고려)
+
+    // 일괄 조회(getDecryptedUsersByIds) 한 번에 받을 수 있는 최대 ID 수
+    @Value("${app.users.batch-lookup.max-ids:500}")
+    private int batchLookupMaxIds;
 
     @Transactional
     public User saveEncryptedUser(UserCreateDto dto) {
+        UserOperationEvent event = beginOperation();
+        boolean success = false;
         try {
             User user = new User();
             // 각 필드가 null이 아니고 비어있지 않은 경우에만 암호화 로직 수행
             if (dto.getUsrNm() != null && !dto.getUsrNm().isEmpty()) {
-                user.setUsrNm(ariaCryptoService.encrypt(dto.getUsrNm()));
-                user.setUsrNmHash(HashingUtil.sha256(dto.getUsrNm()));
+                user.setUsrNmEnc(ariaCryptoService.encryptToEnvelope(dto.getUsrNm()));
             }
             if (dto.getUsrTel() != null && !dto.getUsrTel().isEmpty()) {
-                user.setUsrTel(ariaCryptoService.encrypt(dto.getUsrTel()));
-                user.setUsrTelHash(HashingUtil.sha256(dto.getUsrTel()));
+                user.setUsrTelEnc(ariaCryptoService.encryptToEnvelope(dto.getUsrTel()));
+                checkTelNotRegisteredInOtherFormat(dto.getUsrTel());
             }
             if (dto.getUsrBirth() != null && !dto.getUsrBirth().isEmpty()) {
-                user.setUsrBirth(ariaCryptoService.encrypt(dto.getUsrBirth()));
-                user.setUsrBirthHash(HashingUtil.sha256(dto.getUsrBirth()));
+                user.setUsrBirthEnc(ariaCryptoService.encryptToEnvelope(dto.getUsrBirth()));
             }
+            // 검색용 해시는 저장 형식(app.blind-index.storage)에 맞는 컬럼에 기록합니다. (빈 값은 null)
+            blindIndexService.applyIndexes(user, dto.getUsrNm(), dto.getUsrTel(), dto.getUsrBirth());
 
-            return userRepository.save(user);
+            RepositoryQueryEvent query = beginQuery();
+            User saved = userRepository.save(user);
+            endQuery(query, "save", 1);
+            success = true;
+            return saved;
         } catch (Exception e) {
             System.err.println("사용자 데이터 암호화 중 오류 발생: " + e.getMessage());
             throw new RuntimeException("사용자 데이터를 저장할 수 없습니다.", e);
+        } finally {
+            endOperation(event, "saveEncryptedUser", 1, false, success);
         }
     }
 
+    /**
+     * 여러 사용자를 암호화하여 일괄 저장합니다.
+     * 모든 필드의 원문을 하나의 목록으로 모아 {@link AriaCryptoService#encryptAll(List)}로 한 번에 암호화하므로,
+     * 배치가 크면 요청 스레드 하나가 아닌 모든 코어에서 암호화가 수행됩니다.
+     */
     @Transactional
     public List<User> saveAllEncryptedUsers(List<UserCreateDto> dtoList) {
-        List<User> users = dtoList.stream()
-                .map(dto -> {
-                    try {
-                        User user = new User();
-                        if (dto.getUsrNm() != null && !dto.getUsrNm().isEmpty()) {
-                            user.setUsrNm(ariaCryptoService.encrypt(dto.getUsrNm()));
-                            user.setUsrNmHash(HashingUtil.sha256(dto.getUsrNm()));
-                        }
-                        if (dto.getUsrTel() != null && !dto.getUsrTel().isEmpty()) {
-                            user.setUsrTel(ariaCryptoService.encrypt(dto.getUsrTel()));
-                            user.setUsrTelHash(HashingUtil.sha256(dto.getUsrTel()));
-                        }
-                        if (dto.getUsrBirth() != null && !dto.getUsrBirth().isEmpty()) {
-                            user.setUsrBirth(ariaCryptoService.encrypt(dto.getUsrBirth()));
-                            user.setUsrBirthHash(HashingUtil.sha256(dto.getUsrBirth()));
-                        }
-                        return user;
-                    } catch (Exception e) {
-                        System.err.println("개별 사용자 데이터 암호화 중 오류 발생: " + dto.getUsrNm() + " - " + e.getMessage());
-                        throw new RuntimeException("일부 사용자 데이터를 저장할 수 없습니다.", e);
-                    }
-                })
-                .collect(Collectors.toList());
-        return userRepository.saveAll(users);
+        UserOperationEvent event = beginOperation();
+        boolean success = false;
+        try {
+            List<User> saved = encryptAndSaveAll(dtoList);
+            success = true;
+            return saved;
+        } finally {
+            endOperation(event, "saveAllEncryptedUsers", dtoList.size(), false, success);
+        }
+    }
+
+    private List<User> encryptAndSaveAll(List<UserCreateDto> dtoList) {
+        // 사용자마다 이름, 전화번호, 생년월일 순서로 3칸씩 사용합니다. 비어 있는 필드는 null로 두어 암호화하지 않습니다.
+        List<String> plainTexts = new ArrayList<>(dtoList.size() * FIELDS_PER_USER);
+        List<String> usrTels = new ArrayList<>(dtoList.size());
+        for (UserCreateDto dto : dtoList) {
+            plainTexts.add(emptyToNull(dto.getUsrNm()));
+            plainTexts.add(emptyToNull(dto.getUsrTel()));
+            plainTexts.add(emptyToNull(dto.getUsrBirth()));
+            if (emptyToNull(dto.getUsrTel()) != null) {
+                usrTels.add(dto.getUsrTel());
+            }
+        }
+        // 행마다 조회하지 않고 저장 전에 전화번호를 모아 한 번에 확인합니다.
+        checkTelsNotRegisteredInOtherFormat(usrTels);
+
+        List<byte[]> cipherTexts;
+        try {
+            cipherTexts = ariaCryptoService.encryptAll(plainTexts);
+        } catch (Exception e) {
+            System.err.println("일괄 사용자 데이터 암호화 중 오류 발생: " + e.getMessage());
+            throw new RuntimeException("일부 사용자 데이터를 저장할 수 없습니다.", e);
+        }
+
+        List<User> users = new ArrayList<>(dtoList.size());
+        for (int i = 0; i < dtoList.size(); i++) {
+            int base = i * FIELDS_PER_USER;
+            User user = new User();
+            user.setUsrNmEnc(cipherTexts.get(base));
+            user.setUsrTelEnc(cipherTexts.get(base + 1));
+            user.setUsrBirthEnc(cipherTexts.get(base + 2));
+            blindIndexService.applyIndexes(user, plainTexts.get(base), plainTexts.get(base + 1), plainTexts.get(base + 2));
+            users.add(user);
+        }
+        RepositoryQueryEvent query = beginQuery();
+        List<User> saved = userRepository.saveAll(users);
+        endQuery(query, "saveAll", saved.size());
+        return saved;
     }
 
     /**
-     * 해시된 키워드를 기반으로 사용자를 검색하고, IP 로그를 남깁니다.
+     * 블라인드 인덱스로 키워드와 일치하는 사용자를 검색하고, IP 로그를 남깁니다.
+     * 이름과 생년월일은 여러 명이 일치할 수 있으므로 id 오름차순 커서로 size명씩 나누어 반환합니다.
      *
      * @param type 검색 유형 (usrNm, usrTel, usrBirth).
      * @param keyword 검색할 값.
+     * @param afterId 이전 페이지의 마지막 id (첫 페이지는 null).
+     * @param size 한 번에 반환할 최대 사용자 수.
      * @param ipAddress 요청자의 IP 주소.
      * @param purpose 복호화의 목적.
-     * @return 복호화된 사용자 데이터를 담은 DTO.
+     * @return 복호화된 사용자 데이터 목록 (일치하는 사용자가 없으면 빈 목록).
      * @throws IllegalArgumentException 검색 유형이 유효하지 않을 경우.
-     * @throws EntityNotFoundException 해당 키워드로 사용자를 찾을 수 없을 경우.
-     * @throws DecryptionException 복호화 중 오류 발생 시.
      */
     @Transactional(readOnly = true)
-    public UserSearchResponseDto searchUserByHash(String type, String keyword, String ipAddress, String purpose) {
-        Optional<User> userOptional;
-        String hashedKeyword = HashingUtil.sha256(keyword);
-        boolean success = false;
+    public Slice<UserSearchResponseDto> searchUsersByHash(String type, String keyword, Long afterId, int size, String ipAddress, String purpose) {
+        return await(searchUsersByHashAsync(type, keyword, afterId, size, ipAddress, purpose));
+    }
+
+    /**
+     * {@link #searchUsersByHash}의 비동기 버전. DB 조회만 호출한 스레드에서 하고,
+     * 복호화는 BULK lane에서, 감사로그 기록은 I/O 스레드에서 한 뒤 future를 완료합니다.
+     * 검색 유형 오류와 lane 거절({@link RejectedExecutionException})은 실패한 future로 전달됩니다.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<Slice<UserSearchResponseDto>> searchUsersByHashAsync(String type, String keyword, Long afterId, int size,
+                                                                                  String ipAddress, String purpose) {
+        UserOperationEvent event = beginOperation();
+        CompletableFuture<Slice<UserSearchResponseDto>> result;
+        int found = 0;
 
         try {
-            switch (type) {
-                case "usrNm":
-                    userOptional = userRepository.findByUsrNmHash(hashedKeyword);
-                    break;
-                case "usrTel":
-                    userOptional = userRepository.findByUsrTelHash(hashedKeyword);
-                    break;
-                case "usrBirth":
-                    userOptional = userRepository.findByUsrBirthHash(hashedKeyword);
-                    break;
-                default:
-                    throw new IllegalArgumentException("유효하지 않은 검색 유형입니다: " + type);
+            BlindIndexService.Field field = BlindIndexService.Field.fromType(type);
+            BlindIndexService.SearchTokens tokens = blindIndexService.searchTokens(field, keyword);
+            if (tokens.isEmpty()) {
+                throw new IllegalArgumentException("검색 키워드가 비어 있습니다.");
+            }
+
+            long after = afterId != null ? afterId : 0L;
+            Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+            Slice<User> userSlice;
+            RepositoryQueryEvent query = beginQuery();
+            if (blindIndexService.isBinaryStorage()) {
+                userSlice = switch (field) {
+                    case NAME -> userRepository.findByNameIndexAfter(tokens.text(), tokens.binary(), after, pageable);
+                    case TEL -> userRepository.findByTelIndexAfter(tokens.text(), tokens.binary(), after, pageable);
+                    case BIRTH -> userRepository.findByBirthIndexAfter(tokens.text(), tokens.binary(), after, pageable);
+                };
+            } else {
+                userSlice = switch (field) {
+                    case NAME -> userRepository.findByUsrNmHashInAndIdGreaterThan(tokens.text(), after, pageable);
+                    case TEL -> userRepository.findByUsrTelHashInAndIdGreaterThan(tokens.text(), after, pageable);
+                    case BIRTH -> userRepository.findByUsrBirthHashInAndIdGreaterThan(tokens.text(), after, pageable);
+                };
             }
+            found = userSlice.getNumberOfElements();
+            endQuery(query, "search:" + field.name(), found);
+
+            List<User> users = userSlice.getContent();
+            result = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptUsers(users)).thenApply(decrypted -> {
+                List<UserSearchResponseDto> results = new ArrayList<>(decrypted.size());
+                for (UserDecryptedDto dto : decrypted) {
+                    results.add(new UserSearchResponseDto(dto.getId(), dto.getUsrNm(), dto.getUsrTel(), dto.getUsrBirth()));
+                }
+                return new SliceImpl<>(results, userSlice.getPageable(), userSlice.hasNext());
+            });
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        int count = found;
+        return cryptoRequestExecutor.afterOnIo(result, (slice, error) -> {
+            logDecryption(ipAddress, purpose, error == null, "검색: " + type + "=" + keyword);
+            endOperation(event, "searchUsersByHash", count, false, error == null);
+        });
+    }
 
-            User user = userOptional.orElseThrow(() -> new EntityNotFoundException("해당 키워드로 사용자를 찾을 수 없습니다."));
+    /**
+     * ID로 사용자를 조회하여 복호화합니다.
+     * 복호화 캐시가 켜져 있으면(app.cache.decrypted-user.enabled) 캐시에서 먼저 찾으며, 적중하면 DB 조회와 복호화를 생략합니다.
+     * 캐시 적중 여부와 관계없이 감사로그는 매번 기록합니다.
+     * 캐시 적중 시 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행하며, 조회는 리포지토리의 읽기 전용 트랜잭션에서 수행됩니다.
+     */
+    public UserDecryptedDto getDecryptedUserById(Long id, String ipAddress, String purpose) {
+        return await(getDecryptedUserByIdAsync(id, ipAddress, purpose));
+    }
+
+    /**
+     * {@link #getDecryptedUserById(Long, String, String)}의 비동기 버전. 복호화는 SINGLE lane에서, 감사로그 기록은 I/O 스레드에서 합니다.
+     * @throws IllegalArgumentException ID에 해당하는 사용자가 없는 경우 (future가 아닌 호출 시점에 던짐)
+     */
+    public CompletableFuture<UserDecryptedDto> getDecryptedUserByIdAsync(Long id, String ipAddress, String purpose) {
+        UserOperationEvent event = beginOperation();
+        UserDecryptedDto cached = decryptedUserCache.get(id);
+        if (cached != null) {
+            return cryptoRequestExecutor.afterOnIo(CompletableFuture.completedFuture(cached), (dto, error) -> {
+                logDecryption(ipAddress, purpose, true, String.valueOf(id));
+                endOperation(event, "getDecryptedUserById", 1, true, true);
+            });
+        }
 
+        RepositoryQueryEvent query = beginQuery();
+        Optional<User> found = userRepository.findById(id);
+        endQuery(query, "findById", found.isPresent() ? 1 : 0);
+        if (found.isEmpty()) {
+            endOperation(event, "getDecryptedUserById", 0, false, false);
+            throw new IllegalArgumentException("ID " + id + "에 해당하는 데이터를 찾을 수 없습니다.");
+        }
+        User user = found.get();
+
+        CompletableFuture<UserDecryptedDto> decrypted = submitDecryption(CryptoRequestExecutor.Lane.SINGLE, () -> {
             try {
-                UserSearchResponseDto result = new UserSearchResponseDto(
-                        user.getId(),
-                        ariaCryptoService.decrypt(user.getUsrNm()),
-                        ariaCryptoService.decrypt(user.getUsrTel()),
-                        ariaCryptoService.decrypt(user.getUsrBirth())
-                );
-                success = true;
-                return result;
+                UserDecryptedDto dto = new UserDecryptedDto(user.getId(),
+                        decryptField(user.getUsrNmEnc(), user.getUsrNm()),
+                        decryptField(user.getUsrTelEnc(), user.getUsrTel()),
+                        decryptField(user.getUsrBirthEnc(), user.getUsrBirth()));
+                decryptedUserCache.put(dto);
+                return dto;
             } catch (Exception e) {
                 System.err.println("사용자 데이터 복호화 중 오류 발생 (ID: " + user.getId() + "): " + e.getMessage());
                 throw new DecryptionException("사용자 데이터 복호화에 실패했습니다.", e);
             }
-        } finally {
-            decryptionAuditService.logDecryptionAttempt(
-                    "SYSTEM",
-                    ipAddress,
-                    purpose != null && !purpose.isEmpty() ? purpose : "목적 지정 안됨",
-                    success,
-                    "검색: " + type + "=" + keyword
-            );
+        });
+        return cryptoRequestExecutor.afterOnIo(decrypted, (dto, error) -> {
+            logDecryption(ipAddress, purpose, error == null, String.valueOf(id));
+            endOperation(event, "getDecryptedUserById", 1, false, error == null);
+        });
+    }
+
+    /**
+     * ID로 사용자를 조회하여 fields로 고른 필드만 복호화합니다. (고르지 않은 필드는 null)
+     * 모든 필드를 고르면 {@link #getDecryptedUserById(Long, String, String)}와 같습니다.
+     * 일부 필드만 고르면 해당 암호문 컬럼만 읽어 복호화하며, 일부만 복호화한 결과는 캐시에 넣지 않습니다.
+     */
+    public UserDecryptedDto getDecryptedUserById(Long id, String ipAddress, String purpose, Set<UserField> fields) {
+        return await(getDecryptedUserByIdAsync(id, ipAddress, purpose, fields));
+    }
+
+    /**
+     * {@link #getDecryptedUserById(Long, String, String, Set)}의 비동기 버전.
+     * @throws IllegalArgumentException ID에 해당하는 사용자가 없는 경우 (future가 아닌 호출 시점에 던짐)
+     */
+    public CompletableFuture<UserDecryptedDto> getDecryptedUserByIdAsync(Long id, String ipAddress, String purpose, Set<UserField> fields) {
+        if (fields.containsAll(UserField.ALL)) {
+            return getDecryptedUserByIdAsync(id, ipAddress, purpose);
+        }
+        UserOperationEvent event = beginOperation();
+        UserDecryptedDto cached = decryptedUserCache.get(id);
+        if (cached != null) {
+            return cryptoRequestExecutor.afterOnIo(CompletableFuture.completedFuture(selectFields(cached, fields)), (dto, error) -> {
+                logDecryption(ipAddress, purpose, true, String.valueOf(id));
+                endOperation(event, "getDecryptedUserById(fields)", 1, true, true);
+            });
+        }
+
+        RepositoryQueryEvent query = beginQuery();
+        Optional<UserCiphertext> found = userRepository.findCiphertextById(id, fields);
+        endQuery(query, "findCiphertextById", found.isPresent() ? 1 : 0);
+        if (found.isEmpty()) {
+            endOperation(event, "getDecryptedUserById(fields)", 0, false, false);
+            throw new IllegalArgumentException("ID " + id + "에 해당하는 데이터를 찾을 수 없습니다.");
         }
+        UserCiphertext row = found.get();
+
+        CompletableFuture<UserDecryptedDto> decrypted = submitDecryption(CryptoRequestExecutor.Lane.SINGLE, () -> {
+            try {
+                UserDecryptedDto dto = new UserDecryptedDto();
+                dto.setId(row.id());
+                for (UserField field : fields) {
+                    setField(dto, field, decryptField(envelopeOf(row, field), legacyCipherTextOf(row, field)));
+                }
+                return dto;
+            } catch (Exception e) {
+                System.err.println("사용자 데이터 복호화 중 오류 발생 (ID: " + row.id() + "): " + e.getMessage());
+                throw new DecryptionException("사용자 데이터 복호화에 실패했습니다.", e);
+            }
+        });
+        return cryptoRequestExecutor.afterOnIo(decrypted, (dto, error) -> {
+            logDecryption(ipAddress, purpose, error == null, String.valueOf(id));
+            endOperation(event, "getDecryptedUserById(fields)", 1, false, error == null);
+        });
     }
 
-    @Transactional(readOnly = true)
-    public UserDecryptedDto getDecryptedUserById(Long id, String ipAddress, String purpose) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("ID " + id + "에 해당하는 데이터를 찾을 수 없습니다."));
+    /**
+     * 여러 ID의 사용자를 한 번에 조회하여 복호화합니다.
+     * 캐시에 없는 ID만 IN 쿼리 한 번으로 읽고 {@link AriaCryptoService#decryptAll(List)}로 병렬 복호화하며,
+     * 감사로그는 대상 ID를 구간 목록("1-5,9")으로 줄여 남기며, 컬럼 길이를 넘으면 구간을 나누어 여러 건으로 남깁니다.
+     * 결과는 요청한 순서대로(중복 ID는 한 번만) ID마다 FOUND, NOT_FOUND, DECRYPT_FAILED 상태를 담아 반환합니다.
+     * @throws IllegalArgumentException ID 목록이 비어 있거나 app.users.batch-lookup.max-ids를 넘는 경우
+     */
+    public List<UserBatchLookupResultDto> getDecryptedUsersByIds(List<Long> ids, String ipAddress, String purpose) {
+        return await(getDecryptedUsersByIdsAsync(ids, ipAddress, purpose));
+    }
 
-        boolean success = false;
+    /**
+     * {@link #getDecryptedUsersByIds}의 비동기 버전. 복호화는 BULK lane에서, 감사로그 기록은 I/O 스레드에서 합니다.
+     * @throws IllegalArgumentException ID 목록이 비어 있거나 app.users.batch-lookup.max-ids를 넘는 경우 (호출 시점에 던짐)
+     */
+    public CompletableFuture<List<UserBatchLookupResultDto>> getDecryptedUsersByIdsAsync(List<Long> ids, String ipAddress, String purpose) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("조회할 ID 목록이 비어 있습니다.");
+        }
+        if (requested.size() > batchLookupMaxIds) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 ID는 최대 " + batchLookupMaxIds + "개입니다.");
+        }
+
+        UserOperationEvent event = beginOperation();
+        // 복호화 단계에서 채우고 감사로그 단계에서 읽습니다. (future 완료 순서로 가시성 보장)
+        Map<Long, UserBatchLookupResultDto> results = new HashMap<>(requested.size() * 2);
+        List<Long> missed = new ArrayList<>(requested.size());
+        CompletableFuture<List<UserBatchLookupResultDto>> ordered;
         try {
-            UserDecryptedDto dto = new UserDecryptedDto();
-            dto.setId(user.getId());
-            dto.setUsrNm(ariaCryptoService.decrypt(user.getUsrNm()));
-            dto.setUsrTel(user.getUsrTel() != null ? ariaCryptoService.decrypt(user.getUsrTel()) : null);
-            dto.setUsrBirth(user.getUsrBirth() != null ? ariaCryptoService.decrypt(user.getUsrBirth()) : null);
-            success = true;
-            return dto;
-        } catch (Exception e) {
-            System.err.println("사용자 데이터 복호화 중 오류 발생 (ID: " + user.getId() + "): " + e.getMessage());
-            throw new DecryptionException("사용자 데이터 복호화에 실패했습니다.", e);
-        } finally {
-            decryptionAuditService.logDecryptionAttempt(
-                    "SYSTEM",
-                    ipAddress,
-                    purpose != null && !purpose.isEmpty() ? purpose : "목적 지정 안됨",
-                    success,
-                    String.valueOf(id)
-            );
+            for (Long id : requested) {
+                UserDecryptedDto cached = decryptedUserCache.get(id);
+                if (cached != null) {
+                    results.put(id, new UserBatchLookupResultDto(id, UserBatchLookupResultDto.FOUND, cached));
+                } else {
+                    missed.add(id);
+                }
+            }
+
+            CompletableFuture<Map<Long, UserDecryptedDto>> decrypted;
+            if (missed.isEmpty()) {
+                decrypted = CompletableFuture.completedFuture(Map.of());
+            } else {
+                RepositoryQueryEvent query = beginQuery();
+                List<User> users = userRepository.findAllById(missed);
+                endQuery(query, "findAllById", users.size());
+                decrypted = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptUsersOrNull(users));
+            }
+
+            ordered = decrypted.thenApply(decryptedById -> {
+                for (Map.Entry<Long, UserDecryptedDto> entry : decryptedById.entrySet()) {
+                    UserDecryptedDto dto = entry.getValue();
+                    if (dto != null) {
+                        decryptedUserCache.put(dto);
+                        results.put(entry.getKey(), new UserBatchLookupResultDto(entry.getKey(), UserBatchLookupResultDto.FOUND, dto));
+                    } else {
+                        results.put(entry.getKey(), new UserBatchLookupResultDto(entry.getKey(), UserBatchLookupResultDto.DECRYPT_FAILED, null));
+                    }
+                }
+
+                List<UserBatchLookupResultDto> list = new ArrayList<>(requested.size());
+                for (Long id : requested) {
+                    UserBatchLookupResultDto result = results.get(id);
+                    list.add(result != null ? result : new UserBatchLookupResultDto(id, UserBatchLookupResultDto.NOT_FOUND, null));
+                }
+                return list;
+            });
+        } catch (RuntimeException e) {
+            ordered = CompletableFuture.failedFuture(e);
         }
+
+        boolean allCached = missed.isEmpty();
+        return cryptoRequestExecutor.afterOnIo(ordered, (list, error) -> {
+            int failed = 0;
+            for (UserBatchLookupResultDto result : results.values()) {
+                if (UserBatchLookupResultDto.DECRYPT_FAILED.equals(result.getStatus())) {
+                    failed++;
+                }
+            }
+            boolean success = error == null && failed == 0;
+            for (String target : batchAuditTargets(requested, results.size() - failed, failed)) {
+                logDecryption(ipAddress, purpose, success, target);
+            }
+            endOperation(event, "getDecryptedUsersByIds", requested.size(), allCached, success);
+        });
     }
 
     /**
@@ -172,36 +428,562 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public Page<UserDecryptedDto> getAllDecryptedUsers(Pageable pageable, String ipAddress, String purpose) {
-        boolean success = false;
-        Page<UserDecryptedDto> decryptedUsers;
+        return await(getAllDecryptedUsersAsync(pageable, ipAddress, purpose));
+    }
+
+    /**
+     * {@link #getAllDecryptedUsers(Pageable, String, String)}의 비동기 버전. 복호화는 BULK lane에서, 감사로그 기록은 I/O 스레드에서 합니다.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<Page<UserDecryptedDto>> getAllDecryptedUsersAsync(Pageable pageable, String ipAddress, String purpose) {
+        UserOperationEvent event = beginOperation();
+        CompletableFuture<Page<UserDecryptedDto>> result;
+        int count = 0;
         try {
+            RepositoryQueryEvent query = beginQuery();
             Page<User> userPage = userRepository.findAll(pageable);
-            decryptedUsers = userPage.map(user -> {
+            count = userPage.getNumberOfElements();
+            endQuery(query, "findAll(page)", count);
+            result = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptUsers(userPage.getContent()))
+                    .thenApply(decrypted -> new PageImpl<>(decrypted, userPage.getPageable(), userPage.getTotalElements()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return auditAllUsers(result, event, "getAllDecryptedUsers", count, ipAddress, purpose, "모든 사용자");
+    }
+
+    /**
+     * 커서(keyset) 방식으로 afterId 다음 페이지의 사용자를 조회하고 복호화합니다.
+     * OFFSET과 COUNT 쿼리 없이 id 인덱스로 바로 찾아가므로 페이지가 깊어져도 조회 시간이 일정합니다.
+     * @param afterId   이전 페이지의 마지막 id (첫 페이지는 null)
+     * @param direction id 정렬 방향
+     */
+    @Transactional(readOnly = true)
+    public Slice<UserDecryptedDto> getDecryptedUsersAfter(Long afterId, Sort.Direction direction, int size, String ipAddress, String purpose) {
+        return await(getDecryptedUsersAfterAsync(afterId, direction, size, ipAddress, purpose));
+    }
+
+    /**
+     * {@link #getDecryptedUsersAfter(Long, Sort.Direction, int, String, String)}의 비동기 버전.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<Slice<UserDecryptedDto>> getDecryptedUsersAfterAsync(Long afterId, Sort.Direction direction, int size,
+                                                                                  String ipAddress, String purpose) {
+        UserOperationEvent event = beginOperation();
+        CompletableFuture<Slice<UserDecryptedDto>> result;
+        int count = 0;
+        try {
+            Pageable pageable = PageRequest.of(0, size, Sort.by(direction, "id"));
+            Slice<User> userSlice;
+            RepositoryQueryEvent query = beginQuery();
+            if (afterId == null) {
+                userSlice = userRepository.findAllBy(pageable);
+            } else if (direction.isAscending()) {
+                userSlice = userRepository.findByIdGreaterThan(afterId, pageable);
+            } else {
+                userSlice = userRepository.findByIdLessThan(afterId, pageable);
+            }
+            count = userSlice.getNumberOfElements();
+            endQuery(query, "findAfter(cursor)", count);
+            List<User> users = userSlice.getContent();
+            result = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptUsers(users))
+                    .thenApply(decrypted -> new SliceImpl<>(decrypted, userSlice.getPageable(), userSlice.hasNext()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return auditAllUsers(result, event, "getDecryptedUsersAfter", count, ipAddress, purpose, "모든 사용자");
+    }
+
+    /**
+     * {@link #getAllDecryptedUsers(Pageable, String, String)}와 같이 조회하되, fields로 고른 필드의 암호문 컬럼만 읽고 복호화합니다.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserDecryptedDto> getAllDecryptedUsers(Pageable pageable, String ipAddress, String purpose, Set<UserField> fields) {
+        return await(getAllDecryptedUsersAsync(pageable, ipAddress, purpose, fields));
+    }
+
+    /**
+     * {@link #getAllDecryptedUsers(Pageable, String, String, Set)}의 비동기 버전.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<Page<UserDecryptedDto>> getAllDecryptedUsersAsync(Pageable pageable, String ipAddress, String purpose,
+                                                                               Set<UserField> fields) {
+        if (fields.containsAll(UserField.ALL)) {
+            return getAllDecryptedUsersAsync(pageable, ipAddress, purpose);
+        }
+        UserOperationEvent event = beginOperation();
+        CompletableFuture<Page<UserDecryptedDto>> result;
+        int count = 0;
+        try {
+            RepositoryQueryEvent query = beginQuery();
+            Page<UserCiphertext> rows = userRepository.findCiphertextPage(fields, pageable);
+            count = rows.getNumberOfElements();
+            endQuery(query, "findCiphertextPage", count);
+            result = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptCiphertexts(rows.getContent(), fields))
+                    .thenApply(decrypted -> new PageImpl<>(decrypted, rows.getPageable(), rows.getTotalElements()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return auditAllUsers(result, event, "getAllDecryptedUsers(fields)", count, ipAddress, purpose, "모든 사용자 " + fieldNames(fields));
+    }
+
+    /**
+     * {@link #getDecryptedUsersAfter(Long, Sort.Direction, int, String, String)}와 같이 조회하되, fields로 고른 필드의 암호문 컬럼만 읽고 복호화합니다.
+     */
+    @Transactional(readOnly = true)
+    public Slice<UserDecryptedDto> getDecryptedUsersAfter(Long afterId, Sort.Direction direction, int size, String ipAddress, String purpose,
+                                                          Set<UserField> fields) {
+        return await(getDecryptedUsersAfterAsync(afterId, direction, size, ipAddress, purpose, fields));
+    }
+
+    /**
+     * {@link #getDecryptedUsersAfter(Long, Sort.Direction, int, String, String, Set)}의 비동기 버전.
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<Slice<UserDecryptedDto>> getDecryptedUsersAfterAsync(Long afterId, Sort.Direction direction, int size,
+                                                                                  String ipAddress, String purpose, Set<UserField> fields) {
+        if (fields.containsAll(UserField.ALL)) {
+            return getDecryptedUsersAfterAsync(afterId, direction, size, ipAddress, purpose);
+        }
+        UserOperationEvent event = beginOperation();
+        CompletableFuture<Slice<UserDecryptedDto>> result;
+        int count = 0;
+        try {
+            RepositoryQueryEvent query = beginQuery();
+            Slice<UserCiphertext> rows = userRepository.findCiphertextAfter(afterId, direction, size, fields);
+            count = rows.getNumberOfElements();
+            endQuery(query, "findCiphertextAfter(cursor)", count);
+            result = submitDecryption(CryptoRequestExecutor.Lane.BULK, () -> decryptCiphertexts(rows.getContent(), fields))
+                    .thenApply(decrypted -> new SliceImpl<>(decrypted, rows.getPageable(), rows.hasNext()));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return auditAllUsers(result, event, "getDecryptedUsersAfter(fields)", count, ipAddress, purpose, "모든 사용자 " + fieldNames(fields));
+    }
+
+    // 목록 조회의 감사로그(대상: 모든 사용자)를 I/O 스레드에서 기록한 뒤 결과를 넘깁니다.
+    private <T> CompletableFuture<T> auditAllUsers(CompletableFuture<T> result, UserOperationEvent event, String operation, int count,
+                                                   String ipAddress, String purpose, String targetDataId) {
+        return cryptoRequestExecutor.afterOnIo(result, (users, error) -> {
+            logDecryption(ipAddress, purpose, error == null, targetDataId);
+            endOperation(event, operation, count, false, error == null);
+        });
+    }
+
+    /**
+     * 복호화 단계만 lane의 복호화 executor에 넘깁니다.
+     * DB 조회는 호출한 요청 스레드에서, 감사로그 기록은 I/O 스레드({@link CryptoRequestExecutor#afterOnIo})에서 하므로
+     * CPU 크기의 executor 스레드가 I/O 대기로 묶이지 않습니다.
+     * lane의 큐가 가득 차면 {@link RejectedExecutionException}으로 실패한 future를 반환하여, 거절된 요청도 감사로그 단계를 거치게 합니다.
+     */
+    private <T> CompletableFuture<T> submitDecryption(CryptoRequestExecutor.Lane lane, Supplier<T> decryption) {
+        try {
+            return cryptoRequestExecutor.submit(lane, decryption);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 동기 조회 메서드(테스트, 가져오기, 벤치마크에서 사용)가 비동기 결과를 기다립니다. 단계에서 던진 예외는 그대로 다시 던집니다.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 사용자를 한 번에 복호화합니다.
+     * 모든 암호문을 하나의 목록으로 모아 {@link AriaCryptoService#decryptAll(List)}로 병렬 복호화하고,
+     * 일부 복호화가 실패하면 사용자 단위로 다시 복호화하여 실패한 사용자만 "[복호화 실패]"로 표시합니다.
+     */
+    List<UserDecryptedDto> decryptUsers(List<User> users) {
+        List<String> plainTexts;
+        try {
+            // 아직 마이그레이션되지 않은 기존 문자열 형식 암호문은 봉투 형식으로 변환하여 함께 복호화합니다.
+            List<byte[]> envelopes = new ArrayList<>(users.size() * FIELDS_PER_USER);
+            for (User user : users) {
+                envelopes.add(toEnvelope(user.getUsrNmEnc(), user.getUsrNm()));
+                envelopes.add(toEnvelope(user.getUsrTelEnc(), user.getUsrTel()));
+                envelopes.add(toEnvelope(user.getUsrBirthEnc(), user.getUsrBirth()));
+            }
+            plainTexts = ariaCryptoService.decryptAll(envelopes);
+        } catch (Exception e) {
+            System.err.println("일괄 복호화 실패, 사용자 단위로 다시 복호화합니다: " + e.getMessage());
+            return users.stream().map(this::toDecryptedDto).collect(Collectors.toList());
+        }
+
+        List<UserDecryptedDto> dtos = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            int base = i * FIELDS_PER_USER;
+            dtos.add(new UserDecryptedDto(users.get(i).getId(), plainTexts.get(base), plainTexts.get(base + 1), plainTexts.get(base + 2)));
+        }
+        return dtos;
+    }
+
+    /**
+     * {@link #decryptUsers(List)}와 같이 병렬로 복호화하되, 평문을 String으로 만들지 않고 arena에 UTF-8 바이트로 기록합니다.
+     * 사용자 i의 이름, 전화번호, 생년월일은 arena의 i*3, i*3+1, i*3+2번 칸에 담깁니다.
+     * 일부 복호화가 실패하면 칸 단위로 다시 복호화하여 실패한 칸만 실패로 표시합니다. (응답 직렬화 후 호출자가 arena를 지움)
+     */
+    PlaintextArena decryptUsersInto(List<User> users, PlaintextArena arena) {
+        List<byte[]> envelopes = new ArrayList<>(users.size() * FIELDS_PER_USER);
+        for (User user : users) {
+            envelopes.add(toEnvelopeOrInvalid(user.getUsrNmEnc(), user.getUsrNm()));
+            envelopes.add(toEnvelopeOrInvalid(user.getUsrTelEnc(), user.getUsrTel()));
+            envelopes.add(toEnvelopeOrInvalid(user.getUsrBirthEnc(), user.getUsrBirth()));
+        }
+        arena.prepare(envelopes);
+        try {
+            ariaCryptoService.decryptAllInto(arena);
+        } catch (Exception e) {
+            System.err.println("일괄 복호화 실패, 필드 단위로 다시 복호화합니다: " + e.getMessage());
+            for (int slot = 0; slot < arena.size(); slot++) {
+                try {
+                    ariaCryptoService.decryptSlot(arena, slot);
+                } catch (Exception slotFailure) {
+                    System.err.println("개별 사용자 복호화 실패 (ID: " + users.get(slot / FIELDS_PER_USER).getId() + "): " + slotFailure.getMessage());
+                    arena.markFailed(slot);
+                }
+            }
+        }
+        return arena;
+    }
+
+    /**
+     * {@link #toEnvelope(byte[], String)}와 같되, 기존 문자열 암호문의 형식이 잘못되었으면 예외 대신 빈 봉투를 반환하여
+     * 해당 칸만 복호화 실패로 처리되게 합니다.
+     */
+    private byte[] toEnvelopeOrInvalid(byte[] envelope, String legacyCipherText) {
+        try {
+            return toEnvelope(envelope, legacyCipherText);
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * {@link #decryptUsers(List)}와 같이 병렬로 복호화하되, 복호화에 실패한 사용자는 "[복호화 실패]" 대신 null로 표시합니다.
+     * @return ID별 복호화 결과 (조회 순서 유지)
+     */
+    private Map<Long, UserDecryptedDto> decryptUsersOrNull(List<User> users) {
+        Map<Long, UserDecryptedDto> dtos = new LinkedHashMap<>(users.size() * 2);
+        List<String> plainTexts;
+        try {
+            List<byte[]> envelopes = new ArrayList<>(users.size() * FIELDS_PER_USER);
+            for (User user : users) {
+                envelopes.add(toEnvelope(user.getUsrNmEnc(), user.getUsrNm()));
+                envelopes.add(toEnvelope(user.getUsrTelEnc(), user.getUsrTel()));
+                envelopes.add(toEnvelope(user.getUsrBirthEnc(), user.getUsrBirth()));
+            }
+            plainTexts = ariaCryptoService.decryptAll(envelopes);
+        } catch (Exception e) {
+            System.err.println("일괄 복호화 실패, 사용자 단위로 다시 복호화합니다: " + e.getMessage());
+            for (User user : users) {
+                try {
+                    dtos.put(user.getId(), new UserDecryptedDto(user.getId(),
+                            decryptField(user.getUsrNmEnc(), user.getUsrNm()),
+                            decryptField(user.getUsrTelEnc(), user.getUsrTel()),
+                            decryptField(user.getUsrBirthEnc(), user.getUsrBirth())));
+                } catch (Exception userFailure) {
+                    System.err.println("개별 사용자 복호화 실패 (ID: " + user.getId() + "): " + userFailure.getMessage());
+                    dtos.put(user.getId(), null);
+                }
+            }
+            return dtos;
+        }
+
+        for (int i = 0; i < users.size(); i++) {
+            int base = i * FIELDS_PER_USER;
+            Long id = users.get(i).getId();
+            dtos.put(id, new UserDecryptedDto(id, plainTexts.get(base), plainTexts.get(base + 1), plainTexts.get(base + 2)));
+        }
+        return dtos;
+    }
+
+    /**
+     * 일괄 조회 감사로그의 대상 표기. ID 구간 목록이 컬럼 길이를 넘으면 잘라 버리지 않고 구간 경계에서 나누어 여러 건으로 남깁니다.
+     * 예: "일괄 조회 [1-5,9] (요청 6, 조회 5, 실패 0)", 나뉘면 "일괄 조회 1/2 [1-5,9,...] (요청 ...)"
+     */
+    private static List<String> batchAuditTargets(Set<Long> ids, int found, int failed) {
+        String summary = " (요청 " + ids.size() + ", 조회 " + found + ", 실패 " + failed + ")";
+        String ranges = IdRanges.compact(ids);
+        if ("일괄 조회 [".length() + ranges.length() + "]".length() + summary.length() <= DecryptionAuditLog.TARGET_DATA_ID_LENGTH) {
+            return List.of("일괄 조회 [" + ranges + "]" + summary);
+        }
+
+        // "일괄 조회 n/n [" 의 n 자리수는 ID 수의 자리수를 넘지 않음
+        int digits = String.valueOf(ids.size()).length();
+        int maxRanges = DecryptionAuditLog.TARGET_DATA_ID_LENGTH - summary.length() - ("일괄 조회 / []".length() + digits * 2);
+        List<String> parts = IdRanges.split(ranges, maxRanges);
+        List<String> targets = new ArrayList<>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            targets.add("일괄 조회 " + (i + 1) + "/" + parts.size() + " [" + parts.get(i) + "]" + summary);
+        }
+        return targets;
+    }
+
+    /**
+     * projection으로 읽은 사용자들의 고른 필드만 {@link AriaCryptoService#decryptAll(List)}로 병렬 복호화합니다.
+     * 일부 복호화가 실패하면 {@link #decryptUsers(List)}와 같이 사용자 단위로 다시 복호화하여 실패한 사용자만 "[복호화 실패]"로 표시합니다.
+     */
+    private List<UserDecryptedDto> decryptCiphertexts(List<UserCiphertext> rows, Set<UserField> fields) {
+        List<String> plainTexts;
+        try {
+            List<byte[]> envelopes = new ArrayList<>(rows.size() * fields.size());
+            for (UserCiphertext row : rows) {
+                for (UserField field : fields) {
+                    envelopes.add(toEnvelope(envelopeOf(row, field), legacyCipherTextOf(row, field)));
+                }
+            }
+            plainTexts = ariaCryptoService.decryptAll(envelopes);
+        } catch (Exception e) {
+            System.err.println("일괄 복호화 실패, 사용자 단위로 다시 복호화합니다: " + e.getMessage());
+            List<UserDecryptedDto> dtos = new ArrayList<>(rows.size());
+            for (UserCiphertext row : rows) {
                 UserDecryptedDto dto = new UserDecryptedDto();
-                dto.setId(user.getId());
+                dto.setId(row.id());
                 try {
-                    dto.setUsrNm(user.getUsrNm() != null ? ariaCryptoService.decrypt(user.getUsrNm()) : null);
-                    dto.setUsrTel(user.getUsrTel() != null ? ariaCryptoService.decrypt(user.getUsrTel()) : null);
-                    dto.setUsrBirth(user.getUsrBirth() != null ? ariaCryptoService.decrypt(user.getUsrBirth()) : null);
-                } catch (Exception e) {
-                    System.err.println("개별 사용자 복호화 실패 (ID: " + user.getId() + "): " + e.getMessage());
-                    dto.setUsrNm("[복호화 실패]");
-                    dto.setUsrTel("[복호화 실패]");
-                    dto.setUsrBirth("[복호화 실패]");
+                    for (UserField field : fields) {
+                        setField(dto, field, decryptField(envelopeOf(row, field), legacyCipherTextOf(row, field)));
+                    }
+                } catch (Exception userFailure) {
+                    System.err.println("개별 사용자 복호화 실패 (ID: " + row.id() + "): " + userFailure.getMessage());
+                    for (UserField field : fields) {
+                        setField(dto, field, "[복호화 실패]");
+                    }
                 }
-                return dto;
-            });
-            success = true;
-            return decryptedUsers;
-        } finally {
-            decryptionAuditService.logDecryptionAttempt(
-                    "SYSTEM",
-                    ipAddress,
-                    purpose != null && !purpose.isEmpty() ? purpose : "목적 지정 안됨",
-                    success,
-                    "모든 사용자"
-            );
+                dtos.add(dto);
+            }
+            return dtos;
+        }
+
+        List<UserDecryptedDto> dtos = new ArrayList<>(rows.size());
+        int index = 0;
+        for (UserCiphertext row : rows) {
+            UserDecryptedDto dto = new UserDecryptedDto();
+            dto.setId(row.id());
+            for (UserField field : fields) {
+                setField(dto, field, plainTexts.get(index++));
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static UserDecryptedDto selectFields(UserDecryptedDto source, Set<UserField> fields) {
+        return new UserDecryptedDto(source.getId(),
+                fields.contains(UserField.USR_NM) ? source.getUsrNm() : null,
+                fields.contains(UserField.USR_TEL) ? source.getUsrTel() : null,
+                fields.contains(UserField.USR_BIRTH) ? source.getUsrBirth() : null);
+    }
+
+    private static void setField(UserDecryptedDto dto, UserField field, String plainText) {
+        switch (field) {
+            case USR_NM -> dto.setUsrNm(plainText);
+            case USR_TEL -> dto.setUsrTel(plainText);
+            case USR_BIRTH -> dto.setUsrBirth(plainText);
+        }
+    }
+
+    private static byte[] envelopeOf(UserCiphertext row, UserField field) {
+        return switch (field) {
+            case USR_NM -> row.usrNmEnc();
+            case USR_TEL -> row.usrTelEnc();
+            case USR_BIRTH -> row.usrBirthEnc();
+        };
+    }
+
+    private static String legacyCipherTextOf(UserCiphertext row, UserField field) {
+        return switch (field) {
+            case USR_NM -> row.usrNm();
+            case USR_TEL -> row.usrTel();
+            case USR_BIRTH -> row.usrBirth();
+        };
+    }
+
+    // 감사로그 대상 표기용 필드 목록 (예: "[usrNm, usrTel]")
+    private static String fieldNames(Set<UserField> fields) {
+        return fields.stream().map(UserField::paramName).collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * 사용자 한 명을 복호화하여 DTO로 변환합니다. 복호화에 실패하면 모든 필드를 "[복호화 실패]"로 표시합니다.
+     */
+    UserDecryptedDto toDecryptedDto(User user) {
+        UserDecryptedDto dto = new UserDecryptedDto();
+        dto.setId(user.getId());
+        try {
+            dto.setUsrNm(decryptField(user.getUsrNmEnc(), user.getUsrNm()));
+            dto.setUsrTel(decryptField(user.getUsrTelEnc(), user.getUsrTel()));
+            dto.setUsrBirth(decryptField(user.getUsrBirthEnc(), user.getUsrBirth()));
+        } catch (Exception e) {
+            System.err.println("개별 사용자 복호화 실패 (ID: " + user.getId() + "): " + e.getMessage());
+            dto.setUsrNm("[복호화 실패]");
+            dto.setUsrTel("[복호화 실패]");
+            dto.setUsrBirth("[복호화 실패]");
+        }
+        return dto;
+    }
+
+    /**
+     * 바이너리 봉투 형식 암호문이 있으면 그것을 복호화하고, 없으면 기존 문자열 형식 암호문을 복호화합니다.
+     * 둘 다 없으면 null을 반환합니다.
+     */
+    private String decryptField(byte[] envelope, String legacyCipherText) throws Exception {
+        if (envelope != null) {
+            return ariaCryptoService.decryptEnvelope(envelope);
         }
+        return legacyCipherText != null ? ariaCryptoService.decrypt(legacyCipherText) : null;
+    }
+
+    /**
+     * 바이너리 봉투 형식 암호문을 반환하되, 없으면 기존 문자열 형식 암호문을 봉투 형식으로 변환하여 반환합니다.
+     */
+    private byte[] toEnvelope(byte[] envelope, String legacyCipherText) {
+        if (envelope != null) {
+            return envelope;
+        }
+        return legacyCipherText != null ? ariaCryptoService.legacyToEnvelope(legacyCipherText) : null;
+    }
+
+    /**
+     * unique 제약은 지금 저장하는 형식의 컬럼만 검사하므로, 같은 전화번호가 다른 형식으로 이미 저장되어 있는지 한 번 더 확인합니다.
+     * (블라인드 인덱스 마이그레이션 중인 기존 SHA-256 인덱스, BINARY 저장 시 아직 변환되지 않은 문자열 컬럼)
+     */
+    private void checkTelNotRegisteredInOtherFormat(String usrTel) {
+        checkTelsNotRegisteredInOtherFormat(List.of(usrTel));
+    }
+
+    void checkTelsNotRegisteredInOtherFormat(List<String> usrTels) {
+        checkTelsNotRegisteredInOtherFormat(usrTels, true);
+    }
+
+    /**
+     * 여러 전화번호를 TEL_CHECK_BATCH_SIZE개씩 쿼리 한 번으로 확인합니다. (대량 저장에서 묶음 단위로 사용)
+     * @param usrTels              비어 있지 않은 평문 전화번호 목록
+     * @param includeCurrentColumn BINARY 저장 형식일 때 지금 저장하는 bytea 컬럼도 확인할지 여부
+     *                             (upsert처럼 같은 형식의 기존 행을 갱신하려는 경우 false)
+     */
+    void checkTelsNotRegisteredInOtherFormat(List<String> usrTels, boolean includeCurrentColumn) {
+        for (int from = 0; from < usrTels.size(); from += TEL_CHECK_BATCH_SIZE) {
+            if (isAnyTelRegistered(usrTels.subList(from, Math.min(from + TEL_CHECK_BATCH_SIZE, usrTels.size())),
+                    includeCurrentColumn)) {
+                throw new IllegalStateException("이미 등록된 전화번호입니다.");
+            }
+        }
+    }
+
+    /**
+     * 다른 형식(기존 SHA-256 인덱스, BINARY 저장 시 문자열 컬럼)으로 이미 등록된 전화번호만 골라 반환합니다.
+     * {@link #checkTelsNotRegisteredInOtherFormat(List, boolean)}의 includeCurrentColumn=false와 같은 컬럼을 확인합니다.
+     * @param usrTels 비어 있지 않은 평문 전화번호 목록
+     */
+    Set<String> findTelsRegisteredInOtherFormat(List<String> usrTels) {
+        Set<String> registered = new HashSet<>();
+        for (int from = 0; from < usrTels.size(); from += TEL_CHECK_BATCH_SIZE) {
+            Map<String, String> telByHash = new HashMap<>();
+            for (String usrTel : usrTels.subList(from, Math.min(from + TEL_CHECK_BATCH_SIZE, usrTels.size()))) {
+                for (String hash : otherFormatTelHashes(usrTel)) {
+                    telByHash.put(hash, usrTel);
+                }
+            }
+            if (!telByHash.isEmpty()) {
+                for (String hash : userRepository.findUsrTelHashesIn(telByHash.keySet())) {
+                    registered.add(telByHash.get(hash));
+                }
+            }
+        }
+        return registered;
+    }
+
+    private List<String> otherFormatTelHashes(String usrTel) {
+        if (blindIndexService.isBinaryStorage()) {
+            return blindIndexService.searchTokens(BlindIndexService.Field.TEL, usrTel).text();
+        }
+        if (blindIndexService.isLegacyFallback()) {
+            return List.of(HashingUtil.sha256(usrTel));
+        }
+        return List.of();
+    }
+
+    private boolean isAnyTelRegistered(List<String> usrTels, boolean includeCurrentColumn) {
+        if (blindIndexService.isBinaryStorage()) {
+            List<String> text = new ArrayList<>();
+            List<byte[]> binary = new ArrayList<>();
+            for (String usrTel : usrTels) {
+                BlindIndexService.SearchTokens tokens = blindIndexService.searchTokens(BlindIndexService.Field.TEL, usrTel);
+                text.addAll(tokens.text());
+                binary.addAll(tokens.binary());
+            }
+            return includeCurrentColumn
+                    ? userRepository.existsByTelIndex(text, binary)
+                    : userRepository.existsByUsrTelHashIn(text);
+        }
+        if (blindIndexService.isLegacyFallback()) {
+            List<String> legacyHashes = new ArrayList<>(usrTels.size());
+            for (String usrTel : usrTels) {
+                legacyHashes.add(HashingUtil.sha256(usrTel));
+            }
+            return userRepository.existsByUsrTelHashIn(legacyHashes);
+        }
+        return false;
+    }
+
+    private void logDecryption(String ipAddress, String purpose, boolean success, String targetDataId) {
+        decryptionAuditService.logDecryptionAttempt(
+                "SYSTEM",
+                ipAddress,
+                purpose != null && !purpose.isEmpty() ? purpose : "목적 지정 안됨",
+                success,
+                targetDataId
+        );
+    }
+
+    // JFR 이벤트: 기록이 꺼져 있거나 임계 시간보다 짧으면 필드를 채우지 않고 버립니다.
+    private static UserOperationEvent beginOperation() {
+        UserOperationEvent event = new UserOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void endOperation(UserOperationEvent event, String operation, int batchSize, boolean cacheHit, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.batchSize = batchSize;
+            event.cacheHit = cacheHit;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    private static RepositoryQueryEvent beginQuery() {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void endQuery(RepositoryQueryEvent event, String query, int rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.query = query;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
     }
 
     @Transactional(readOnly = true)
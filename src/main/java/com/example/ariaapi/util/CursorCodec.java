@@ -0,0 +1,47 @@
+package com.example.ariaapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반(keyset) 페이지네이션의 다음 페이지 토큰을 만들고 해석하는 유틸리티 클래스.
+ *
+ * 마지막으로 반환한 행의 정렬 키 값들을 ','로 이어 URL-safe Base64로 인코딩합니다.
+ * 클라이언트는 토큰의 내용을 해석하지 않고 다음 요청의 after 파라미터로 그대로 전달합니다.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * 정렬 키 값들을 커서 토큰으로 인코딩합니다.
+     *
+     * @param keys 마지막 행의 정렬 키 값 (','를 포함하지 않아야 함)
+     * @return URL-safe Base64 커서 토큰
+     */
+    public static String encode(String... keys) {
+        String joined = String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 토큰을 정렬 키 값들로 해석합니다.
+     *
+     * @param token        after 파라미터로 받은 커서 토큰
+     * @param expectedKeys 토큰에 들어 있어야 하는 키의 개수
+     * @return 정렬 키 값 배열
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public static String[] decode(String token, int expectedKeys) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] keys = joined.split(SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.ariaapi.util;
 
-import java.nio.charset.StandardCharsets;
+import com.example.ariaapi.crypto.CryptoMetrics;
+import com.example.ariaapi.jfr.HashEvent;
+
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
@@ -11,10 +14,19 @@ import java.util.Base64;
  * 이 클래스는 주어진 문자열을 SHA-256 해시로 변환하는 기능을 제공합니다.
  * 해싱된 값은 항상 동일한 입력에 대해 동일한 출력을 보장하므로,
  * 암호화된 데이터의 검색을 위한 인덱스 컬럼으로 사용됩니다.
+ *
+ * MessageDigest와 UTF-8 인코딩 버퍼는 풀({@link IdlePool})에 보관해 두고 재사용하므로,
+ * 호출마다 프로바이더 조회와 중간 배열 할당이 일어나지 않습니다.
+ * 스레드에 묶이지 않으므로 요청마다 새 스레드를 쓰는 가상 스레드 모드에서도 재사용됩니다.
  */
 public class HashingUtil {
 
     private static final String HASHING_ALGORITHM = "SHA-256";
+    public static final int SHA256_LENGTH = 32;
+
+    private static final int MAX_IDLE_STATES = 64;
+
+    private static final IdlePool<DigestState> DIGEST_STATES = new IdlePool<>(DigestState::new, MAX_IDLE_STATES);
 
     /**
      * 입력된 문자열을 SHA-256 해시로 변환합니다.
@@ -26,12 +38,72 @@ public class HashingUtil {
         if (input == null || input.isEmpty()) {
             return null;
         }
+        DigestState state = DIGEST_STATES.borrow();
         try {
-            MessageDigest digest = MessageDigest.getInstance(HASHING_ALGORITHM);
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 알고리즘을 찾을 수 없습니다.", e);
+            state.digest(input);
+            return Base64.getEncoder().encodeToString(state.hash);
+        } finally {
+            DIGEST_STATES.release(state);
+        }
+    }
+
+    /**
+     * 입력된 문자열을 SHA-256 해시로 변환하여 32바이트 배열로 반환합니다. (bytea 해시 컬럼용)
+     *
+     * @param input 해시로 변환할 문자열
+     * @return SHA-256 해시 (입력이 비어 있으면 null)
+     */
+    public static byte[] sha256Bytes(String input) {
+        if (input == null || input.isEmpty()) {
+            return null;
+        }
+        DigestState state = DIGEST_STATES.borrow();
+        try {
+            state.digest(input);
+            return state.hash.clone();
+        } finally {
+            DIGEST_STATES.release(state);
+        }
+    }
+
+    /**
+     * 풀에 보관하여 재사용하는 MessageDigest와 버퍼. (한 번에 한 스레드만 사용)
+     */
+    private static final class DigestState {
+
+        private final MessageDigest messageDigest;
+        private final Utf8Buffer input = new Utf8Buffer();
+        private final byte[] hash = new byte[SHA256_LENGTH];
+
+        DigestState() {
+            try {
+                this.messageDigest = MessageDigest.getInstance(HASHING_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("SHA-256 알고리즘을 찾을 수 없습니다.", e);
+            }
+        }
+
+        void digest(String value) {
+            HashEvent event = new HashEvent();
+            event.begin();
+            long start = System.nanoTime();
+            int length = input.encode(value);
+            try {
+                messageDigest.update(input.array(), 0, length);
+                messageDigest.digest(hash, 0, SHA256_LENGTH);
+            } catch (DigestException e) {
+                messageDigest.reset();
+                throw new IllegalStateException("SHA-256 해시를 계산할 수 없습니다.", e);
+            } finally {
+                input.wipe(length); // 평문 바이트는 남기지 않습니다.
+            }
+            CryptoMetrics.recordHash(CryptoMetrics.Hash.SHA256, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = "sha256";
+                event.bytes = length;
+                event.commit();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.example.ariaapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * ID 목록을 "1-5,9,12-14"처럼 연속 구간으로 줄여 표기하는 유틸리티 클래스.
+ *
+ * 여러 사용자를 한 번에 복호화할 때 감사로그 한 건에 대상 ID를 모두 남기기 위해 사용합니다.
+ * 연속된 ID가 많을수록 짧아지며, 정렬되지 않았거나 중복된 ID도 정렬/중복 제거 후 표기합니다.
+ */
+public final class IdRanges {
+
+    private IdRanges() {
+    }
+
+    public static String compact(Collection<Long> ids) {
+        StringBuilder sb = new StringBuilder();
+        long start = 0;
+        long prev = 0;
+        boolean open = false;
+        for (long id : new TreeSet<>(ids)) {
+            if (open && id == prev + 1) {
+                prev = id;
+                continue;
+            }
+            if (open) {
+                appendRange(sb, start, prev);
+            }
+            start = id;
+            prev = id;
+            open = true;
+        }
+        if (open) {
+            appendRange(sb, start, prev);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 대량 저장 결과처럼 ID가 많을 때 박싱 없이 구간으로 줄입니다. (배열은 변경하지 않음)
+     */
+    public static String compact(long[] ids, int length) {
+        long[] sorted = Arrays.copyOf(ids, length);
+        Arrays.sort(sorted);
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < length) {
+            long start = sorted[i];
+            long prev = start;
+            i++;
+            while (i < length && sorted[i] <= prev + 1) {
+                prev = sorted[i++]; // 중복(== prev)은 같은 구간에 포함
+            }
+            appendRange(sb, start, prev);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 구간 목록을 구간 경계(',')에서 나누어 각 조각이 maxLength 이하가 되게 합니다.
+     * 감사로그 대상 컬럼에 다 들어가지 않는 구간 목록을 잘라 버리지 않고 여러 건으로 남길 때 사용합니다.
+     * @throws IllegalArgumentException 구간 하나가 maxLength보다 긴 경우
+     */
+    public static List<String> split(String ranges, int maxLength) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (ranges.length() - start > maxLength) {
+            int cut = ranges.lastIndexOf(',', start + maxLength);
+            if (cut <= start) {
+                throw new IllegalArgumentException("구간 하나가 " + maxLength + "자를 넘습니다.");
+            }
+            parts.add(ranges.substring(start, cut));
+            start = cut + 1;
+        }
+        parts.add(ranges.substring(start));
+        return parts;
+    }
+
+    private static void appendRange(StringBuilder sb, long start, long end) {
+        if (sb.length() > 0) {
+            sb.append(',');
+        }
+        sb.append(start);
+        if (end != start) {
+            sb.append('-').append(end);
+        }
+    }
+}
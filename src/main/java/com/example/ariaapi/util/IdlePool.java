@@ -0,0 +1,49 @@
+package com.example.ariaapi.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 스레드에 묶이지 않는 재사용 객체 풀. (MessageDigest, Mac 등 만들기 비싼 상태 객체용)
+ *
+ * ThreadLocal은 가상 스레드처럼 요청마다 새 스레드가 만들어지는 환경에서는 요청마다 객체를 새로 만들게 되므로,
+ * lock-free 큐에 유휴 객체를 보관하여 동시에 사용 중인 개수만큼만 만들어지도록 합니다.
+ * 락을 잡지 않으므로 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않습니다.
+ */
+public final class IdlePool<T> {
+
+    private final Supplier<T> factory;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * @param factory 풀이 비어 있을 때 새 객체를 만드는 함수
+     * @param maxIdle 보관할 최대 유휴 객체 수 (넘으면 반납된 객체를 버림)
+     */
+    public IdlePool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    public T borrow() {
+        T object = idle.poll();
+        if (object != null) {
+            idleCount.decrementAndGet();
+            return object;
+        }
+        return factory.get();
+    }
+
+    /**
+     * 사용이 끝난 객체를 반납합니다. 반납한 뒤에는 다른 스레드가 꺼내 쓸 수 있으므로 더 이상 사용하면 안 됩니다.
+     */
+    public void release(T object) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(object);
+        } else {
+            idleCount.decrementAndGet(); // 풀이 가득 차면 버립니다.
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ariaapi.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 처리량을 제한하는 간단한 속도 제한기.
+ *
+ * 다음 허용 시각(nanoTime)을 하나만 두고, 요청한 허가 수만큼 그 시각을 뒤로 미룬 뒤 도달할 때까지 대기합니다.
+ * 여러 스레드에서 동시에 호출해도 합산 처리량이 permitsPerSecond를 넘지 않습니다.
+ * permitsPerSecond가 0 이하이면 제한하지 않습니다.
+ */
+public final class SimpleRateLimiter {
+
+    private final long nanosPerPermit;
+    private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+
+    public SimpleRateLimiter(double permitsPerSecond) {
+        this.nanosPerPermit = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+    }
+
+    /**
+     * permits 만큼의 처리를 허가받을 때까지 대기합니다.
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    public void acquire(int permits) throws InterruptedException {
+        if (nanosPerPermit == 0 || permits <= 0) {
+            return;
+        }
+        long cost = nanosPerPermit * permits;
+        long now = System.nanoTime();
+        // 오래 쉬었다가 호출해도 한꺼번에 몰아서 허가하지 않도록 현재 시각 이전으로는 쌓아 두지 않습니다.
+        long start = nextFreeNanos.getAndAccumulate(cost, (next, c) -> Math.max(next, now) + c);
+        long waitNanos = Math.max(start, now) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
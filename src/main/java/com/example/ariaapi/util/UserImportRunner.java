@@ -0,0 +1,141 @@
+package com.example.ariaapi.util;
+
+import com.example.ariaapi.AriaApiApplication;
+import com.example.ariaapi.dto.response.UserImportProgressDto;
+import com.example.ariaapi.entity.UserImportCheckpoint;
+import com.example.ariaapi.service.UserImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 파일(CSV/NDJSON)을 웹 서버 없이 가져오는 명령행 도구.
+ * 중단되거나 실패하면 같은 명령을 다시 실행하여 마지막으로 저장된 위치부터 이어서 가져옵니다.
+ * <p>
+ * 실행 중인 서버 옆에서 돌 수 있도록 import 프로필(application-import.properties)로 시작하여
+ * 감사로그 WAL/재전달 스레드와 시작 시 자동으로 재개되는 마이그레이션, 키 교체를 끕니다.
+ * 다른 설정으로 이 작업들이 다시 켜져 있거나, IV 생성 방식이 COUNTER인데 서버와 다른 instance-id와 counter-file을
+ * 명령행 인자로 지정하지 않았으면 시작하지 않습니다. (같은 키로 같은 IV가 두 번 만들어질 수 있음)
+ * </p>
+ * <p>
+ * 사용법: UserImportRunner &lt;파일&gt; [--restart] [--spring.datasource.url=...]
+ * (Gradle: ./gradlew runUserImport -PimportFile=/data/users.csv [-Prestart=true])
+ * </p>
+ */
+public class UserImportRunner {
+
+    private static final String PROFILE = "import";
+
+    // import 프로필에서 끄는 백그라운드 작업
+    private static final List<String> DISABLED_FEATURES = List.of(
+            "app.audit.wal.enabled",
+            "app.audit.async.enabled",
+            "app.migration.ciphertext-envelope.enabled",
+            "app.migration.blind-index.enabled",
+            "app.rotation.enabled");
+
+    private static final String IV_STRATEGY = "app.crypto.iv.strategy";
+    private static final String IV_INSTANCE_ID = "app.crypto.iv.instance-id";
+    private static final String IV_COUNTER_FILE = "app.crypto.iv.counter-file";
+
+    // 모든 설정 원본을 묶어 보여주는 Spring Boot의 property source (명령행 인자도 포함하므로 서버 설정 비교에서 제외)
+    private static final String ATTACHED_SOURCE_NAME = "configurationProperties";
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("사용법: UserImportRunner <파일(.csv, .ndjson)> [--restart] [--spring 설정=값 ...]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        boolean restart = false;
+        List<String> springArgs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if ("--restart".equals(args[i])) {
+                restart = true;
+            } else {
+                springArgs.add(args[i]); // 나머지는 Spring 설정으로 전달 (예: --app.import.chunk-size=5000)
+            }
+        }
+
+        int exitCode = 1;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AriaApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(PROFILE)
+                .listeners((ApplicationListener<ApplicationEnvironmentPreparedEvent>) event ->
+                        checkEnvironment(event.getEnvironment()))
+                .run(springArgs.toArray(new String[0]))) {
+            UserImportProgressDto progress = context.getBean(UserImportService.class).runImport(file, restart);
+            System.out.println("가져오기 결과: " + progress.getStatus() + " (저장 " + progress.getImported()
+                    + ", 건너뜀 " + progress.getSkipped() + ", 잘못된 줄 " + progress.getInvalid()
+                    + ", 위치 " + progress.getByteOffset() + "/" + progress.getFileSize() + " bytes)");
+            if (progress.getError() != null) {
+                System.out.println("마지막 오류: " + progress.getError());
+            }
+            if (UserImportCheckpoint.STATUS_COMPLETED.equals(progress.getStatus())) {
+                exitCode = 0;
+            }
+        } catch (Exception e) {
+            System.err.println("!!! [오류] 사용자 파일 가져오기를 실행할 수 없습니다: " + e.getMessage());
+            e.printStackTrace();
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * 빈을 만들기 전에 설정을 확인합니다.
+     * @throws IllegalStateException 서버가 맡는 백그라운드 작업이 켜져 있거나 COUNTER IV 설정이 서버와 겹칠 수 있는 경우
+     */
+    private static void checkEnvironment(ConfigurableEnvironment environment) {
+        for (String key : DISABLED_FEATURES) {
+            if (environment.getProperty(key, Boolean.class, false)) {
+                throw new IllegalStateException("명령행 가져오기에서는 " + key + "=true 를 사용할 수 없습니다. (서버에서 실행 중인 작업과 겹침)");
+            }
+        }
+        if (!"COUNTER".equalsIgnoreCase(environment.getProperty(IV_STRATEGY, "").trim())) {
+            return;
+        }
+        PropertySource<?> commandLine = environment.getPropertySources()
+                .get(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME);
+        if (commandLine == null || !commandLine.containsProperty(IV_INSTANCE_ID) || !commandLine.containsProperty(IV_COUNTER_FILE)) {
+            throw new IllegalStateException("IV 생성 방식이 COUNTER이면 서버와 다른 --" + IV_INSTANCE_ID + "=... 와 --"
+                    + IV_COUNTER_FILE + "=... 를 지정해야 합니다.");
+        }
+        String instanceId = environment.getProperty(IV_INSTANCE_ID, "").trim();
+        if (instanceId.equals(configuredValue(environment, IV_INSTANCE_ID))) {
+            throw new IllegalStateException("--" + IV_INSTANCE_ID + " 가 설정 파일의 값(서버)과 같습니다: " + instanceId);
+        }
+        String counterFile = environment.getProperty(IV_COUNTER_FILE, "").trim();
+        String serverCounterFile = configuredValue(environment, IV_COUNTER_FILE);
+        if (serverCounterFile != null && Paths.get(counterFile).toAbsolutePath().normalize()
+                .equals(Paths.get(serverCounterFile).toAbsolutePath().normalize())) {
+            throw new IllegalStateException("--" + IV_COUNTER_FILE + " 가 설정 파일의 값(서버)과 같습니다: " + counterFile);
+        }
+    }
+
+    /**
+     * 명령행 인자를 제외한 설정(설정 파일, 환경 변수 등)에서 읽은 값. 서버도 같은 설정으로 실행된다고 보고 비교합니다.
+     */
+    private static String configuredValue(ConfigurableEnvironment environment, String key) {
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME.equals(source.getName())
+                    || ATTACHED_SOURCE_NAME.equals(source.getName())) {
+                continue;
+            }
+            Object value = source.getProperty(key);
+            if (value != null) {
+                return environment.resolvePlaceholders(value.toString()).trim();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ariaapi.util;
+
+import java.util.Arrays;
+
+/**
+ * 문자열을 UTF-8로 인코딩하여 담아 두는 재사용 버퍼.
+ *
+ * String.getBytes(UTF_8)처럼 호출마다 새 배열을 만들지 않고 재사용하기 위한 클래스입니다.
+ * 여러 스레드가 동시에 사용하면 안 되며, 평문이 담기므로 사용 후 {@link #wipe(int)}로 지웁니다.
+ */
+public final class Utf8Buffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    /**
+     * 문자열을 UTF-8로 인코딩하여 버퍼에 기록합니다. 짝이 맞지 않는 서로게이트는 String.getBytes와 같이 '?'로 바꿉니다.
+     * @return 기록한 바이트 수
+     */
+    public int encode(String value) {
+        int length = value.length();
+        ensureCapacity(length * 3); // UTF-16 한 글자는 UTF-8로 최대 3바이트 (서로게이트 쌍은 2글자에 4바이트)
+        byte[] dst = buffer;
+        int p = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                dst[p++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[p++] = (byte) (0xC0 | (c >> 6));
+                dst[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                dst[p++] = (byte) (0xF0 | (codePoint >> 18));
+                dst[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                dst[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                dst[p++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                dst[p++] = (byte) '?';
+            } else {
+                dst[p++] = (byte) (0xE0 | (c >> 12));
+                dst[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return p;
+    }
+
+    public byte[] array() {
+        return buffer;
+    }
+
+    /**
+     * 버퍼 앞부분 length 바이트를 0으로 덮어씁니다.
+     */
+    public void wipe(int length) {
+        Arrays.fill(buffer, 0, length, (byte) 0);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (buffer.length < capacity) {
+            Arrays.fill(buffer, (byte) 0);
+            buffer = new byte[Math.max(capacity, buffer.length * 2)];
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 바이너리 암호문 봉투(bytea) 컬럼 추가
+-- spring.jpa.hibernate.ddl-auto=update 는 새 컬럼은 만들지만 기존 컬럼의 NOT NULL 제약은 바꾸지 않으므로,
+-- 운영 DB에는 애플리케이션 배포 전에 이 스크립트를 먼저 적용합니다.
+
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_nm_enc bytea;
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_tel_enc bytea;
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_birth_enc bytea;
+
+-- 새로 저장되는 행은 바이너리 컬럼만 채우므로 기존 문자열 컬럼은 NULL을 허용해야 합니다.
+ALTER TABLE public.user_table ALTER COLUMN usr_nm DROP NOT NULL;
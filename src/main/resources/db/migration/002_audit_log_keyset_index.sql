@@ -0,0 +1,6 @@
+-- 감사로그 커서(keyset) 페이지네이션용 인덱스
+-- (created_at, log_id) 순서로 범위 스캔하여 깊은 페이지도 OFFSET 없이 일정한 시간에 조회합니다.
+-- 운영 중인 테이블이 잠기지 않도록 CONCURRENTLY로 생성합니다. (트랜잭션 밖에서 실행)
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_created_at_log_id
+    ON public.decryption_audit_log_table (created_at, log_id);
@@ -0,0 +1,12 @@
+-- HMAC-SHA256 블라인드 인덱스
+-- blind_index_version: NULL 또는 0 = 기존 키 없는 SHA-256, 1 = HMAC-SHA256
+-- 이름/생년월일 검색이 순차 스캔 대신 인덱스 스캔으로 동작하도록 (해시, id) 인덱스를 만듭니다.
+-- usr_tel_hash는 unique 제약의 인덱스를 그대로 사용합니다.
+-- CREATE INDEX CONCURRENTLY는 트랜잭션 밖에서 실행합니다.
+
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS blind_index_version smallint;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_nm_hash_id
+    ON public.user_table (usr_nm_hash, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_birth_hash_id
+    ON public.user_table (usr_birth_hash, id);
@@ -0,0 +1,43 @@
+-- 검색용 해시를 32바이트 bytea 컬럼으로 저장 (app.blind-index.storage=BINARY)
+-- Base64 문자열(44자 + 가변 길이 헤더) 대신 32바이트로 저장하여 테이블과 인덱스 크기를 줄입니다.
+--
+-- 적용 순서
+--   1) 이 스크립트의 1~2단계(컬럼/인덱스 추가)를 적용합니다.
+--   2) app.blind-index.storage=BINARY로 배포합니다. (새 행은 bytea 컬럼에 기록, 검색은 두 컬럼을 모두 조회)
+--   3) 3단계로 기존 행의 문자열 해시를 bytea로 옮깁니다. 중단되어도 다시 실행하면 남은 행만 변환합니다.
+-- CREATE INDEX CONCURRENTLY와 3단계의 COMMIT은 트랜잭션 밖에서 실행합니다. (PostgreSQL 11 이상)
+
+-- 1) 컬럼 추가
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_nm_hash_bin bytea;
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_tel_hash_bin bytea;
+ALTER TABLE public.user_table ADD COLUMN IF NOT EXISTS usr_birth_hash_bin bytea;
+
+-- 2) 인덱스 (전화번호는 unique)
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_user_tel_hash_bin
+    ON public.user_table (usr_tel_hash_bin);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_nm_hash_bin_id
+    ON public.user_table (usr_nm_hash_bin, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_birth_hash_bin_id
+    ON public.user_table (usr_birth_hash_bin, id);
+
+-- 3) 기존 Base64 해시를 bytea로 변환 (id 범위 5000건씩 커밋)
+DO $$
+DECLARE
+    last_id bigint := 0;
+    max_id  bigint;
+BEGIN
+    SELECT coalesce(max(id), 0) INTO max_id FROM public.user_table;
+    WHILE last_id < max_id LOOP
+        UPDATE public.user_table
+           SET usr_nm_hash_bin    = coalesce(usr_nm_hash_bin, decode(usr_nm_hash, 'base64')),
+               usr_tel_hash_bin   = coalesce(usr_tel_hash_bin, decode(usr_tel_hash, 'base64')),
+               usr_birth_hash_bin = coalesce(usr_birth_hash_bin, decode(usr_birth_hash, 'base64')),
+               usr_nm_hash    = NULL,
+               usr_tel_hash   = NULL,
+               usr_birth_hash = NULL
+         WHERE id > last_id AND id <= last_id + 5000
+           AND (usr_nm_hash IS NOT NULL OR usr_tel_hash IS NOT NULL OR usr_birth_hash IS NOT NULL);
+        last_id := last_id + 5000;
+        COMMIT;
+    END LOOP;
+END $$;
@@ -0,0 +1,12 @@
+-- 키 교체 재암호화 작업의 진행 위치 (대상 키 ID마다 한 행)
+-- 재암호화 작업(app.rotation.*)은 이 테이블의 last_id 다음부터 이어서 처리합니다.
+
+CREATE TABLE IF NOT EXISTS public.key_rotation_checkpoint (
+    target_key_id integer     NOT NULL PRIMARY KEY,
+    last_id       bigint      NOT NULL,
+    processed     bigint      NOT NULL,
+    re_encrypted  bigint      NOT NULL,
+    failed        bigint      NOT NULL,
+    status        varchar(20) NOT NULL,
+    updated_at    timestamp   NOT NULL
+);
@@ -0,0 +1,5 @@
+-- 여러 사용자 일괄 조회(POST /api/users/batch-lookup) 시 감사로그 한 건에 대상 ID 구간 목록("1-5,9,12-14")을 남기므로
+-- target_data_id 컬럼 길이를 100자에서 4000자로 늘립니다. (varchar 길이 확장은 테이블을 다시 쓰지 않음)
+
+ALTER TABLE public.decryption_audit_log_table
+    ALTER COLUMN target_data_id TYPE varchar(4000);
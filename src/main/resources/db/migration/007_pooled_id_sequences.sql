@@ -0,0 +1,17 @@
+-- 사용자/감사로그 id를 IDENTITY 컬럼에서 50씩 증가하는 시퀀스로 바꿉니다.
+-- IDENTITY는 INSERT 후에야 id를 알 수 있어 Hibernate가 JDBC 배치 INSERT를 쓰지 못하므로(행마다 왕복 1회),
+-- 시퀀스 값 하나로 id 50개를 미리 받아 두고 hibernate.jdbc.batch_size 단위로 묶어 INSERT 합니다.
+-- 애플리케이션을 새 버전으로 시작하기 전에 적용합니다. (ddl-auto=update가 시퀀스를 먼저 만들었더라도 아래 setval로 기존 id 뒤에서 시작)
+
+CREATE SEQUENCE IF NOT EXISTS public.user_table_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE public.user_table_seq INCREMENT BY 50;
+SELECT setval('public.user_table_seq', COALESCE((SELECT max(id) FROM public.user_table), 0) + 50, false);
+ALTER TABLE public.user_table ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE public.user_table ALTER COLUMN id SET DEFAULT nextval('public.user_table_seq');
+
+CREATE SEQUENCE IF NOT EXISTS public.decryption_audit_log_table_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE public.decryption_audit_log_table_seq INCREMENT BY 50;
+SELECT setval('public.decryption_audit_log_table_seq',
+              COALESCE((SELECT max(log_id) FROM public.decryption_audit_log_table), 0) + 50, false);
+ALTER TABLE public.decryption_audit_log_table ALTER COLUMN log_id DROP IDENTITY IF EXISTS;
+ALTER TABLE public.decryption_audit_log_table ALTER COLUMN log_id SET DEFAULT nextval('public.decryption_audit_log_table_seq');
@@ -0,0 +1,17 @@
+-- 사용자 파일 가져오기 작업의 진행 위치 (파일 경로마다 한 행)
+-- 가져오기 작업(app.import.*)은 묶음을 저장하는 트랜잭션에서 이 행의 byte_offset을 함께 갱신하므로,
+-- 중단 후 다시 시작하면 마지막으로 커밋된 묶음 다음 줄부터 이어서 읽습니다.
+
+CREATE TABLE IF NOT EXISTS public.user_import_checkpoint (
+    file_path          varchar(1000) NOT NULL PRIMARY KEY,
+    file_size          bigint        NOT NULL,
+    file_last_modified bigint        NOT NULL,
+    byte_offset        bigint        NOT NULL,
+    line_count         bigint        NOT NULL,
+    imported           bigint        NOT NULL,
+    skipped            bigint        NOT NULL,
+    invalid            bigint        NOT NULL,
+    status             varchar(20)   NOT NULL,
+    error              varchar(1000),
+    updated_at         timestamp     NOT NULL
+);
@@ -0,0 +1,139 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.AriaEnvelope;
+import com.example.ariaapi.crypto.AriaGcmCipherContext;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 바이너리 봉투 형식의 헤더 기록/검증과 기존 "Base64(IV):Base64(암호문+인증태그)" 문자열과의 변환을 확인합니다.
+ */
+public class AriaEnvelopeTest {
+
+    private static final byte[] PLAIN = "홍길동 010-1234-5678".getBytes(StandardCharsets.UTF_8);
+
+    private final SecureRandom random = new SecureRandom();
+    private final AriaGcmCipherContext context = new AriaGcmCipherContext(new SecretKeySpec(randomBytes(24), "ARIA"), false, 4);
+
+    @Test
+    void testHeaderIsWrittenAndParsed() {
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        byte[] envelope = new byte[AriaEnvelope.envelopeLength(PLAIN.length)];
+        AriaEnvelope.writeHeader(envelope, 200, iv);
+
+        assertEquals(AriaEnvelope.HEADER_LENGTH + PLAIN.length + AriaGcmCipherContext.GCM_TAG_LENGTH, envelope.length);
+        assertEquals(AriaEnvelope.VERSION_1, envelope[AriaEnvelope.VERSION_OFFSET]);
+        // 키 ID는 부호 없는 1바이트로 읽습니다.
+        assertEquals(200, AriaEnvelope.keyId(envelope));
+        assertArrayEquals(iv, Arrays.copyOfRange(envelope, AriaEnvelope.IV_OFFSET, AriaEnvelope.HEADER_LENGTH));
+        AriaEnvelope.validate(envelope);
+    }
+
+    @Test
+    void testLegacyCiphertextRoundTripsThroughEnvelope() throws Exception {
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        byte[] cipherTextWithTag = context.encrypt(iv, PLAIN, 0, PLAIN.length);
+        String legacy = toLegacy(iv, cipherTextWithTag);
+
+        byte[] envelope = AriaEnvelope.fromLegacy(legacy, 3);
+        AriaEnvelope.validate(envelope);
+        assertEquals(3, AriaEnvelope.keyId(envelope));
+        assertEquals(AriaEnvelope.HEADER_LENGTH + cipherTextWithTag.length, envelope.length);
+
+        // 다시 암호화하지 않고 옮겨 담았으므로 봉투에서 꺼낸 IV와 암호문으로 원문이 복원되고, 기존 문자열로도 되돌릴 수 있습니다.
+        byte[] envelopeIv = Arrays.copyOfRange(envelope, AriaEnvelope.IV_OFFSET, AriaEnvelope.HEADER_LENGTH);
+        byte[] envelopeCipherText = Arrays.copyOfRange(envelope, AriaEnvelope.HEADER_LENGTH, envelope.length);
+        assertArrayEquals(PLAIN, context.decrypt(envelopeIv, envelope, AriaEnvelope.HEADER_LENGTH, envelope.length - AriaEnvelope.HEADER_LENGTH));
+        assertEquals(legacy, toLegacy(envelopeIv, envelopeCipherText));
+    }
+
+    @Test
+    void testUnknownVersionIsRejected() throws Exception {
+        byte[] envelope = encryptToEnvelope();
+        envelope[AriaEnvelope.VERSION_OFFSET] = 2;
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.validate(envelope));
+        assertEquals("Unsupported encrypted envelope version: 2", e.getMessage());
+    }
+
+    @Test
+    void testTruncatedEnvelopeIsRejected() throws Exception {
+        byte[] envelope = encryptToEnvelope();
+
+        // 헤더와 인증 태그보다 짧으면 버전을 보기 전에 거절합니다.
+        assertThrows(IllegalArgumentException.class,
+                () -> AriaEnvelope.validate(Arrays.copyOf(envelope, AriaEnvelope.HEADER_LENGTH + AriaGcmCipherContext.GCM_TAG_LENGTH - 1)));
+        assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.validate(new byte[0]));
+
+        // 길이 검증은 통과하지만 암호문 끝이 잘린 봉투는 인증 태그 검증에서 거절됩니다.
+        byte[] truncated = Arrays.copyOf(envelope, envelope.length - 1);
+        AriaEnvelope.validate(truncated);
+        assertThrows(Exception.class, () -> decrypt(truncated));
+    }
+
+    @Test
+    void testTamperedEnvelopeIsRejected() throws Exception {
+        byte[] envelope = encryptToEnvelope();
+        assertArrayEquals(PLAIN, decrypt(envelope));
+
+        byte[] tamperedCipherText = envelope.clone();
+        tamperedCipherText[AriaEnvelope.HEADER_LENGTH] ^= 1;
+        assertThrows(Exception.class, () -> decrypt(tamperedCipherText));
+
+        byte[] tamperedIv = envelope.clone();
+        tamperedIv[AriaEnvelope.IV_OFFSET] ^= 1;
+        assertThrows(Exception.class, () -> decrypt(tamperedIv));
+
+        byte[] tamperedTag = envelope.clone();
+        tamperedTag[tamperedTag.length - 1] ^= 1;
+        assertThrows(Exception.class, () -> decrypt(tamperedTag));
+    }
+
+    @Test
+    void testInvalidLegacyFormatIsRejected() throws Exception {
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        String cipherText = Base64.getEncoder().encodeToString(context.encrypt(iv, PLAIN, 0, PLAIN.length));
+        String encodedIv = Base64.getEncoder().encodeToString(iv);
+
+        assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.fromLegacy(encodedIv + cipherText, 1));
+        assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.fromLegacy(encodedIv + ":" + cipherText + ":" + cipherText, 1));
+        assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.fromLegacy(encodedIv + ":not-base64!", 1));
+        // IV 길이가 12바이트가 아니면 봉투 헤더에 담을 수 없습니다.
+        String shortIv = Base64.getEncoder().encodeToString(Arrays.copyOf(iv, AriaGcmCipherContext.GCM_IV_LENGTH - 1));
+        assertThrows(IllegalArgumentException.class, () -> AriaEnvelope.fromLegacy(shortIv + ":" + cipherText, 1));
+    }
+
+    private byte[] encryptToEnvelope() throws Exception {
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        byte[] envelope = new byte[AriaEnvelope.envelopeLength(PLAIN.length)];
+        AriaEnvelope.writeHeader(envelope, 1, iv);
+        context.encryptInto(iv, PLAIN, 0, PLAIN.length, envelope, AriaEnvelope.HEADER_LENGTH);
+        return envelope;
+    }
+
+    // AriaCryptoService#decryptEnvelopeInto와 같은 순서로 검증한 뒤 복호화합니다.
+    private byte[] decrypt(byte[] envelope) throws Exception {
+        AriaEnvelope.validate(envelope);
+        byte[] iv = Arrays.copyOfRange(envelope, AriaEnvelope.IV_OFFSET, AriaEnvelope.HEADER_LENGTH);
+        return context.decrypt(iv, envelope, AriaEnvelope.HEADER_LENGTH, envelope.length - AriaEnvelope.HEADER_LENGTH);
+    }
+
+    private static String toLegacy(byte[] iv, byte[] cipherTextWithTag) {
+        return Base64.getEncoder().encodeToString(iv) + ":" + Base64.getEncoder().encodeToString(cipherTextWithTag);
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
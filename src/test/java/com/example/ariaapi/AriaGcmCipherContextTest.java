@@ -0,0 +1,120 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.AriaGcmCipherContext;
+import org.bouncycastle.crypto.engines.ARIAEngine;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.modes.GCMModeCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AriaGcmCipherContextTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AriaGcmCipherContextTest.class);
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURE_ITERATIONS = 100_000;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    void testCompatibleWithPerCallCipher() throws Exception {
+        byte[] keyBytes = randomBytes(24);
+        AriaGcmCipherContext context = new AriaGcmCipherContext(new SecretKeySpec(keyBytes, "ARIA"), false, 4);
+        byte[] plain = "홍길동 010-1234-5678".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 10; i++) {
+            byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+            // 컨텍스트로 암호화한 결과는 매번 새로 만든 cipher의 결과와 같아야 합니다.
+            byte[] expected = perCallCipher(true, keyBytes, iv, plain);
+            byte[] actual = context.encrypt(iv, plain, 0, plain.length);
+            assertArrayEquals(expected, actual);
+            assertArrayEquals(plain, context.decrypt(iv, actual, 0, actual.length));
+        }
+    }
+
+    @Test
+    void testTamperedCiphertextIsRejected() throws Exception {
+        AriaGcmCipherContext context = new AriaGcmCipherContext(randomKey(), true, 4);
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        byte[] plain = "1990-01-01".getBytes(StandardCharsets.UTF_8);
+        byte[] cipherText = context.encrypt(iv, plain, 0, plain.length);
+        cipherText[0] ^= 1;
+
+        assertThrows(Exception.class, () -> context.decrypt(iv, cipherText, 0, cipherText.length));
+        // 인증 실패 이후에도 풀로 돌아간 인스턴스는 정상 동작해야 합니다.
+        cipherText[0] ^= 1;
+        assertArrayEquals(plain, context.decrypt(iv, cipherText, 0, cipherText.length));
+    }
+
+    @Test
+    void testThroughputAgainstPerCallConstruction() throws Exception {
+        byte[] keyBytes = randomBytes(24);
+        SecretKey key = new SecretKeySpec(keyBytes, "ARIA");
+        AriaGcmCipherContext context = new AriaGcmCipherContext(key, false, 4);
+        AriaGcmCipherContext largeContext = new AriaGcmCipherContext(key, true, 4);
+        byte[] plain = "010-1234-5678".getBytes(StandardCharsets.UTF_8);
+        byte[] iv = randomBytes(AriaGcmCipherContext.GCM_IV_LENGTH);
+        byte[] cipherText = context.encrypt(iv, plain, 0, plain.length);
+
+        log.info("=== [시작] GCM 컨텍스트 처리량 비교 (복호화 {}회) ===", MEASURE_ITERATIONS);
+        double perCall = measure(() -> perCallCipher(false, keyBytes, iv, cipherText));
+        double pooled4k = measure(() -> context.decrypt(iv, cipherText, 0, cipherText.length));
+        double pooled64k = measure(() -> largeContext.decrypt(iv, cipherText, 0, cipherText.length));
+
+        log.info("호출마다 cipher 생성: {} ops/s", String.format("%,.0f", perCall));
+        log.info("컨텍스트 재사용 (Tables4k): {} ops/s ({}배)", String.format("%,.0f", pooled4k), String.format("%.2f", pooled4k / perCall));
+        log.info("컨텍스트 재사용 (Tables64k): {} ops/s ({}배)", String.format("%,.0f", pooled64k), String.format("%.2f", pooled64k / perCall));
+        log.info("=== [종료] GCM 컨텍스트 처리량 비교 ===");
+    }
+
+    private double measure(CryptoCall call) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            call.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return MEASURE_ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+
+    /**
+     * 기존 AriaCryptoService와 동일하게 호출마다 cipher를 생성하고 키로 초기화합니다.
+     */
+    private static byte[] perCallCipher(boolean forEncryption, byte[] keyBytes, byte[] iv, byte[] input) throws Exception {
+        GCMModeCipher cipher = GCMBlockCipher.newInstance(new ARIAEngine());
+        cipher.init(forEncryption, new AEADParameters(new KeyParameter(keyBytes), AriaGcmCipherContext.GCM_TAG_LENGTH_BITS, iv, new byte[0]));
+        byte[] output = new byte[cipher.getOutputSize(input.length)];
+        int processed = cipher.processBytes(input, 0, input.length, output, 0);
+        processed += cipher.doFinal(output, processed);
+        return Arrays.copyOf(output, processed);
+    }
+
+    private SecretKey randomKey() {
+        return new SecretKeySpec(randomBytes(24), "ARIA");
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface CryptoCall {
+        Object run() throws Exception;
+    }
+}
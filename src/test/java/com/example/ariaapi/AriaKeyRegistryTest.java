@@ -0,0 +1,57 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.AriaGcmCipherContext;
+import com.example.ariaapi.crypto.AriaKeyRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AriaKeyRegistryTest {
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    void testNewestKeyIsUsedForWritesAndOldKeysStillDecrypt() throws Exception {
+        AriaKeyRegistry registry = new AriaKeyRegistry();
+        AriaGcmCipherContext oldContext = newContext();
+        AriaGcmCipherContext newContext = newContext();
+        registry.register(1, oldContext);
+        registry.register(2, newContext);
+
+        assertEquals(2, registry.currentKeyId());
+        assertSame(newContext, registry.currentContext());
+        assertEquals(List.of(1, 2), registry.keyIds());
+
+        // 예전 키로 암호화한 데이터는 키 ID로 찾은 예전 컨텍스트로 복호화되어야 합니다.
+        byte[] iv = new byte[AriaGcmCipherContext.GCM_IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] plain = "홍길동".getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = oldContext.encrypt(iv, plain, 0, plain.length);
+        assertArrayEquals(plain, registry.context(1).decrypt(iv, encrypted, 0, encrypted.length));
+    }
+
+    @Test
+    void testUnknownOrDuplicateKeyIdIsRejected() {
+        AriaKeyRegistry registry = new AriaKeyRegistry();
+        assertThrows(IllegalStateException.class, registry::currentKeyId);
+        registry.register(1, newContext());
+
+        assertThrows(IllegalArgumentException.class, () -> registry.context(3));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(1, newContext()));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(256, newContext()));
+    }
+
+    private AriaGcmCipherContext newContext() {
+        byte[] keyBytes = new byte[24];
+        random.nextBytes(keyBytes);
+        return new AriaGcmCipherContext(new SecretKeySpec(keyBytes, "ARIA"), false, 4);
+    }
+}
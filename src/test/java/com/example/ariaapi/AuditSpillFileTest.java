@@ -0,0 +1,125 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.audit.AuditSpillFile;
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditSpillFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testFailedRedeliveryKeepsRemainingLogs() throws Exception {
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("spill/audit-spill.log"));
+        spillFile.append(List.of(auditLog("1"), auditLog("2"), auditLog("3")));
+        spillFile.append(List.of(auditLog("4"), auditLog("5")));
+
+        // 두 번째 배치에서 DB 오류가 나면 첫 배치만 지워지고 나머지는 남아야 합니다.
+        List<String> written = new ArrayList<>();
+        int[] calls = {0};
+        AuditSpillFile.Redelivery redelivered = spillFile.redeliver(2, batch -> {
+            if (++calls[0] == 2) {
+                throw new IllegalStateException("DB unavailable");
+            }
+            batch.forEach(log -> written.add(log.getTargetDataId()));
+        });
+        assertEquals(2, redelivered.written());
+        assertEquals(List.of("1", "2"), written);
+        assertFalse(spillFile.isEmpty());
+
+        // DB가 복구되면 남은 감사로그를 모두 기록하고 파일을 지웁니다.
+        redelivered = spillFile.redeliver(2, batch -> batch.forEach(log -> written.add(log.getTargetDataId())));
+        assertEquals(3, redelivered.written());
+        assertEquals(List.of("1", "2", "3", "4", "5"), written);
+        assertTrue(spillFile.isEmpty());
+    }
+
+    @Test
+    void testRejectedLogMovesToQuarantineAndLaterLogsAreWritten() throws Exception {
+        Path quarantine = directory.resolve("spill/audit-quarantine.log");
+        AuditSpillFile spillFile = new AuditSpillFile(directory.resolve("spill/audit-spill.log"), quarantine);
+        spillFile.append(List.of(auditLog("1"), auditLog("bad"), auditLog("3"), auditLog("4")));
+
+        // "bad"가 든 배치는 DB가 거절하므로 한 건씩 다시 기록되고, "bad"만 격리되어야 합니다.
+        List<String> written = new ArrayList<>();
+        AuditSpillFile.Redelivery result = spillFile.redeliver(2, batch -> {
+            if (batch.stream().anyMatch(log -> "bad".equals(log.getTargetDataId()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            batch.forEach(log -> written.add(log.getTargetDataId()));
+        });
+        assertEquals(3, result.written());
+        assertEquals(1, result.quarantined());
+        assertEquals(List.of("1", "3", "4"), written);
+        assertTrue(spillFile.isEmpty());
+
+        List<String> quarantined = new ArrayList<>();
+        new AuditSpillFile(quarantine).redeliver(10, batch -> batch.forEach(log -> quarantined.add(log.getTargetDataId())));
+        assertEquals(List.of("bad"), quarantined);
+    }
+
+    @Test
+    void testCorruptRecordIsSkippedAndLaterRecordsAreKept() throws Exception {
+        Path file = directory.resolve("audit-spill.log");
+        AuditSpillFile spillFile = new AuditSpillFile(file);
+        spillFile.append(List.of(auditLog("1")));
+        long firstEnd = Files.size(file);
+        spillFile.append(List.of(auditLog("2")));
+        spillFile.append(List.of(auditLog("3")));
+        // 두 번째 레코드의 payload 한 바이트를 바꿔 CRC가 맞지 않게 합니다.
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) firstEnd + 10] ^= 0x5A;
+        Files.write(file, bytes);
+
+        List<String> written = new ArrayList<>();
+        AuditSpillFile.Redelivery result = spillFile.redeliver(10, batch -> batch.forEach(log -> written.add(log.getTargetDataId())));
+        assertEquals(List.of("1", "3"), written);
+        assertEquals(1, result.corrupt());
+        // 손상된 원본은 지우기 전에 복사해 둡니다.
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.getFileName().toString().startsWith("audit-spill.log.corrupt-")).count());
+        }
+    }
+
+    @Test
+    void testTornLastRecordIsIgnored() throws Exception {
+        Path file = directory.resolve("audit-spill.log");
+        AuditSpillFile spillFile = new AuditSpillFile(file);
+        spillFile.append(List.of(auditLog("1"), auditLog("2")));
+        // 기록 도중 종료된 것처럼 마지막 레코드의 끝을 잘라냅니다.
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        List<String> written = new ArrayList<>();
+        spillFile.redeliver(10, batch -> batch.forEach(log -> written.add(log.getTargetDataId())));
+        assertEquals(List.of("1"), written);
+    }
+
+    private static DecryptionAuditLog auditLog(String target) {
+        DecryptionAuditLog log = new DecryptionAuditLog();
+        log.setUserId("tester");
+        log.setIpAddress("127.0.0.1");
+        log.setPurpose("테스트");
+        log.setSuccess(true);
+        log.setTargetDataId(target);
+        LocalDateTime now = LocalDateTime.now();
+        log.setDecryptionTime(now);
+        log.setCreatedAt(now);
+        return log;
+    }
+}
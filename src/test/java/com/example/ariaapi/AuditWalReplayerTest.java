@@ -0,0 +1,86 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.audit.AuditLogBatchInserter;
+import com.example.ariaapi.audit.AuditSpillFile;
+import com.example.ariaapi.audit.AuditWalReplayer;
+import com.example.ariaapi.audit.AuditWriteAheadLog;
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class AuditWalReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRejectedRowMovesToDeadLetterFileAndLaterRowsAreShipped() throws Exception {
+        AuditWriteAheadLog wal = new AuditWriteAheadLog(true, directory.resolve("wal").toString(), 4096, 1);
+        wal.start();
+        wal.append(auditLog("1", "WAL 테스트"));
+        wal.append(auditLog("2", "x".repeat(DecryptionAuditLog.PURPOSE_LENGTH + 1)));
+        wal.append(auditLog("3", "WAL 테스트"));
+
+        RecordingInserter inserter = new RecordingInserter();
+        Path deadLetterPath = directory.resolve("dead-letter/wal-dead-letter.log");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditWalReplayer replayer = new AuditWalReplayer(wal, inserter, meterRegistry);
+        ReflectionTestUtils.setField(replayer, "batchSize", 10);
+        ReflectionTestUtils.setField(replayer, "replayIntervalMillis", 10L);
+        ReflectionTestUtils.setField(replayer, "deadLetterFilePath", deadLetterPath.toString());
+        ReflectionTestUtils.invokeMethod(replayer, "start");
+
+        // 배치가 실패해도 한 건씩 다시 반영하여 잘못된 레코드 뒤의 감사로그까지 반영되어야 합니다.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.get("aria.audit.wal.backlog.bytes").gauge().value() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        replayer.stop();
+        wal.stop();
+        assertEquals(List.of("1", "3"), inserter.inserted);
+
+        AuditSpillFile deadLetterFile = new AuditSpillFile(deadLetterPath);
+        assertFalse(deadLetterFile.isEmpty());
+        List<String> deadLetters = new ArrayList<>();
+        deadLetterFile.redeliver(10, batch -> batch.forEach(log -> deadLetters.add(log.getTargetDataId())));
+        assertEquals(List.of("2"), deadLetters);
+    }
+
+    /**
+     * purpose가 컬럼 길이를 넘는 감사로그가 포함된 배치를 DB처럼 통째로 거절합니다.
+     */
+    private static final class RecordingInserter extends AuditLogBatchInserter {
+
+        private final List<String> inserted = new CopyOnWriteArrayList<>();
+
+        RecordingInserter() {
+            super(null, null);
+        }
+
+        @Override
+        public void insertAll(List<DecryptionAuditLog> logs) {
+            for (DecryptionAuditLog log : logs) {
+                if (log.getPurpose().length() > DecryptionAuditLog.PURPOSE_LENGTH) {
+                    throw new DataIntegrityViolationException("value too long for type character varying(500)");
+                }
+            }
+            logs.forEach(log -> inserted.add(log.getTargetDataId()));
+        }
+    }
+
+    private static DecryptionAuditLog auditLog(String target, String purpose) {
+        return new DecryptionAuditLog("SYSTEM", LocalDateTime.now(), "127.0.0.1", purpose, true, target);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.audit.AuditWriteAheadLog;
+import com.example.ariaapi.entity.DecryptionAuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuditWriteAheadLogTest {
+
+    // 작은 세그먼트로 세그먼트 교체(rotate)가 여러 번 일어나도록 합니다.
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path walDirectory;
+
+    @Test
+    void testConcurrentAppendsAreReadBackAcrossSegments() throws Exception {
+        AuditWriteAheadLog wal = newWal();
+        wal.start();
+
+        int threads = 4;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    wal.append(auditLog(thread + "-" + i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Set<String> targets = readAll(wal);
+        assertEquals(threads * perThread, targets.size());
+        assertTrue(targets.contains("3-199"));
+        wal.stop();
+    }
+
+    @Test
+    void testRecordsSurviveRestart() throws Exception {
+        AuditWriteAheadLog first = newWal();
+        first.start();
+        for (int i = 0; i < 100; i++) {
+            first.append(auditLog("before-" + i));
+        }
+        first.stop();
+
+        // 재시작하면 새 세그먼트에 기록하고, 이전 세그먼트의 레코드도 그대로 읽을 수 있어야 합니다.
+        AuditWriteAheadLog second = newWal();
+        second.start();
+        second.append(auditLog("after-0"));
+
+        Set<String> targets = readAll(second);
+        assertEquals(101, targets.size());
+        assertTrue(targets.contains("before-99"));
+        assertTrue(targets.contains("after-0"));
+        second.stop();
+    }
+
+    private AuditWriteAheadLog newWal() {
+        return new AuditWriteAheadLog(true, walDirectory.toString(), SEGMENT_SIZE, 1);
+    }
+
+    private Set<String> readAll(AuditWriteAheadLog wal) throws Exception {
+        Set<String> targets = new HashSet<>();
+        AuditWriteAheadLog.Position position = wal.oldestPosition();
+        while (true) {
+            AuditWriteAheadLog.ReadResult result = wal.read(position, 50);
+            result.logs().forEach(log -> targets.add(log.getTargetDataId()));
+            if (result.logs().isEmpty() && result.next().equals(position)) {
+                return targets;
+            }
+            position = result.next();
+        }
+    }
+
+    private static DecryptionAuditLog auditLog(String target) {
+        return new DecryptionAuditLog("SYSTEM", LocalDateTime.now(), "127.0.0.1", "WAL 테스트", true, target);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.AriaEnvelope;
+import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.repository.UserRepository;
+import com.example.ariaapi.service.AriaCryptoService;
+import com.example.ariaapi.service.CiphertextMigrationService;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 기존 문자열 암호문을 바이너리 봉투로 옮기는 마이그레이션과 AriaCryptoService의 두 형식 간 변환을 확인합니다.
+ * 마이그레이션은 백그라운드 스레드에서 청크마다 별도 트랜잭션으로 커밋하므로,
+ * 테스트 트랜잭션으로 감싸지 않고 끝난 뒤 저장된 행을 지웁니다.
+ */
+@SpringBootTest(properties = {"app.migration.ciphertext-envelope.chunk-size=2", "app.migration.ciphertext-envelope.pause-millis=0"})
+@ActiveProfiles("test")
+public class CiphertextMigrationTest {
+
+    @Autowired
+    private CiphertextMigrationService ciphertextMigrationService;
+
+    @Autowired
+    private AriaCryptoService ariaCryptoService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testLegacyCiphertextConvertsToEnvelope() throws Exception {
+        String legacy = ariaCryptoService.encrypt("홍길동");
+        byte[] envelope = ariaCryptoService.legacyToEnvelope(legacy);
+
+        assertEquals(ariaCryptoService.currentKeyId(), AriaEnvelope.keyId(envelope));
+        assertEquals("홍길동", ariaCryptoService.decrypt(legacy));
+        assertEquals("홍길동", ariaCryptoService.decryptEnvelope(envelope));
+    }
+
+    @Test
+    void testTamperedOrShortEnvelopeIsRejected() throws Exception {
+        byte[] envelope = ariaCryptoService.encryptToEnvelope("010-1234-5678");
+
+        byte[] tampered = envelope.clone();
+        tampered[AriaEnvelope.HEADER_LENGTH] ^= 1;
+        assertThrows(Exception.class, () -> ariaCryptoService.decryptEnvelope(tampered));
+
+        byte[] unknownVersion = envelope.clone();
+        unknownVersion[AriaEnvelope.VERSION_OFFSET] = 2;
+        assertThrows(IllegalArgumentException.class, () -> ariaCryptoService.decryptEnvelope(unknownVersion));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ariaCryptoService.decryptEnvelope(Arrays.copyOf(envelope, AriaEnvelope.HEADER_LENGTH)));
+    }
+
+    @Test
+    void testMigrationMovesLegacyRowsToEnvelope() throws Exception {
+        // 청크 크기 2: 세 청크에 걸친 기존 형식 행 네 개와 형식이 깨진 행 하나
+        User first = userRepository.save(legacyUser("이전일", "010-8100-0001", "1980-01-01"));
+        User second = userRepository.save(legacyUser("이전이", "010-8100-0002", null));
+        User broken = new User();
+        broken.setUsrNm("깨진암호문");
+        broken = userRepository.save(broken);
+        User third = userRepository.save(legacyUser("이전삼", null, "1980-03-03"));
+        User fourth = userRepository.save(legacyUser("이전사", "010-8100-0004", "1980-04-04"));
+
+        ciphertextMigrationService.start();
+        AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(ciphertextMigrationService, "running");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (running.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(running.get());
+
+        assertMigrated(first.getId(), "이전일", "010-8100-0001", "1980-01-01");
+        assertMigrated(second.getId(), "이전이", "010-8100-0002", null);
+        assertMigrated(third.getId(), "이전삼", null, "1980-03-03");
+        assertMigrated(fourth.getId(), "이전사", "010-8100-0004", "1980-04-04");
+
+        // 형식이 깨진 행은 기존 형식 그대로 남습니다.
+        User skipped = userRepository.findById(broken.getId()).orElseThrow();
+        assertEquals("깨진암호문", skipped.getUsrNm());
+        assertNull(skipped.getUsrNmEnc());
+    }
+
+    private User legacyUser(String usrNm, String usrTel, String usrBirth) throws Exception {
+        User user = new User();
+        user.setUsrNm(ariaCryptoService.encrypt(usrNm));
+        user.setUsrTel(usrTel != null ? ariaCryptoService.encrypt(usrTel) : null);
+        user.setUsrBirth(usrBirth != null ? ariaCryptoService.encrypt(usrBirth) : null);
+        return user;
+    }
+
+    private void assertMigrated(Long id, String usrNm, String usrTel, String usrBirth) {
+        User user = userRepository.findById(id).orElseThrow();
+        assertNull(user.getUsrNm());
+        assertNull(user.getUsrTel());
+        assertNull(user.getUsrBirth());
+        assertNotNull(user.getUsrNmEnc());
+        assertEquals(usrTel == null, user.getUsrTelEnc() == null);
+        assertEquals(usrBirth == null, user.getUsrBirthEnc() == null);
+
+        // 봉투로 옮긴 암호문이 조회 경로에서 원문으로 복호화됩니다.
+        UserDecryptedDto decrypted = userService.getDecryptedUserById(id, "127.0.0.1", "마이그레이션 테스트");
+        assertEquals(usrNm, decrypted.getUsrNm());
+        assertEquals(usrTel, decrypted.getUsrTel());
+        assertEquals(usrBirth, decrypted.getUsrBirth());
+    }
+}
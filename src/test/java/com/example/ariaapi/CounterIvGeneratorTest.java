@@ -0,0 +1,99 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.AriaGcmCipherContext;
+import com.example.ariaapi.crypto.CounterIvGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CounterIvGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIvLayoutIsInstanceIdFollowedByCounter() {
+        try (CounterIvGenerator generator = new CounterIvGenerator(0x01020304, tempDir.resolve("a.ctr"), 10)) {
+            byte[] iv = new byte[AriaGcmCipherContext.GCM_IV_LENGTH];
+
+            generator.nextIv(iv);
+            ByteBuffer first = ByteBuffer.wrap(iv);
+            assertEquals(0x01020304, first.getInt());
+            assertEquals(0L, first.getLong());
+
+            generator.nextIv(iv);
+            assertEquals(1L, ByteBuffer.wrap(iv, 4, 8).getLong());
+        }
+    }
+
+    @Test
+    void testRestartSkipsPastReservedBlock() {
+        Path file = tempDir.resolve("b.ctr");
+        byte[] iv = new byte[AriaGcmCipherContext.GCM_IV_LENGTH];
+
+        try (CounterIvGenerator before = new CounterIvGenerator(7, file, 10)) {
+            for (int i = 0; i < 15; i++) {
+                before.nextIv(iv); // 0~14 사용 -> 20까지 예약됨
+            }
+        }
+
+        try (CounterIvGenerator after = new CounterIvGenerator(7, file, 10)) {
+            after.nextIv(iv);
+            assertEquals(20L, ByteBuffer.wrap(iv, 4, 8).getLong());
+        }
+    }
+
+    @Test
+    void testReservationFileInUseFailsStartup() {
+        Path file = tempDir.resolve("d.ctr");
+        try (CounterIvGenerator running = new CounterIvGenerator(1, file, 10)) {
+            // 같은 예약 파일로 두 번째 생성기를 만들면 같은 구간을 예약하게 되므로 락에서 실패해야 함
+            assertThrows(IllegalStateException.class, () -> new CounterIvGenerator(2, file, 10));
+        }
+        // 락이 풀린 뒤에는 다시 만들 수 있음
+        new CounterIvGenerator(1, file, 10).close();
+    }
+
+    @Test
+    void testConcurrentIvsAreUnique() throws InterruptedException {
+        CounterIvGenerator generator = new CounterIvGenerator(1, tempDir.resolve("c.ctr"), 100);
+        try {
+            assertConcurrentIvsAreUnique(generator);
+        } finally {
+            generator.close();
+        }
+    }
+
+    private static void assertConcurrentIvsAreUnique(CounterIvGenerator generator) throws InterruptedException {
+        Set<Long> counters = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 5_000;
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                byte[] iv = new byte[AriaGcmCipherContext.GCM_IV_LENGTH];
+                for (int i = 0; i < perThread; i++) {
+                    generator.nextIv(iv);
+                    assertTrue(counters.add(ByteBuffer.wrap(iv, 4, 8).getLong()));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * perThread, counters.size());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.crypto.CryptoRequestExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CryptoRequestExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CryptoRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new CryptoRequestExecutor(meterRegistry);
+        // lane마다 스레드 1개, 큐 1칸
+        ReflectionTestUtils.setField(executor, "singleThreads", 1);
+        ReflectionTestUtils.setField(executor, "singleQueueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "bulkThreads", 1);
+        ReflectionTestUtils.setField(executor, "bulkQueueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "ioThreads", 1);
+        ReflectionTestUtils.setField(executor, "ioQueueCapacity", 1);
+        ReflectionTestUtils.invokeMethod(executor, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void testSaturatedLaneRejectsWithoutWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 스레드 하나를 붙잡고 큐 한 칸을 채우면 세 번째 요청은 바로 거절되어야 함
+        CompletableFuture<Integer> running = executor.submit(CryptoRequestExecutor.Lane.BULK, () -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = executor.submit(CryptoRequestExecutor.Lane.BULK, () -> 2);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(CryptoRequestExecutor.Lane.BULK, () -> 3));
+        assertThrows(RejectedExecutionException.class, () -> executor.call(CryptoRequestExecutor.Lane.BULK, () -> 4));
+        assertEquals(2.0, meterRegistry.counter("aria.crypto.executor.rejected", "lane", "bulk").count());
+
+        // BULK lane이 가득 차도 SINGLE lane은 영향을 받지 않음
+        assertEquals(5, executor.call(CryptoRequestExecutor.Lane.SINGLE, () -> 5));
+        assertEquals(0.0, meterRegistry.counter("aria.crypto.executor.rejected", "lane", "single").count());
+
+        release.countDown();
+        assertEquals(1, running.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queued.get(5, TimeUnit.SECONDS));
+        assertEquals(6, executor.call(CryptoRequestExecutor.Lane.BULK, () -> 6));
+    }
+
+    @Test
+    void testCallRethrowsTaskException() {
+        IllegalStateException failure = new IllegalStateException("복호화 실패");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> executor.call(CryptoRequestExecutor.Lane.SINGLE, () -> {
+                    throw failure;
+                }));
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void testAfterOnIoRunsBeforeCompletionOnIoThread() throws Exception {
+        List<String> audited = new CopyOnWriteArrayList<>();
+        CompletableFuture<Integer> decrypted = executor.submit(CryptoRequestExecutor.Lane.SINGLE, () -> 7);
+
+        // 감사로그 단계가 끝난 뒤에야 같은 결과로 완료됩니다.
+        CompletableFuture<Integer> result = executor.afterOnIo(decrypted,
+                (value, error) -> audited.add(Thread.currentThread().getName() + ":" + value + ":" + (error == null)));
+        assertEquals(7, result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, audited.size());
+        assertTrue(audited.get(0).startsWith("crypto-io-"), audited.get(0));
+        assertTrue(audited.get(0).endsWith(":7:true"), audited.get(0));
+
+        // 실패한 단계도 감사로그를 거친 뒤 같은 예외로 실패합니다.
+        IllegalStateException failure = new IllegalStateException("복호화 실패");
+        CompletableFuture<Integer> failed = executor.afterOnIo(CompletableFuture.failedFuture(failure),
+                (value, error) -> audited.add("failed:" + (error != null)));
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        assertEquals("failed:true", audited.get(1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.util.IdRanges;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdRangesTest {
+
+    @Test
+    void testConsecutiveIdsAreCollapsedIntoRanges() {
+        assertEquals("1-5,9,12-14", IdRanges.compact(List.of(1L, 2L, 3L, 4L, 5L, 9L, 12L, 13L, 14L)));
+    }
+
+    @Test
+    void testUnsortedAndDuplicateIdsAreNormalized() {
+        assertEquals("3-4,10", IdRanges.compact(List.of(10L, 4L, 3L, 4L)));
+        assertEquals("7", IdRanges.compact(List.of(7L)));
+        assertEquals("", IdRanges.compact(List.of()));
+    }
+
+    @Test
+    void testPrimitiveIdsAreCompactedLikeCollections() {
+        long[] ids = {12, 13, 1, 2, 3, 3, 9, 14, 0};
+        assertEquals("1-3,9,12-14", IdRanges.compact(ids, ids.length - 1));
+        assertEquals("", IdRanges.compact(new long[0], 0));
+    }
+
+    @Test
+    void testSplitCutsOnlyAtRangeBoundaries() {
+        assertEquals(List.of("1-5,9", "12-14,20"), IdRanges.split("1-5,9,12-14,20", 8));
+        assertEquals(List.of("1-5,9,12-14,20"), IdRanges.split("1-5,9,12-14,20", 100));
+        assertEquals(List.of("1-5,9", "12-14"), IdRanges.split("1-5,9,12-14", 5));
+        assertEquals(List.of("1-3", "5", "7-9"), IdRanges.split("1-3,5,7-9", 3));
+        assertEquals(List.of(""), IdRanges.split("", 5));
+        assertThrows(IllegalArgumentException.class, () -> IdRanges.split("1-5,9,12-14", 4));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 일괄 저장 시 DB 왕복 횟수 측정.
+ * IDENTITY id에서는 Hibernate가 배치를 쓰지 못해 행마다 INSERT를 1회씩(2000행 -> 2000회) 실행했습니다.
+ * 시퀀스 id(allocationSize 50)에서는 INSERT 배치 1회와 시퀀스 조회 1회가 50행마다 한 번씩만 실행되어야 합니다.
+ * 실제 일괄 저장 경로({@link UserService#saveAllEncryptedUsers(List)})로 측정하므로 암호화, 블라인드 인덱스,
+ * 전화번호 중복 확인 쿼리(1000건마다 1회)도 함께 포함됩니다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class UserBatchInsertTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBatchInsertTest.class);
+
+    private static final int NUM_RECORDS = 2000;
+    private static final int BATCH_SIZE = 50; // hibernate.jdbc.batch_size, User id allocationSize
+    private static final int TEL_CHECK_BATCH_SIZE = 1000; // UserService가 전화번호 중복 확인 쿼리 한 번에 넣는 전화번호 수
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void testSaveAllUsesBatchedInserts() {
+        List<UserCreateDto> dtos = new ArrayList<>(NUM_RECORDS);
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            dtos.add(new UserCreateDto("일괄저장" + i, "010-5555-" + String.format("%04d", i), "1990-01-01"));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        List<User> saved = userService.saveAllEncryptedUsers(dtos);
+        entityManager.flush();
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("사용자 {}명 저장: 실행한 SQL 문 {}회 (INSERT {}건, {} ms 소요)",
+                NUM_RECORDS, statements, statistics.getEntityInsertCount(), durationMillis);
+
+        assertEquals(NUM_RECORDS, saved.size());
+        assertEquals(NUM_RECORDS, statistics.getEntityInsertCount());
+        // 배치 INSERT 40회 + 시퀀스 조회 약 40회 + 전화번호 중복 확인 2회
+        int telChecks = (NUM_RECORDS + TEL_CHECK_BATCH_SIZE - 1) / TEL_CHECK_BATCH_SIZE;
+        int expectedRoundTrips = 2 * (NUM_RECORDS / BATCH_SIZE) + 2 + telChecks;
+        assertTrue(statements <= expectedRoundTrips,
+                "배치 INSERT가 적용되지 않았습니다. (SQL 문 " + statements + "회, 기대 " + expectedRoundTrips + "회 이하)");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.controller.UserController;
+import com.example.ariaapi.service.UserExportService;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 복호화 executor의 큐가 가득 차 거절(AbortPolicy)되면 조회 API가 503으로 응답하는지 확인합니다.
+ * 조회 API는 future를 반환하므로 비동기 디스패치 뒤의 응답을 확인합니다.
+ */
+@WebMvcTest(UserController.class)
+public class UserControllerOverloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
+    @Test
+    void testSingleLookupReturns503WhenLaneIsFull() throws Exception {
+        // lane 거절은 실패한 future로 전달됩니다.
+        when(userService.getDecryptedUserByIdAsync(anyLong(), anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        MvcResult result = mockMvc.perform(get("/api/users/1").param("purpose", "test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void testPageLookupReturns503WhenLaneIsFull() throws Exception {
+        // 조회를 시작할 때 바로 던진 거절도 같은 응답이 됩니다.
+        when(userService.getAllDecryptedUsersAsync(any(), anyString(), anyString(), any()))
+                .thenThrow(new RejectedExecutionException("full"));
+
+        MvcResult result = mockMvc.perform(get("/api/users").param("purpose", "test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").exists());
+    }
+}
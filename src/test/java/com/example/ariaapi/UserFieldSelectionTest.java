@@ -0,0 +1,75 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.dto.UserField;
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserDecryptedDto;
+import com.example.ariaapi.entity.User;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * fields 파라미터로 고른 필드만 복호화되고, 고르지 않은 필드는 null로 반환되는지 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class UserFieldSelectionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void testParseFields() {
+        assertEquals(UserField.ALL, UserField.parse(null));
+        assertEquals(UserField.ALL, UserField.parse(" , "));
+        assertEquals(EnumSet.of(UserField.USR_NM, UserField.USR_BIRTH), UserField.parse("usrBirth, usrNm"));
+        assertThrows(IllegalArgumentException.class, () -> UserField.parse("usrNm,usrAddr"));
+    }
+
+    @Test
+    void testUnselectedFieldsAreNullOnSingleLookup() {
+        User saved = userService.saveEncryptedUser(new UserCreateDto("필드선택", "010-7777-0001", "1990-01-01"));
+
+        UserDecryptedDto telOnly = userService.getDecryptedUserById(saved.getId(), "127.0.0.1", "필드 선택 테스트",
+                EnumSet.of(UserField.USR_TEL));
+        assertEquals(saved.getId(), telOnly.getId());
+        assertEquals("010-7777-0001", telOnly.getUsrTel());
+        assertNull(telOnly.getUsrNm());
+        assertNull(telOnly.getUsrBirth());
+
+        UserDecryptedDto all = userService.getDecryptedUserById(saved.getId(), "127.0.0.1", "필드 선택 테스트", UserField.ALL);
+        assertEquals("필드선택", all.getUsrNm());
+        assertEquals("010-7777-0001", all.getUsrTel());
+        assertEquals("1990-01-01", all.getUsrBirth());
+    }
+
+    @Test
+    void testUnselectedFieldsAreNullOnPageLookup() {
+        userService.saveEncryptedUser(new UserCreateDto("필드선택1", "010-7777-0011", "1991-02-03"));
+        userService.saveEncryptedUser(new UserCreateDto("필드선택2", "010-7777-0012", "1992-03-04"));
+
+        Page<UserDecryptedDto> page = userService.getAllDecryptedUsers(PageRequest.of(0, 100, Sort.by("id")),
+                "127.0.0.1", "필드 선택 테스트", EnumSet.of(UserField.USR_NM, UserField.USR_BIRTH));
+        assertFalse(page.isEmpty());
+        for (UserDecryptedDto dto : page.getContent()) {
+            assertNull(dto.getUsrTel());
+        }
+        assertEquals(1, page.getContent().stream()
+                .filter(dto -> "필드선택2".equals(dto.getUsrNm()) && "1992-03-04".equals(dto.getUsrBirth()))
+                .count());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserImportProgressDto;
+import com.example.ariaapi.dto.response.UserSearchResponseDto;
+import com.example.ariaapi.entity.UserImportCheckpoint;
+import com.example.ariaapi.repository.UserImportCheckpointRepository;
+import com.example.ariaapi.repository.UserRepository;
+import com.example.ariaapi.service.BlindIndexService;
+import com.example.ariaapi.service.UserImportService;
+import com.example.ariaapi.service.UserIngestService;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 사용자 파일 가져오기의 재개와 이미 등록된 전화번호(같은 형식, 다른 형식) 처리를 확인합니다.
+ * 묶음마다 별도 트랜잭션으로 커밋하고 COPY가 실패한 묶음만 롤백한 뒤 upsert로 다시 저장하므로,
+ * 테스트 트랜잭션으로 감싸지 않고 끝난 뒤 저장된 행을 지웁니다.
+ */
+@SpringBootTest(properties = {"app.import.chunk-size=2", "app.import.pipeline-depth=2"})
+@ActiveProfiles("test")
+public class UserImportTest {
+
+    private static final String IP = "127.0.0.1";
+    private static final String PURPOSE = "가져오기 테스트";
+    private static final String HEADER = "usrNm,usrTel,usrBirth\n";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserIngestService userIngestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BlindIndexService blindIndexService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserImportCheckpointRepository checkpointRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+        checkpointRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testResumesFromCommittedOffset() throws IOException {
+        String committed = HEADER
+                + "재개일,010-7100-0001,1980-01-01\n"
+                + "재개이,010-7100-0002,1980-02-02\n";
+        Path file = writeFile("resume.csv", committed
+                + "재개삼,010-7100-0003,1980-03-03\n"
+                + "재개사,010-7100-0004,1980-04-04\n"
+                + "재개오,010-7100-0005,1980-05-05\n");
+
+        // 앞의 두 줄까지 커밋된 뒤 중지된 상태
+        UserImportCheckpoint checkpoint = new UserImportCheckpoint(file.toString(), Files.size(file),
+                Files.getLastModifiedTime(file).toMillis());
+        checkpoint.setByteOffset(committed.getBytes(StandardCharsets.UTF_8).length);
+        checkpoint.setLineCount(3);
+        checkpoint.setImported(2);
+        checkpoint.setStatus(UserImportCheckpoint.STATUS_STOPPED);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        UserImportProgressDto progress = userImportService.runImport(file, false);
+        assertEquals(UserImportCheckpoint.STATUS_COMPLETED, progress.getStatus());
+        assertEquals(5, progress.getImported());
+        assertEquals(6, progress.getLineCount());
+        assertEquals(Files.size(file), progress.getByteOffset());
+
+        // 커밋된 위치 앞의 줄은 다시 읽지 않습니다.
+        assertTrue(search("010-7100-0001").isEmpty());
+        assertTrue(search("010-7100-0002").isEmpty());
+        assertStored("010-7100-0003", "재개삼");
+        assertStored("010-7100-0004", "재개사");
+        assertStored("010-7100-0005", "재개오");
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlindIndexService.Storage.class)
+    void testReimportSkipsRegisteredTels(BlindIndexService.Storage storage) throws IOException {
+        BlindIndexService target = AopTestUtils.getTargetObject(blindIndexService);
+        Object original = ReflectionTestUtils.getField(target, "storage");
+        ReflectionTestUtils.setField(target, "storage", storage);
+        try {
+            String prefix = "010-" + (storage == BlindIndexService.Storage.TEXT ? "7200" : "7300") + "-";
+            reimportWithRegisteredTels(prefix);
+        } finally {
+            ReflectionTestUtils.setField(target, "storage", original);
+        }
+    }
+
+    private void reimportWithRegisteredTels(String prefix) throws IOException {
+        userIngestService.ingest(List.of(
+                new UserCreateDto("기존가", prefix + "0001", "1990-01-01"),
+                new UserCreateDto("기존나", prefix + "0002", "1990-02-02")));
+
+        // 묶음 크기 2: 처음 두 묶음에 이미 등록된 전화번호가 하나씩 있음
+        Path file = writeFile("reimport.csv", HEADER
+                + "새가," + prefix + "0001,1991-01-01\n"
+                + "다," + prefix + "0003,1990-03-03\n"
+                + "새나," + prefix + "0002,1991-02-02\n"
+                + "라," + prefix + "0004,1990-04-04\n"
+                + "형식오류\n"
+                + "마," + prefix + "0005,1990-05-05\n");
+
+        UserImportProgressDto progress = userImportService.runImport(file, false);
+        assertEquals(UserImportCheckpoint.STATUS_COMPLETED, progress.getStatus());
+        assertEquals(3, progress.getImported());
+        assertEquals(2, progress.getSkipped());
+        assertEquals(1, progress.getInvalid());
+        assertEquals(Files.size(file), progress.getByteOffset());
+
+        // 기존 사용자는 그대로 두고 새 전화번호만 저장합니다.
+        assertStored(prefix + "0001", "기존가");
+        assertStored(prefix + "0002", "기존나");
+        assertStored(prefix + "0003", "다");
+        assertStored(prefix + "0004", "라");
+        assertStored(prefix + "0005", "마");
+    }
+
+    @Test
+    void testReimportSkipsTelsRegisteredInOtherFormat() throws IOException {
+        BlindIndexService target = AopTestUtils.getTargetObject(blindIndexService);
+        Object original = ReflectionTestUtils.getField(target, "storage");
+        // 문자열 컬럼(TEXT)에 등록된 뒤 BINARY 저장으로 바뀐 상태: COPY의 unique 제약에는 걸리지 않고 upsert도 갱신할 수 없음
+        ReflectionTestUtils.setField(target, "storage", BlindIndexService.Storage.TEXT);
+        userIngestService.ingest(List.of(new UserCreateDto("문자열형식", "010-7400-0001", "1990-01-01")));
+        ReflectionTestUtils.setField(target, "storage", BlindIndexService.Storage.BINARY);
+        try {
+            Path file = writeFile("other-format.csv", HEADER
+                    + "새이름,010-7400-0001,1991-01-01\n"
+                    + "다,010-7400-0002,1990-02-02\n"
+                    + "라,010-7400-0003,1990-03-03\n");
+
+            UserImportProgressDto progress = userImportService.runImport(file, false);
+            assertEquals(UserImportCheckpoint.STATUS_COMPLETED, progress.getStatus());
+            assertEquals(2, progress.getImported());
+            assertEquals(1, progress.getSkipped());
+            assertTrue(progress.getError().contains("다른 형식"), progress.getError());
+
+            assertStored("010-7400-0001", "문자열형식");
+            assertStored("010-7400-0002", "다");
+            assertStored("010-7400-0003", "라");
+        } finally {
+            ReflectionTestUtils.setField(target, "storage", original);
+        }
+    }
+
+    private Path writeFile(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content, StandardCharsets.UTF_8).toAbsolutePath().normalize();
+    }
+
+    private List<UserSearchResponseDto> search(String usrTel) {
+        return userService.searchUsersByHash("usrTel", usrTel, null, 10, IP, PURPOSE).getContent();
+    }
+
+    private void assertStored(String usrTel, String usrNm) {
+        List<UserSearchResponseDto> found = search(usrTel);
+        assertEquals(1, found.size(), usrTel);
+        assertEquals(usrNm, found.get(0).getUsrNm());
+        assertNotNull(found.get(0).getUsrId());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserIngestResultDto;
+import com.example.ariaapi.dto.response.UserSearchResponseDto;
+import com.example.ariaapi.service.UserIngestService;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * COPY 바이너리로 등록한 행을 다시 읽어 컬럼 순서와 인코딩(id, 암호문, 블라인드 인덱스, null)이 맞는지 확인합니다.
+ * 묶음 크기를 작게 하여 여러 묶음이 병렬로 인코딩되고 순서대로 한 COPY 스트림에 쓰이게 합니다.
+ */
+@SpringBootTest(properties = {"app.users.ingest.chunk-size=2", "app.users.ingest.pipeline-depth=2"})
+@ActiveProfiles("test")
+@Transactional
+public class UserIngestRoundTripTest {
+
+    @Autowired
+    private UserIngestService userIngestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void testIngestedRowsDecryptAndAreSearchable() {
+        List<UserCreateDto> users = List.of(
+                new UserCreateDto("왕복일", "010-6666-0001", "1980-01-01"),
+                new UserCreateDto("왕복이", "010-6666-0002", null),
+                new UserCreateDto("왕복삼", "010-6666-0003", "1983-03-03"),
+                new UserCreateDto("", "010-6666-0004", "1984-04-04"),
+                new UserCreateDto("왕복오", "010-6666-0005", "1985-05-05"));
+
+        UserIngestResultDto result = userIngestService.ingest(users);
+        assertEquals(5, result.getRequested());
+        assertEquals(5, result.getInserted());
+        assertNotNull(result.getIdRanges());
+
+        for (UserCreateDto user : users) {
+            List<UserSearchResponseDto> found = userService.searchUsersByHash("usrTel", user.getUsrTel(), null, 10,
+                    "127.0.0.1", "COPY 왕복 테스트").getContent();
+            assertEquals(1, found.size(), user.getUsrTel());
+            UserSearchResponseDto row = found.get(0);
+            assertNotNull(row.getUsrId());
+            assertEquals(user.getUsrTel(), row.getUsrTel());
+            assertEquals(user.getUsrNm() == null || user.getUsrNm().isEmpty() ? null : user.getUsrNm(), row.getUsrNm());
+            assertEquals(user.getUsrBirth(), row.getUsrBirth());
+        }
+        assertNull(userService.searchUsersByHash("usrTel", "010-6666-0002", null, 10, "127.0.0.1", "COPY 왕복 테스트")
+                .getContent().get(0).getUsrBirth());
+
+        // 이미 등록된 전화번호는 거절됩니다. (COPY가 실패하면 트랜잭션을 더 쓸 수 없으므로 마지막에 확인)
+        assertThrows(IllegalStateException.class,
+                () -> userIngestService.ingest(List.of(new UserCreateDto("중복", "010-6666-0003", "1990-01-01"))));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.ariaapi;
+
+import com.example.ariaapi.dto.request.UserCreateDto;
+import com.example.ariaapi.dto.response.UserSearchResponseDto;
+import com.example.ariaapi.dto.response.UserUpsertResultDto;
+import com.example.ariaapi.dto.response.UserUpsertRowResultDto;
+import com.example.ariaapi.service.BlindIndexService;
+import com.example.ariaapi.service.UserIngestService;
+import com.example.ariaapi.service.UserService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 같은 묶음을 다시 보냈을 때 upsert의 행별 결과(INSERTED, UPDATED, SKIPPED, DUPLICATE)를 확인합니다.
+ * 충돌 키가 usr_tel_hash(TEXT)일 때와 usr_tel_hash_bin(BINARY)일 때 모두 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class UserUpsertTest {
+
+    private static final String IP = "127.0.0.1";
+    private static final String PURPOSE = "upsert 테스트";
+
+    @Autowired
+    private UserIngestService userIngestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BlindIndexService blindIndexService;
+
+    @ParameterizedTest
+    @EnumSource(BlindIndexService.Storage.class)
+    void testReplayReportsPerRowStatus(BlindIndexService.Storage storage) {
+        BlindIndexService target = AopTestUtils.getTargetObject(blindIndexService);
+        Object original = ReflectionTestUtils.getField(target, "storage");
+        ReflectionTestUtils.setField(target, "storage", storage);
+        try {
+            String prefix = "010-" + (storage == BlindIndexService.Storage.TEXT ? "3100" : "3200") + "-";
+            replayWithUpdateAndSkip(prefix);
+        } finally {
+            ReflectionTestUtils.setField(target, "storage", original);
+        }
+    }
+
+    private void replayWithUpdateAndSkip(String prefix) {
+        // 1. 처음 저장: 모두 새로 추가
+        UserUpsertResultDto first = userIngestService.upsert(List.of(
+                new UserCreateDto("가", prefix + "0001", "1990-01-01"),
+                new UserCreateDto("나", prefix + "0002", "1990-02-02")), true);
+        assertStatuses(first, UserUpsertRowResultDto.INSERTED, UserUpsertRowResultDto.INSERTED);
+        Long firstId = first.getRows().get(0).getId();
+        assertNotNull(firstId);
+
+        // 2. update로 다시 보냄: 기존 전화번호는 같은 id로 갱신, 요청 안의 중복은 뒤쪽 행만 저장, 전화번호 없는 행은 항상 추가
+        UserUpsertResultDto update = userIngestService.upsert(List.of(
+                new UserCreateDto("가-갱신", prefix + "0001", "1991-01-01"),
+                new UserCreateDto("다", prefix + "0003", "1990-03-03"),
+                new UserCreateDto("라-앞", prefix + "0004", "1990-04-04"),
+                new UserCreateDto("라-뒤", prefix + "0004", "1990-04-05"),
+                new UserCreateDto("마", null, "1990-05-05")), true);
+        assertStatuses(update, UserUpsertRowResultDto.UPDATED, UserUpsertRowResultDto.INSERTED,
+                UserUpsertRowResultDto.DUPLICATE, UserUpsertRowResultDto.INSERTED, UserUpsertRowResultDto.INSERTED);
+        assertEquals(firstId, update.getRows().get(0).getId());
+        assertNull(update.getRows().get(2).getId());
+        assertCounts(update, 3, 1, 0, 1);
+        assertStored(prefix + "0001", "가-갱신", "1991-01-01");
+        assertStored(prefix + "0004", "라-뒤", "1990-04-05");
+
+        // 3. skip으로 다시 보냄: 기존 전화번호는 건너뛰고 값도 그대로, 새 전화번호만 추가
+        UserUpsertResultDto skip = userIngestService.upsert(List.of(
+                new UserCreateDto("가-무시", prefix + "0001", "1992-01-01"),
+                new UserCreateDto("나-무시", prefix + "0002", "1992-02-02"),
+                new UserCreateDto("바", prefix + "0006", "1990-06-06"),
+                new UserCreateDto("바-뒤", prefix + "0006", "1990-06-07")), false);
+        assertStatuses(skip, UserUpsertRowResultDto.SKIPPED, UserUpsertRowResultDto.SKIPPED,
+                UserUpsertRowResultDto.DUPLICATE, UserUpsertRowResultDto.INSERTED);
+        assertNull(skip.getRows().get(0).getId());
+        assertCounts(skip, 1, 0, 2, 1);
+        assertStored(prefix + "0001", "가-갱신", "1991-01-01");
+        assertStored(prefix + "0002", "나", "1990-02-02");
+        assertStored(prefix + "0006", "바-뒤", "1990-06-07");
+    }
+
+    private static void assertStatuses(UserUpsertResultDto result, String... expected) {
+        List<String> statuses = new ArrayList<>();
+        for (UserUpsertRowResultDto row : result.getRows()) {
+            statuses.add(row.getStatus());
+        }
+        assertEquals(Arrays.asList(expected), statuses);
+    }
+
+    private static void assertCounts(UserUpsertResultDto result, int inserted, int updated, int skipped, int duplicates) {
+        assertEquals(inserted, result.getInserted());
+        assertEquals(updated, result.getUpdated());
+        assertEquals(skipped, result.getSkipped());
+        assertEquals(duplicates, result.getDuplicates());
+    }
+
+    private void assertStored(String usrTel, String usrNm, String usrBirth) {
+        List<UserSearchResponseDto> found = userService.searchUsersByHash("usrTel", usrTel, null, 10, IP, PURPOSE).getContent();
+        assertEquals(1, found.size(), usrTel);
+        assertEquals(usrNm, found.get(0).getUsrNm());
+        assertEquals(usrBirth, found.get(0).getUsrBirth());
+    }
+}